@@ -0,0 +1,218 @@
+package com.hhplus.ecommerce.cart.store;
+
+import com.hhplus.ecommerce.cart.dto.CartItemResponseDto;
+import com.hhplus.ecommerce.common.collection.LongLongHashMap;
+import com.hhplus.ecommerce.common.collection.LongObjectHashMap;
+import com.hhplus.ecommerce.common.diagnostics.CartMutationEvent;
+import com.hhplus.ecommerce.common.persistence.DurableStore;
+import com.hhplus.ecommerce.common.persistence.Journal;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 장바구니 저장소 (인메모리 + WAL)
+ */
+@Component
+public class CartStore implements DurableStore {
+
+    private static final byte STORE_ID = 1;
+    private static final byte ADD_ITEM = 1;
+    private static final byte REMOVE_ITEM = 2;
+
+    private final Journal journal;
+
+    private final AtomicLong cartIdGenerator = new AtomicLong(1);
+
+    // 사용자별 장바구니 (userId -> 장바구니 항목)
+    private final LongObjectHashMap<List<CartItemResponseDto>> userCarts = new LongObjectHashMap<>();
+
+    // 장바구니 항목 소유자 (cartItemId -> userId), 삭제 시 전체 장바구니를 뒤지지 않기 위함
+    private final LongLongHashMap itemOwners = new LongLongHashMap();
+
+    public CartStore(Journal journal) {
+        this.journal = journal;
+
+        // 초기 Mock 데이터: userId 1번의 장바구니 (복구할 스냅샷이 있으면 교체됨)
+        put(1L, new CartItemResponseDto(1L, new CartItemResponseDto.ProductOption(1L, "RED", "M"), 2));
+        put(1L, new CartItemResponseDto(2L, new CartItemResponseDto.ProductOption(2L, "BLUE", "L"), 1));
+    }
+
+    public Long add(Long userId, CartItemResponseDto.ProductOption productOption, Integer quantity) {
+        Long cartItemId = cartIdGenerator.getAndIncrement();
+        CartItemResponseDto item = new CartItemResponseDto(cartItemId, productOption, quantity);
+        put(userId, item);
+
+        journal.append(this, out -> {
+            out.writeByte(ADD_ITEM);
+            out.writeLong(userId);
+            writeItem(out, item);
+        });
+        return cartItemId;
+    }
+
+    public List<CartItemResponseDto> find(Long userId) {
+        List<CartItemResponseDto> items = userCarts.get(userId);
+        if (items == null) {
+            return new ArrayList<>();
+        }
+        synchronized (items) {
+            return new ArrayList<>(items);
+        }
+    }
+
+    public CartItemResponseDto findItem(Long cartItemId) {
+        if (!itemOwners.containsKey(cartItemId)) {
+            return null;
+        }
+        CartMutationEvent event = new CartMutationEvent();
+        event.begin();
+        long userId = itemOwners.get(cartItemId, 0);
+        List<CartItemResponseDto> items = userCarts.get(userId);
+        if (items == null) {
+            event.commit(CartMutationEvent.FIND_ITEM, userId, 0, false);
+            return null;
+        }
+        synchronized (items) {
+            int scanned = 0;
+            for (CartItemResponseDto item : items) {
+                scanned++;
+                if (item.getCartItemId().equals(cartItemId)) {
+                    event.commit(CartMutationEvent.FIND_ITEM, userId, scanned, true);
+                    return item;
+                }
+            }
+            event.commit(CartMutationEvent.FIND_ITEM, userId, scanned, false);
+        }
+        return null;
+    }
+
+    public boolean remove(Long cartItemId) {
+        if (!delete(cartItemId)) {
+            return false;
+        }
+        journal.append(this, out -> {
+            out.writeByte(REMOVE_ITEM);
+            out.writeLong(cartItemId);
+        });
+        return true;
+    }
+
+    @Override
+    public byte storeId() {
+        return STORE_ID;
+    }
+
+    @Override
+    public void writeSnapshot(DataOutput out) throws IOException {
+        out.writeLong(cartIdGenerator.get());
+        try {
+            userCarts.forEach((userId, items) -> {
+                try {
+                    synchronized (items) {
+                        out.writeBoolean(true);
+                        out.writeLong(userId);
+                        out.writeInt(items.size());
+                        for (CartItemResponseDto item : items) {
+                            writeItem(out, item);
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.writeBoolean(false);
+    }
+
+    @Override
+    public void readSnapshot(DataInput in) throws IOException {
+        userCarts.clear();
+        itemOwners.clear();
+
+        cartIdGenerator.set(in.readLong());
+        while (in.readBoolean()) {
+            long userId = in.readLong();
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                put(userId, readItem(in));
+            }
+        }
+    }
+
+    @Override
+    public void replay(DataInput in) throws IOException {
+        byte type = in.readByte();
+        if (type == ADD_ITEM) {
+            long userId = in.readLong();
+            CartItemResponseDto item = readItem(in);
+            // 이미 반영된 항목(스냅샷에 포함)이면 건너뜀
+            if (!itemOwners.containsKey(item.getCartItemId())) {
+                put(userId, item);
+            }
+        } else if (type == REMOVE_ITEM) {
+            delete(in.readLong());
+        } else {
+            throw new IOException("알 수 없는 장바구니 로그입니다. (type: " + type + ")");
+        }
+    }
+
+    private void put(long userId, CartItemResponseDto item) {
+        // JFR 이벤트 (녹화 중이 아니면 기록하지 않음)
+        CartMutationEvent event = new CartMutationEvent();
+        event.begin();
+        List<CartItemResponseDto> items = userCarts.computeIfAbsent(userId, k -> new ArrayList<>());
+        synchronized (items) {
+            items.add(item);
+            event.commit(CartMutationEvent.ADD, userId, items.size(), true);
+        }
+        itemOwners.put(item.getCartItemId(), userId);
+        // 복구 시에도 ID가 겹치지 않도록 발급기를 앞으로 당김
+        cartIdGenerator.accumulateAndGet(item.getCartItemId() + 1, Math::max);
+    }
+
+    private boolean delete(long cartItemId) {
+        if (!itemOwners.containsKey(cartItemId)) {
+            return false;
+        }
+        CartMutationEvent event = new CartMutationEvent();
+        event.begin();
+        long userId = itemOwners.get(cartItemId, 0);
+        List<CartItemResponseDto> items = userCarts.get(userId);
+        itemOwners.remove(cartItemId);
+        if (items == null) {
+            event.commit(CartMutationEvent.REMOVE, userId, 0, false);
+            return false;
+        }
+        synchronized (items) {
+            // removeIf는 목록 전체를 훑음
+            int scanned = items.size();
+            boolean removed = items.removeIf(item -> item.getCartItemId() == cartItemId);
+            event.commit(CartMutationEvent.REMOVE, userId, scanned, removed);
+            return removed;
+        }
+    }
+
+    private static void writeItem(DataOutput out, CartItemResponseDto item) throws IOException {
+        out.writeLong(item.getCartItemId());
+        out.writeLong(item.getProductOption().getId());
+        out.writeUTF(item.getProductOption().getColor());
+        out.writeUTF(item.getProductOption().getSize());
+        out.writeInt(item.getQuantity());
+    }
+
+    private static CartItemResponseDto readItem(DataInput in) throws IOException {
+        long cartItemId = in.readLong();
+        CartItemResponseDto.ProductOption productOption =
+                new CartItemResponseDto.ProductOption(in.readLong(), in.readUTF(), in.readUTF());
+        return new CartItemResponseDto(cartItemId, productOption, in.readInt());
+    }
+}
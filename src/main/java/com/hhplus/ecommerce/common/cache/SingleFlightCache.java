@@ -0,0 +1,99 @@
+package com.hhplus.ecommerce.common.cache;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * 캐시 스탬피드를 막는 TTL 캐시.
+ *
+ * - 요청 병합(single-flight): 같은 키가 동시에 미스되면 한 요청만 loader를 실행하고 나머지는 그 결과를 기다린다.
+ * - 확률적 조기 갱신(XFetch): 만료가 가까울수록, 계산이 오래 걸리는 값일수록 높은 확률로 만료 전에 한 요청이 미리 다시 계산한다.
+ *   갱신하는 동안 다른 요청은 기존 값을 그대로 받으므로, 만료 시점에 미스가 한꺼번에 몰리지 않는다.
+ *
+ * 제거 정책이 없으므로 키 종류가 한정된 조회에만 사용한다.
+ */
+public class SingleFlightCache<K, V> {
+
+    private final Function<? super K, ? extends V> loader;
+    private final long ttlNanos;
+    private final double beta;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param beta 조기 갱신 강도 (1.0이 기본, 클수록 더 일찍 갱신)
+     */
+    public SingleFlightCache(Function<? super K, ? extends V> loader, long ttlMillis, double beta) {
+        this.loader = loader;
+        this.ttlNanos = ttlMillis * 1_000_000;
+        this.beta = beta;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            long now = System.nanoTime();
+            if (now < entry.expiresAt) {
+                // 조기 갱신 대상이 아니거나 이미 다른 요청이 갱신 중이면 기존 값 사용
+                if (!entry.shouldRefresh(now, beta) || inFlight.containsKey(key)) {
+                    return entry.value;
+                }
+            }
+        }
+        return load(key);
+    }
+
+    private V load(K key) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            // 같은 키를 계산 중인 요청이 있으면 그 결과를 공유
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            long start = System.nanoTime();
+            V value = Objects.requireNonNull(loader.apply(key));
+            long end = System.nanoTime();
+            entries.put(key, new Entry<>(value, end - start, end + ttlNanos));
+            flight.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Error도 전달해야 기다리던 요청들이 멈추지 않음
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long computeNanos; // 마지막 계산에 걸린 시간 (XFetch의 delta)
+        private final long expiresAt;
+
+        Entry(V value, long computeNanos, long expiresAt) {
+            this.value = value;
+            this.computeNanos = computeNanos;
+            this.expiresAt = expiresAt;
+        }
+
+        // XFetch: now - delta * beta * ln(rand) >= expiry 이면 갱신 (rand는 (0, 1])
+        boolean shouldRefresh(long now, double beta) {
+            double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+            return now - computeNanos * beta * Math.log(random) >= expiresAt;
+        }
+    }
+}
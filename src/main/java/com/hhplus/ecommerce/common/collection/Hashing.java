@@ -0,0 +1,46 @@
+package com.hhplus.ecommerce.common.collection;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 기본형 해시맵 공용 해시 함수.
+ * 연속된 ID(1, 2, 3, ...)가 한 구간에 몰리지 않도록 비트를 섞는다.
+ *
+ * 맵마다 시드를 달리한다. 모든 맵이 같은 해시를 쓰면 한 맵을 순회한 순서(= 슬롯 순서)대로
+ * 더 작은 맵에 넣을 때(스냅샷 복구 등) 키가 같은 슬롯 구간에 두 번씩 몰려 탐사 구간이 넣을수록 길어진다.
+ */
+final class Hashing {
+
+    // 세그먼트 수 (2의 거듭제곱)
+    static final int SEGMENTS = 64;
+
+    private Hashing() {
+    }
+
+    static long seed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    // MurmurHash3 fmix64 (시드를 섞은 키에 적용)
+    static long mix(long key, long seed) {
+        long h = key ^ seed;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // 상위 비트로 세그먼트 선택
+    static int segmentIndex(long hash) {
+        return (int) (hash >>> 58) & (SEGMENTS - 1);
+    }
+
+    // 세그먼트별 초기 용량 (2의 거듭제곱, 적재율 0.75 기준)
+    static int segmentCapacity(int expectedSize) {
+        int perSegment = Math.max(expectedSize / SEGMENTS, 1);
+        int capacity = Integer.highestOneBit((int) Math.min((long) perSegment * 4 / 3 + 1, 1 << 30));
+        return Math.max(capacity << 1, 8);
+    }
+}
@@ -0,0 +1,350 @@
+package com.hhplus.ecommerce.common.collection;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * long 키 -> long 값 해시맵 (스레드 안전).
+ * 키와 값을 박싱 없이 기본형 배열에 저장하는 오픈 어드레싱(선형 탐사) 방식이다.
+ * 세그먼트별로 잠금을 나누고, 조회는 낙관적 읽기로 잠금 없이 처리한다.
+ */
+public class LongLongHashMap {
+
+    private final Segment[] segments = new Segment[Hashing.SEGMENTS];
+    // 맵마다 다른 해시 시드 (테스트에서 충돌 키를 찾을 때도 사용)
+    final long seed = Hashing.seed();
+
+    public LongLongHashMap() {
+        this(16);
+    }
+
+    public LongLongHashMap(int expectedSize) {
+        int capacity = Hashing.segmentCapacity(expectedSize);
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(capacity, seed);
+        }
+    }
+
+    public long get(long key, long missingValue) {
+        long hash = Hashing.mix(key, seed);
+        return segments[Hashing.segmentIndex(hash)].get(key, hash, missingValue);
+    }
+
+    public boolean containsKey(long key) {
+        long hash = Hashing.mix(key, seed);
+        return segments[Hashing.segmentIndex(hash)].containsKey(key, hash);
+    }
+
+    public void put(long key, long value) {
+        long hash = Hashing.mix(key, seed);
+        segments[Hashing.segmentIndex(hash)].put(key, hash, value);
+    }
+
+    /**
+     * 현재 값이 expected일 때만 newValue로 바꾼다. 키가 없으면 실패한다.
+     */
+    public boolean replace(long key, long expected, long newValue) {
+        long hash = Hashing.mix(key, seed);
+        return segments[Hashing.segmentIndex(hash)].replace(key, hash, expected, newValue);
+    }
+
+    /**
+     * 값에 delta를 더한 결과를 반환한다. 키가 없으면 0에서 시작한다.
+     */
+    public long addAndGet(long key, long delta) {
+        long hash = Hashing.mix(key, seed);
+        return segments[Hashing.segmentIndex(hash)].addAndGet(key, hash, delta);
+    }
+
+    public boolean remove(long key) {
+        long hash = Hashing.mix(key, seed);
+        return segments[Hashing.segmentIndex(hash)].remove(key, hash);
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        for (Segment segment : segments) {
+            segment.forEach(consumer);
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+
+    private static final class Segment {
+        private final StampedLock lock = new StampedLock();
+        private final long seed;
+        // 빈 슬롯은 키 0으로 표시하고, 실제 키 0은 별도 필드에 보관
+        private long[] keys;
+        private long[] values;
+        private int size;
+        private boolean hasZeroKey;
+        private long zeroValue;
+
+        Segment(int capacity, long seed) {
+            this.seed = seed;
+            keys = new long[capacity];
+            values = new long[capacity];
+        }
+
+        long get(long key, long hash, long missingValue) {
+            long stamp = lock.tryOptimisticRead();
+            long value = find(key, hash, missingValue);
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    value = find(key, hash, missingValue);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return value;
+        }
+
+        boolean containsKey(long key, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            boolean found = indexOf(key, hash) != -1;
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    found = indexOf(key, hash) != -1;
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return found;
+        }
+
+        void put(long key, long hash, long value) {
+            long stamp = lock.writeLock();
+            try {
+                insert(key, hash, value);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        boolean replace(long key, long hash, long expected, long newValue) {
+            long stamp = lock.writeLock();
+            try {
+                int index = indexOf(key, hash);
+                if (index == -1 || valueAt(index) != expected) {
+                    return false;
+                }
+                setValueAt(index, newValue);
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        long addAndGet(long key, long hash, long delta) {
+            long stamp = lock.writeLock();
+            try {
+                int index = indexOf(key, hash);
+                if (index == -1) {
+                    insert(key, hash, delta);
+                    return delta;
+                }
+                long value = valueAt(index) + delta;
+                setValueAt(index, value);
+                return value;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        boolean remove(long key, long hash) {
+            long stamp = lock.writeLock();
+            try {
+                if (key == 0) {
+                    boolean had = hasZeroKey;
+                    hasZeroKey = false;
+                    return had;
+                }
+                int index = indexOf(key, hash);
+                if (index < 0) {
+                    return false;
+                }
+                shiftBack(index);
+                size--;
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void clear() {
+            long stamp = lock.writeLock();
+            try {
+                Arrays.fill(keys, 0);
+                Arrays.fill(values, 0);
+                size = 0;
+                hasZeroKey = false;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size + (hasZeroKey ? 1 : 0);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void forEach(EntryConsumer consumer) {
+            long stamp = lock.readLock();
+            try {
+                if (hasZeroKey) {
+                    consumer.accept(0, zeroValue);
+                }
+                for (int i = 0; i < keys.length; i++) {
+                    if (keys[i] != 0) {
+                        consumer.accept(keys[i], values[i]);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        // 낙관적 읽기 중에는 배열이 교체될 수 있으므로 지역 변수로 고정해서 탐색
+        private long find(long key, long hash, long missingValue) {
+            if (key == 0) {
+                return hasZeroKey ? zeroValue : missingValue;
+            }
+            long[] k = keys;
+            long[] v = values;
+            if (k.length != v.length) {
+                return missingValue;
+            }
+            int mask = k.length - 1;
+            int index = (int) hash & mask;
+            for (int probe = 0; probe < k.length; probe++) {
+                long current = k[index];
+                if (current == key) {
+                    return v[index];
+                }
+                if (current == 0) {
+                    return missingValue;
+                }
+                index = (index + 1) & mask;
+            }
+            return missingValue;
+        }
+
+        // 키 0은 -2, 없으면 -1
+        private int indexOf(long key, long hash) {
+            if (key == 0) {
+                return hasZeroKey ? -2 : -1;
+            }
+            long[] k = keys;
+            int mask = k.length - 1;
+            int index = (int) hash & mask;
+            for (int probe = 0; probe < k.length; probe++) {
+                long current = k[index];
+                if (current == key) {
+                    return index;
+                }
+                if (current == 0) {
+                    return -1;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        private long valueAt(int index) {
+            return index == -2 ? zeroValue : values[index];
+        }
+
+        private void setValueAt(int index, long value) {
+            if (index == -2) {
+                zeroValue = value;
+            } else {
+                values[index] = value;
+            }
+        }
+
+        private void insert(long key, long hash, long value) {
+            if (key == 0) {
+                hasZeroKey = true;
+                zeroValue = value;
+                return;
+            }
+            int mask = keys.length - 1;
+            int index = (int) hash & mask;
+            while (keys[index] != 0) {
+                if (keys[index] == key) {
+                    values[index] = value;
+                    return;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = value;
+            if (++size > keys.length * 3 / 4) {
+                resize();
+            }
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            long[] newKeys = new long[oldKeys.length << 1];
+            long[] newValues = new long[oldKeys.length << 1];
+            int mask = newKeys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                long key = oldKeys[i];
+                if (key == 0) {
+                    continue;
+                }
+                int index = (int) Hashing.mix(key, seed) & mask;
+                while (newKeys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                newKeys[index] = key;
+                newValues[index] = oldValues[i];
+            }
+            keys = newKeys;
+            values = newValues;
+        }
+
+        // 삭제 후 뒤따르는 항목을 당겨서 탐사 경로를 유지 (툼스톤 없이 삭제)
+        private void shiftBack(int index) {
+            int mask = keys.length - 1;
+            int gap = index;
+            int next = (gap + 1) & mask;
+            while (keys[next] != 0) {
+                int home = (int) Hashing.mix(keys[next], seed) & mask;
+                // home이 (gap, next] 구간 밖이면 gap으로 옮길 수 있음
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[gap] = 0;
+            values[gap] = 0;
+        }
+    }
+}
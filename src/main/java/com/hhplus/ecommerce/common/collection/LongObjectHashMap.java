@@ -0,0 +1,338 @@
+package com.hhplus.ecommerce.common.collection;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * long 키 -> 객체 값 해시맵 (스레드 안전).
+ * 키를 박싱하지 않고 long 배열에 저장하는 오픈 어드레싱(선형 탐사) 방식이다.
+ * 세그먼트별로 잠금을 나누고, 조회는 낙관적 읽기로 잠금 없이 처리한다. null 값은 허용하지 않는다.
+ */
+public class LongObjectHashMap<V> {
+
+    private final Segment<V>[] segments;
+    // 맵마다 다른 해시 시드 (테스트에서 충돌 키를 찾을 때도 사용)
+    final long seed = Hashing.seed();
+
+    public LongObjectHashMap() {
+        this(16);
+    }
+
+    @SuppressWarnings("unchecked")
+    public LongObjectHashMap(int expectedSize) {
+        int capacity = Hashing.segmentCapacity(expectedSize);
+        segments = new Segment[Hashing.SEGMENTS];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment<>(capacity, seed);
+        }
+    }
+
+    public V get(long key) {
+        long hash = Hashing.mix(key, seed);
+        return segments[Hashing.segmentIndex(hash)].get(key, hash);
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * 값을 저장하고 이전 값을 반환한다. (없었으면 null)
+     */
+    public V put(long key, V value) {
+        Objects.requireNonNull(value);
+        long hash = Hashing.mix(key, seed);
+        return segments[Hashing.segmentIndex(hash)].put(key, hash, value, false);
+    }
+
+    /**
+     * 키가 없을 때만 저장하고, 이미 있으면 기존 값을 반환한다. (새로 저장했으면 null)
+     */
+    public V putIfAbsent(long key, V value) {
+        Objects.requireNonNull(value);
+        long hash = Hashing.mix(key, seed);
+        return segments[Hashing.segmentIndex(hash)].put(key, hash, value, true);
+    }
+
+    /**
+     * 키가 없으면 함수로 값을 만들어 저장한다. 함수는 세그먼트 잠금 안에서 실행되므로 가벼워야 한다.
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+        long hash = Hashing.mix(key, seed);
+        Segment<V> segment = segments[Hashing.segmentIndex(hash)];
+        V value = segment.get(key, hash);
+        return value != null ? value : segment.computeIfAbsent(key, hash, mappingFunction);
+    }
+
+    public V remove(long key) {
+        long hash = Hashing.mix(key, seed);
+        return segments[Hashing.segmentIndex(hash)].remove(key, hash);
+    }
+
+    public void clear() {
+        for (Segment<V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public void forEach(EntryConsumer<? super V> consumer) {
+        for (Segment<V> segment : segments) {
+            segment.forEach(consumer);
+        }
+    }
+
+    /**
+     * 조건을 만족하는 값이 나오면 순회를 멈추고 true를 반환한다.
+     */
+    public boolean anyMatch(Predicate<? super V> predicate) {
+        for (Segment<V> segment : segments) {
+            if (segment.anyMatch(predicate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    private static final class Segment<V> {
+        private final StampedLock lock = new StampedLock();
+        private final long seed;
+        // 빈 슬롯은 키 0으로 표시하고, 실제 키 0은 별도 필드에 보관
+        private long[] keys;
+        private Object[] values;
+        private int size;
+        private Object zeroValue;
+
+        Segment(int capacity, long seed) {
+            this.seed = seed;
+            keys = new long[capacity];
+            values = new Object[capacity];
+        }
+
+        V get(long key, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            V value = find(key, hash);
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    value = find(key, hash);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return value;
+        }
+
+        V put(long key, long hash, V value, boolean onlyIfAbsent) {
+            long stamp = lock.writeLock();
+            try {
+                V previous = find(key, hash);
+                if (previous == null || !onlyIfAbsent) {
+                    insert(key, hash, value);
+                }
+                return previous;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        V computeIfAbsent(long key, long hash, LongFunction<? extends V> mappingFunction) {
+            long stamp = lock.writeLock();
+            try {
+                V value = find(key, hash);
+                if (value == null) {
+                    value = Objects.requireNonNull(mappingFunction.apply(key));
+                    insert(key, hash, value);
+                }
+                return value;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        V remove(long key, long hash) {
+            long stamp = lock.writeLock();
+            try {
+                if (key == 0) {
+                    V previous = (V) zeroValue;
+                    zeroValue = null;
+                    return previous;
+                }
+                int mask = keys.length - 1;
+                int index = (int) hash & mask;
+                while (keys[index] != 0) {
+                    if (keys[index] == key) {
+                        V previous = (V) values[index];
+                        shiftBack(index);
+                        size--;
+                        return previous;
+                    }
+                    index = (index + 1) & mask;
+                }
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void clear() {
+            long stamp = lock.writeLock();
+            try {
+                Arrays.fill(keys, 0);
+                Arrays.fill(values, null);
+                size = 0;
+                zeroValue = null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size + (zeroValue != null ? 1 : 0);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void forEach(EntryConsumer<? super V> consumer) {
+            long stamp = lock.readLock();
+            try {
+                if (zeroValue != null) {
+                    consumer.accept(0, (V) zeroValue);
+                }
+                for (int i = 0; i < keys.length; i++) {
+                    if (keys[i] != 0) {
+                        consumer.accept(keys[i], (V) values[i]);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        boolean anyMatch(Predicate<? super V> predicate) {
+            long stamp = lock.readLock();
+            try {
+                if (zeroValue != null && predicate.test((V) zeroValue)) {
+                    return true;
+                }
+                for (int i = 0; i < keys.length; i++) {
+                    if (keys[i] != 0 && predicate.test((V) values[i])) {
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        // 낙관적 읽기 중에는 배열이 교체될 수 있으므로 지역 변수로 고정해서 탐색
+        @SuppressWarnings("unchecked")
+        private V find(long key, long hash) {
+            if (key == 0) {
+                return (V) zeroValue;
+            }
+            long[] k = keys;
+            Object[] v = values;
+            if (k.length != v.length) {
+                return null;
+            }
+            int mask = k.length - 1;
+            int index = (int) hash & mask;
+            for (int probe = 0; probe < k.length; probe++) {
+                long current = k[index];
+                if (current == key) {
+                    return (V) v[index];
+                }
+                if (current == 0) {
+                    return null;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        private void insert(long key, long hash, V value) {
+            if (key == 0) {
+                zeroValue = value;
+                return;
+            }
+            int mask = keys.length - 1;
+            int index = (int) hash & mask;
+            while (keys[index] != 0) {
+                if (keys[index] == key) {
+                    values[index] = value;
+                    return;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = value;
+            if (++size > keys.length * 3 / 4) {
+                resize();
+            }
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            long[] newKeys = new long[oldKeys.length << 1];
+            Object[] newValues = new Object[oldKeys.length << 1];
+            int mask = newKeys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                long key = oldKeys[i];
+                if (key == 0) {
+                    continue;
+                }
+                int index = (int) Hashing.mix(key, seed) & mask;
+                while (newKeys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                newKeys[index] = key;
+                newValues[index] = oldValues[i];
+            }
+            keys = newKeys;
+            values = newValues;
+        }
+
+        // 삭제 후 뒤따르는 항목을 당겨서 탐사 경로를 유지 (툼스톤 없이 삭제)
+        private void shiftBack(int index) {
+            int mask = keys.length - 1;
+            int gap = index;
+            int next = (gap + 1) & mask;
+            while (keys[next] != 0) {
+                int home = (int) Hashing.mix(keys[next], seed) & mask;
+                // home이 (gap, next] 구간 밖이면 gap으로 옮길 수 있음
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[gap] = 0;
+            values[gap] = null;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.hhplus.ecommerce.common.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 장바구니 항목 추가/조회/삭제 (JFR 이벤트).
+ * 사용자 장바구니 목록을 몇 개나 훑었는지로 목록 탐색 비용을 본다.
+ */
+@Name("ecommerce.CartMutation")
+@Label("장바구니 변경")
+@Category({"E-commerce", "Cart"})
+@Description("장바구니 항목 추가/조회/삭제 시 훑은 항목 수")
+@StackTrace(false)
+public class CartMutationEvent extends Event {
+
+    public static final String ADD = "ADD";
+    public static final String FIND_ITEM = "FIND_ITEM";
+    public static final String REMOVE = "REMOVE";
+
+    @Label("작업")
+    @Description("ADD, FIND_ITEM, REMOVE")
+    String operation;
+
+    @Label("사용자 ID")
+    long userId;
+
+    @Label("훑은 항목 수")
+    int itemsScanned;
+
+    @Label("결과")
+    @Description("OK, NOT_FOUND")
+    String outcome;
+
+    public void commit(String operation, long userId, int itemsScanned, boolean found) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.operation = operation;
+        this.userId = userId;
+        this.itemsScanned = itemsScanned;
+        this.outcome = found ? "OK" : "NOT_FOUND";
+        commit();
+    }
+}
@@ -0,0 +1,45 @@
+package com.hhplus.ecommerce.common.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 쿠폰 발급 한 건 (JFR 이벤트).
+ * 잔여 수량 CAS 재시도 횟수로 인기 쿠폰의 경합 정도를 본다.
+ */
+@Name("ecommerce.CouponIssue")
+@Label("쿠폰 발급")
+@Category({"E-commerce", "Coupon"})
+@Description("쿠폰 잔여 수량 차감(CAS)과 발급 결과")
+@StackTrace(false)
+public class CouponIssueEvent extends Event {
+
+    @Label("쿠폰 ID")
+    long couponId;
+
+    @Label("CAS 재시도 횟수")
+    int casRetries;
+
+    @Label("발급 후 잔여 수량")
+    int remaining;
+
+    @Label("결과")
+    @Description("ISSUED, COUPON_SOLD_OUT, QUOTA_EXHAUSTED")
+    String outcome;
+
+    // 녹화 중이 아니면 필드를 채우지 않고 바로 반환
+    public void commit(long couponId, int casRetries, int remaining, String outcome) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.couponId = couponId;
+        this.casRetries = casRetries;
+        this.remaining = remaining;
+        this.outcome = outcome;
+        commit();
+    }
+}
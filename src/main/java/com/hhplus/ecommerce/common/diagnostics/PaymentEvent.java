@@ -0,0 +1,40 @@
+package com.hhplus.ecommerce.common.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 주문 결제 한 건 (JFR 이벤트).
+ * 결제 처리 전체 시간(대기 포함)과 결제 수단, 응답 코드를 기록한다.
+ */
+@Name("ecommerce.Payment")
+@Label("주문 결제")
+@Category({"E-commerce", "Order"})
+@Description("주문 결제 처리 시간과 결과 코드")
+@StackTrace(false)
+public class PaymentEvent extends Event {
+
+    @Label("주문 ID")
+    long orderId;
+
+    @Label("결제 수단")
+    String paymentMethod;
+
+    @Label("결과")
+    @Description("PAID 또는 실패 응답의 에러 코드")
+    String outcome;
+
+    public void commit(long orderId, String paymentMethod, String outcome) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.orderId = orderId;
+        this.paymentMethod = paymentMethod;
+        this.outcome = outcome;
+        commit();
+    }
+}
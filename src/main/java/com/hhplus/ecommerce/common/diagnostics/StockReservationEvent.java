@@ -0,0 +1,65 @@
+package com.hhplus.ecommerce.common.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.util.Map;
+
+/**
+ * 주문 한 건의 재고 차감 (JFR 이벤트).
+ * ProductStore 잠금을 얻기까지 기다린 시간과 한 번에 차감한 옵션 수를 기록한다.
+ */
+@Name("ecommerce.StockReservation")
+@Label("재고 차감")
+@Category({"E-commerce", "Product"})
+@Description("주문 옵션들의 재고를 한꺼번에 차감한 결과와 잠금 대기 시간")
+@StackTrace(false)
+public class StockReservationEvent extends Event {
+
+    @Label("옵션 수")
+    int optionCount;
+
+    @Label("총 수량")
+    int totalQuantity;
+
+    @Label("잠금 대기 시간")
+    @Timespan(Timespan.NANOSECONDS)
+    long lockWait;
+
+    @Label("재고 부족 옵션 ID")
+    long failedOptionId;
+
+    @Label("결과")
+    @Description("RESERVED, OUT_OF_STOCK, QUOTA_EXHAUSTED, JOURNAL_FAILED")
+    String outcome;
+
+    // 녹화 중일 때만 잠금 대기 시간을 재기 위한 시작 시각 (녹화 중이 아니면 0)
+    public long lockRequested() {
+        return isEnabled() ? System.nanoTime() : 0;
+    }
+
+    public void lockAcquired(long requestedAt) {
+        if (requestedAt != 0) {
+            this.lockWait = System.nanoTime() - requestedAt;
+        }
+    }
+
+    // 녹화 중이 아니면 수량 합계도 구하지 않고 바로 반환
+    public void commit(Map<Long, Integer> quantities, long failedOptionId, String outcome) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.optionCount = quantities.size();
+        for (int quantity : quantities.values()) {
+            this.totalQuantity += quantity;
+        }
+        this.failedOptionId = failedOptionId;
+        this.outcome = outcome;
+        commit();
+    }
+}
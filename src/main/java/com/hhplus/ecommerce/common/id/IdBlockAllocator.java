@@ -0,0 +1,76 @@
+package com.hhplus.ecommerce.common.id;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 공유 DB 테이블(id_block)에서 ID를 묶음으로 받아 와 메모리에서 하나씩 나눠 주는 발급기.
+ * 행마다 IDENTITY로 ID를 받아 오는 대신 blockSize개마다 한 번만 DB에 다녀오며,
+ * 여러 서버가 같은 테이블을 써도 서로 다른 묶음을 받으므로 ID가 겹치지 않는다.
+ * (서버가 재시작되면 쓰지 않은 묶음의 나머지는 건너뛴다)
+ */
+@Component
+public class IdBlockAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int blockSize;
+
+    // 이름별 현재 묶음 [다음 ID, 묶음 끝(미포함)]
+    private final Map<String, long[]> blocks = new HashMap<>();
+
+    public IdBlockAllocator(DataSource dataSource, @Value("${ecommerce.id-block.size:1000}") int blockSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.blockSize = blockSize;
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS id_block (" +
+                "block_name VARCHAR(64) PRIMARY KEY, next_id BIGINT NOT NULL)");
+    }
+
+    /**
+     * 발급을 시작할 ID를 등록한다. 이미 등록되어 있으면(다른 서버가 먼저 등록) 다음 ID가 firstId보다 작을 때만 올린다.
+     * 이 서버가 받아 둔 묶음에 firstId보다 작은 ID가 남아 있으면 버리고 다음 발급 때 새 묶음을 받는다.
+     */
+    public synchronized void register(String name, long firstId) {
+        try {
+            jdbcTemplate.update("INSERT INTO id_block (block_name, next_id) VALUES (?, ?)", name, firstId);
+        } catch (DuplicateKeyException e) {
+            // 다른 서버가 먼저 등록함
+            jdbcTemplate.update("UPDATE id_block SET next_id = ? WHERE block_name = ? AND next_id < ?", firstId, name, firstId);
+        }
+        long[] block = blocks.get(name);
+        if (block != null && block[0] < firstId) {
+            block[0] = block[1];
+        }
+    }
+
+    public synchronized long next(String name) {
+        long[] block = blocks.computeIfAbsent(name, k -> new long[2]);
+        if (block[0] == block[1]) {
+            block[0] = reserve(name);
+            block[1] = block[0] + blockSize;
+        }
+        return block[0]++;
+    }
+
+    // 조건부 증가로 묶음 하나를 예약하고 그 시작 ID를 반환 (다른 서버와 겹치면 다시 읽음)
+    private long reserve(String name) {
+        while (true) {
+            List<Long> current = jdbcTemplate.queryForList("SELECT next_id FROM id_block WHERE block_name = ?", Long.class, name);
+            if (current.isEmpty()) {
+                throw new IllegalStateException("등록되지 않은 ID 발급기입니다. (" + name + ")");
+            }
+            long start = current.get(0);
+            int updated = jdbcTemplate.update("UPDATE id_block SET next_id = ? WHERE block_name = ? AND next_id = ?",
+                    start + blockSize, name, start);
+            if (updated == 1) {
+                return start;
+            }
+        }
+    }
+}
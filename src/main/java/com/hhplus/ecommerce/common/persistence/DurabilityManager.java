@@ -0,0 +1,127 @@
+package com.hhplus.ecommerce.common.persistence;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 인메모리 저장소의 영속화 관리.
+ * 시작 시 최신 스냅샷 + 이후 로그로 상태를 복구하고, 주기적으로 스냅샷을 떠서 오래된 로그를 정리한다.
+ * ecommerce.durability.enabled=false(기본값)이면 아무 파일도 만들지 않는다.
+ */
+@Slf4j
+@Component
+public class DurabilityManager {
+
+    private final List<DurableStore> stores;
+    private final Journal journal;
+    private final boolean enabled;
+    private final Path dir;
+
+    private WriteAheadLog wal;
+
+    public DurabilityManager(List<DurableStore> stores, Journal journal,
+                             @Value("${ecommerce.durability.enabled:false}") boolean enabled,
+                             @Value("${ecommerce.durability.dir:data}") String dir) {
+        this.stores = stores;
+        this.journal = journal;
+        this.enabled = enabled;
+        this.dir = Path.of(dir);
+    }
+
+    // 웹 서버가 요청을 받기 전에 복구를 마친다
+    @PostConstruct
+    public void recover() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        Files.createDirectories(dir);
+        Map<Byte, DurableStore> storesById = stores.stream()
+                .collect(Collectors.toMap(DurableStore::storeId, Function.identity()));
+
+        Optional<Long> snapshot = SnapshotFile.latest(dir);
+        if (snapshot.isPresent()) {
+            SnapshotFile.read(SnapshotFile.path(dir, snapshot.get()), storesById);
+        }
+
+        long fromSegment = snapshot.orElse(0L);
+        long lastSegment = fromSegment;
+        long records = 0;
+        for (long segment : WriteAheadLog.segments(dir)) {
+            if (segment < fromSegment) {
+                continue;
+            }
+            records += WriteAheadLog.replay(WriteAheadLog.segmentPath(dir, segment), (storeId, payload) -> {
+                DurableStore store = storesById.get(storeId);
+                if (store == null) {
+                    throw new IOException("알 수 없는 저장소의 로그입니다. (storeId: " + storeId + ")");
+                }
+                store.replay(payload);
+            });
+            lastSegment = Math.max(lastSegment, segment);
+        }
+
+        // 복구가 끝난 로그에는 더 쓰지 않고 새 세그먼트부터 기록
+        wal = new WriteAheadLog(dir, lastSegment + 1);
+        journal.attach(wal);
+        log.info("인메모리 저장소 복구 완료: snapshot={}, replayed={} records, {} ms",
+                snapshot.orElse(null), records, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${ecommerce.durability.snapshot-interval-ms:300000}")
+    public synchronized void snapshot() {
+        if (wal == null) {
+            return;
+        }
+        try {
+            takeSnapshot();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (wal == null) {
+            return;
+        }
+        // 종료 시 스냅샷을 남겨 다음 시작 때 재생할 로그를 줄인다
+        takeSnapshot();
+        journal.detach();
+        wal.close();
+        wal = null;
+    }
+
+    private void takeSnapshot() throws IOException {
+        long start = System.nanoTime();
+        long segment = wal.roll();
+        SnapshotFile.write(dir, segment, stores);
+
+        // 새 스냅샷 이전의 로그와 스냅샷은 더 이상 필요 없음
+        for (long old : WriteAheadLog.segments(dir)) {
+            if (old < segment) {
+                Files.deleteIfExists(WriteAheadLog.segmentPath(dir, old));
+            }
+        }
+        for (long old : SnapshotFile.list(dir)) {
+            if (old < segment) {
+                Files.deleteIfExists(SnapshotFile.path(dir, old));
+            }
+        }
+        log.info("스냅샷 저장 완료: segment={}, {} ms", segment, (System.nanoTime() - start) / 1_000_000);
+    }
+}
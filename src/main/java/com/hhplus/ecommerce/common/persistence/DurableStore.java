@@ -0,0 +1,32 @@
+package com.hhplus.ecommerce.common.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * 스냅샷 + WAL로 재시작 시 복구되는 인메모리 저장소.
+ *
+ * 스냅샷은 서비스 중에 잠금 없이 뜨기 때문에(fuzzy snapshot) 스냅샷 직전/직후의 로그가 다시 적용될 수 있다.
+ * 따라서 로그 레코드는 여러 번 적용해도 결과가 같도록(멱등) 만들어야 한다.
+ * 또한 메모리에 먼저 반영한 뒤 로그를 남겨야 스냅샷과 로그 사이에 빠지는 변경이 없다.
+ */
+public interface DurableStore {
+
+    /**
+     * 로그/스냅샷에서 저장소를 구분하는 ID (저장소마다 고유)
+     */
+    byte storeId();
+
+    void writeSnapshot(DataOutput out) throws IOException;
+
+    /**
+     * 스냅샷을 읽어 현재 상태를 교체한다.
+     */
+    void readSnapshot(DataInput in) throws IOException;
+
+    /**
+     * 로그 레코드 하나를 적용한다. 이 과정에서 다시 로그를 남기면 안 된다.
+     */
+    void replay(DataInput in) throws IOException;
+}
@@ -0,0 +1,52 @@
+package com.hhplus.ecommerce.common.persistence;
+
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 저장소가 변경 내용을 WAL에 남길 때 사용하는 진입점.
+ * 영속화가 꺼져 있거나 복구 중에는 아무것도 기록하지 않는다.
+ */
+@Component
+public class Journal {
+
+    private volatile WriteAheadLog wal;
+
+    /**
+     * 레코드를 WAL에 추가하고, 디스크에 기록(fsync)될 때까지 기다린다.
+     * 동시에 들어온 요청들은 한 번의 fsync로 함께 커밋된다.
+     */
+    public void append(DurableStore store, RecordWriter writer) {
+        WriteAheadLog current = wal;
+        if (current == null) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        current.append(store.storeId(), bytes.toByteArray()).join();
+    }
+
+    void attach(WriteAheadLog wal) {
+        this.wal = wal;
+    }
+
+    WriteAheadLog detach() {
+        WriteAheadLog current = wal;
+        wal = null;
+        return current;
+    }
+
+    @FunctionalInterface
+    public interface RecordWriter {
+        void write(DataOutput out) throws IOException;
+    }
+}
@@ -0,0 +1,191 @@
+package com.hhplus.ecommerce.common.persistence;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 저장소 전체 상태를 담는 스냅샷 파일 (snapshot-{세그먼트 번호}.bin).
+ * 파일 번호가 S이면 S번 세그먼트 이전의 로그는 모두 스냅샷에 반영되어 있다.
+ *
+ * 읽기/쓰기 모두 메모리 매핑(MappedByteBuffer)을 청크 단위로 옮겨가며 처리해
+ * 수백 MB 스냅샷도 시스템 콜 없이 순차로 읽고 쓴다.
+ * 파일 형식: [MAGIC][저장소 수] ([storeId][저장소 데이터])* [END_MAGIC]
+ */
+final class SnapshotFile {
+
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+    private static final int MAGIC = 0x534E4150;     // "SNAP"
+    private static final int END_MAGIC = 0x454E4421; // "END!"
+    private static final long CHUNK_SIZE = 64L << 20;
+
+    private SnapshotFile() {
+    }
+
+    static Path path(Path dir, long segment) {
+        return dir.resolve(String.format("%s%020d%s", PREFIX, segment, SUFFIX));
+    }
+
+    /**
+     * 디렉터리의 스냅샷 세그먼트 번호 목록 (오름차순)
+     */
+    static List<Long> list(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * 가장 최근 스냅샷의 세그먼트 번호
+     */
+    static Optional<Long> latest(Path dir) throws IOException {
+        List<Long> snapshots = list(dir);
+        return snapshots.isEmpty() ? Optional.empty() : Optional.of(snapshots.get(snapshots.size() - 1));
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 원자적으로 이름을 바꿔, 쓰다 만 스냅샷이 남지 않게 한다.
+     */
+    static void write(Path dir, long segment, List<DurableStore> stores) throws IOException {
+        Path tmp = dir.resolve(path(dir, segment).getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedOutputStream mapped = new MappedOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(mapped, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(stores.size());
+            for (DurableStore store : stores) {
+                out.writeByte(store.storeId());
+                store.writeSnapshot(out);
+            }
+            out.writeInt(END_MAGIC);
+            out.flush();
+            mapped.finish();
+            channel.force(true);
+        }
+        Files.move(tmp, path(dir, segment), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static void read(Path file, Map<Byte, DurableStore> stores) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            DataInputStream in = new DataInputStream(new MappedInputStream(channel));
+            if (in.readInt() != MAGIC) {
+                throw new IOException("스냅샷 형식이 올바르지 않습니다. (" + file + ")");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                byte storeId = in.readByte();
+                DurableStore store = stores.get(storeId);
+                if (store == null) {
+                    throw new IOException("알 수 없는 저장소의 스냅샷입니다. (storeId: " + storeId + ")");
+                }
+                store.readSnapshot(in);
+            }
+            if (in.readInt() != END_MAGIC) {
+                throw new IOException("스냅샷이 완전하지 않습니다. (" + file + ")");
+            }
+        }
+    }
+
+    // 파일을 CHUNK_SIZE씩 매핑해 가며 쓰는 스트림
+    private static final class MappedOutputStream extends OutputStream {
+        private final FileChannel channel;
+        private MappedByteBuffer buffer;
+        private long base;
+
+        MappedOutputStream(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, CHUNK_SIZE);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!buffer.hasRemaining()) {
+                nextChunk();
+            }
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (!buffer.hasRemaining()) {
+                    nextChunk();
+                }
+                int n = Math.min(len, buffer.remaining());
+                buffer.put(b, off, n);
+                off += n;
+                len -= n;
+            }
+        }
+
+        // 실제로 쓴 크기만큼 파일을 잘라낸다
+        void finish() throws IOException {
+            buffer.force();
+            channel.truncate(base + buffer.position());
+        }
+
+        private void nextChunk() throws IOException {
+            buffer.force();
+            base += buffer.position();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, base, CHUNK_SIZE);
+        }
+    }
+
+    // 파일을 CHUNK_SIZE씩 매핑해 가며 읽는 스트림
+    private static final class MappedInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long size;
+        private MappedByteBuffer buffer;
+        private long base;
+
+        MappedInputStream(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, CHUNK_SIZE));
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!buffer.hasRemaining() && !nextChunk()) {
+                return -1;
+            }
+            return buffer.get() & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining() && !nextChunk()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        private boolean nextChunk() throws IOException {
+            base += buffer.limit();
+            if (base >= size) {
+                return false;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, base, Math.min(size - base, CHUNK_SIZE));
+            return true;
+        }
+    }
+}
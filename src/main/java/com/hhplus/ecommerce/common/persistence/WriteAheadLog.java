@@ -0,0 +1,321 @@
+package com.hhplus.ecommerce.common.persistence;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 추가 전용(append-only) 변경 로그.
+ *
+ * 요청 스레드는 레코드를 큐에 넣고 기다리기만 하며, 전용 writer 스레드가 쌓인 레코드를 한꺼번에
+ * FileChannel에 쓰고 fsync 한 번으로 커밋한다(group commit). 동시 요청이 많을수록 fsync 한 번에
+ * 더 많은 레코드가 묶인다.
+ *
+ * 로그는 세그먼트 파일(wal-{번호}.log)로 나뉘며, 스냅샷을 뜰 때 새 세그먼트로 넘어간다.
+ * 쓰기나 fsync가 실패하면 그 묶음의 시작 위치로 파일을 되돌려, 이후 레코드가 깨진 레코드 뒤에 붙지 않게 한다.
+ * (되돌리지 못하면 그 세그먼트에는 더 쓰지 않고 다음 세그먼트로 넘어간다)
+ * 레코드 형식: [payload 길이(int)][storeId(byte)][payload][CRC32(int)]
+ */
+public class WriteAheadLog implements Closeable {
+
+    private static final String PREFIX = "wal-";
+    private static final String SUFFIX = ".log";
+    private static final int MAX_BATCH = 4096;
+    private static final int RECORD_OVERHEAD = 4 + 1 + 4;
+    private static final int MAX_RECORD_SIZE = 16 << 20;
+
+    private final Path dir;
+    private final ChannelOpener opener;
+    private final BlockingQueue<PendingRecord> queue = new LinkedBlockingQueue<>();
+    private final Object channelLock = new Object();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private FileChannel channel;
+    private long segment;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+
+    public WriteAheadLog(Path dir, long segment) throws IOException {
+        this(dir, segment, path -> FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    // 테스트에서 디스크 오류를 흉내 내는 채널을 넣을 때 사용
+    WriteAheadLog(Path dir, long segment, ChannelOpener opener) throws IOException {
+        this.dir = dir;
+        this.opener = opener;
+        this.segment = segment;
+        this.channel = open(segment);
+        this.writer = new Thread(this::writeLoop, "wal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public CompletableFuture<Void> append(byte storeId, byte[] payload) {
+        PendingRecord record = new PendingRecord(storeId, payload);
+        if (!running) {
+            record.future.completeExceptionally(closedException());
+            return record.future;
+        }
+        queue.add(record);
+        // 넣는 사이 닫혔으면 writer가 이미 끝났을 수 있으므로, 아직 큐에 남아 있으면 직접 실패 처리
+        if (!running && queue.remove(record)) {
+            record.future.completeExceptionally(closedException());
+        }
+        return record.future;
+    }
+
+    /**
+     * 현재 세그먼트를 닫고 다음 세그먼트로 넘어간다. 새 세그먼트 번호를 반환한다.
+     * 반환 시점 이전에 메모리에 반영된 변경은 모두 이전 세그먼트 또는 이후 스냅샷에 포함된다.
+     */
+    public long roll() throws IOException {
+        synchronized (channelLock) {
+            channel.force(false);
+            channel.close();
+            segment++;
+            channel = open(segment);
+            return segment;
+        }
+    }
+
+    /**
+     * 새 레코드를 받지 않고, 큐에 남은 레코드를 모두 쓴 뒤 writer 스레드가 채널을 닫는다.
+     * writer가 쓰는 도중에 채널을 닫지 않도록, 제한 시간 안에 끝나지 않으면 채널을 그대로 두고 예외를 던진다.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            throw new IOException("WAL writer가 제한 시간 안에 끝나지 않았습니다.");
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingRecord> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    PendingRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    // 앞선 fsync를 기다리는 동안 쌓인 레코드를 한 번에 가져감
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                    writeBatch(batch);
+                    for (PendingRecord record : batch) {
+                        record.future.complete(null);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (IOException | RuntimeException e) {
+                    for (PendingRecord record : batch) {
+                        record.future.completeExceptionally(e);
+                    }
+                }
+                batch.clear();
+            }
+        } finally {
+            shutdown(batch);
+        }
+    }
+
+    // writer 스레드가 끝날 때 채널을 닫고, 쓰지 못한 요청은 실패 처리
+    private void shutdown(List<PendingRecord> batch) {
+        running = false;
+        synchronized (channelLock) {
+            try {
+                channel.force(false);
+                channel.close();
+            } catch (IOException e) {
+                // 이미 fsync된 레코드만 완료 처리했으므로 닫기 실패는 복구에 영향이 없음
+            }
+        }
+        IOException closed = closedException();
+        for (PendingRecord record : batch) {
+            record.future.completeExceptionally(closed);
+        }
+        PendingRecord record;
+        while ((record = queue.poll()) != null) {
+            record.future.completeExceptionally(closed);
+        }
+    }
+
+    private static IOException closedException() {
+        return new IOException("WAL이 이미 닫혔습니다.");
+    }
+
+    private void writeBatch(List<PendingRecord> batch) throws IOException {
+        synchronized (channelLock) {
+            long start = channel.size();
+            try {
+                write(batch);
+            } catch (IOException | RuntimeException e) {
+                discardPartialBatch(start, e);
+                throw e;
+            }
+        }
+    }
+
+    private void write(List<PendingRecord> batch) throws IOException {
+        CRC32 crc = new CRC32();
+        for (PendingRecord record : batch) {
+            int size = RECORD_OVERHEAD + record.payload.length;
+            if (buffer.remaining() < size) {
+                flush();
+                if (buffer.capacity() < size) {
+                    buffer = ByteBuffer.allocateDirect(size);
+                }
+            }
+            crc.reset();
+            crc.update(record.storeId);
+            crc.update(record.payload);
+            buffer.putInt(record.payload.length)
+                    .put(record.storeId)
+                    .put(record.payload)
+                    .putInt((int) crc.getValue());
+        }
+        flush();
+        channel.force(false);
+    }
+
+    // 실패한 묶음의 일부가 파일에 남으면 복구 시 그 뒤의(완료 응답을 받은) 레코드까지 잘려 나가므로 묶음 시작 위치로 되돌림
+    private void discardPartialBatch(long start, Exception cause) {
+        buffer.clear();
+        try {
+            channel.truncate(start);
+            channel.force(false);
+        } catch (IOException | RuntimeException truncateFailure) {
+            cause.addSuppressed(truncateFailure);
+            // 되돌리지 못한 세그먼트에는 더 쓰지 않음 (복구 시 깨진 레코드에서 멈추는 것은 이 세그먼트뿐)
+            try {
+                channel.close();
+            } catch (IOException closeFailure) {
+                cause.addSuppressed(closeFailure);
+            }
+            try {
+                segment++;
+                channel = open(segment);
+            } catch (IOException openFailure) {
+                // 채널이 닫힌 채로 남으므로 다음 묶음도 실패하고 여기서 다시 새 세그먼트를 시도함
+                cause.addSuppressed(openFailure);
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private FileChannel open(long segment) throws IOException {
+        return opener.open(segmentPath(dir, segment));
+    }
+
+    static Path segmentPath(Path dir, long segment) {
+        return dir.resolve(String.format("%s%020d%s", PREFIX, segment, SUFFIX));
+    }
+
+    /**
+     * 디렉터리의 세그먼트 번호 목록 (오름차순)
+     */
+    static List<Long> segments(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * 세그먼트의 레코드를 순서대로 읽어 handler에 넘긴다.
+     * 비정상 종료로 마지막 레코드가 잘렸거나 깨졌으면 그 지점에서 파일을 잘라내고 멈춘다.
+     * 읽은 레코드 수를 반환한다.
+     */
+    static long replay(Path file, RecordHandler handler) throws IOException {
+        long count = 0;
+        long validPosition = 0;
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 20))) {
+            while (true) {
+                int length;
+                byte storeId;
+                byte[] payload;
+                int checksum;
+                try {
+                    length = in.readInt();
+                    if (length < 0 || length > MAX_RECORD_SIZE) {
+                        break;
+                    }
+                    storeId = in.readByte();
+                    payload = in.readNBytes(length);
+                    if (payload.length < length) {
+                        break;
+                    }
+                    checksum = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(storeId);
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                handler.handle(storeId, new DataInputStream(new ByteArrayInputStream(payload)));
+                validPosition += RECORD_OVERHEAD + length;
+                count++;
+            }
+        }
+        if (validPosition < Files.size(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(validPosition);
+            }
+        }
+        return count;
+    }
+
+    @FunctionalInterface
+    interface ChannelOpener {
+        FileChannel open(Path path) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface RecordHandler {
+        void handle(byte storeId, DataInput payload) throws IOException;
+    }
+
+    private static final class PendingRecord {
+        private final byte storeId;
+        private final byte[] payload;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        PendingRecord(byte storeId, byte[] payload) {
+            this.storeId = storeId;
+            this.payload = payload;
+        }
+    }
+}
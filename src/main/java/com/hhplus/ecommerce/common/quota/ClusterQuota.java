@@ -0,0 +1,64 @@
+package com.hhplus.ecommerce.common.quota;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * 저장소들이 쿠폰 수량/재고를 차감할 때 함께 확인하는 QuotaAllocator.
+ * ecommerce.quota.leased.enabled=true이면 공유 DB의 quota_pool에서 수량을 묶음으로 빌려 와 여러 서버가 총 수량을 함께 지키고,
+ * false(기본값)이면 항상 허용하여 각 저장소의 인메모리 수량만으로 판단한다.
+ */
+@Component
+public class ClusterQuota implements QuotaAllocator {
+
+    private final QuotaLedger ledger;
+    private final LeasedQuotaAllocator allocator;
+
+    public ClusterQuota(DataSource dataSource,
+                        @Value("${ecommerce.quota.leased.enabled:false}") boolean enabled,
+                        @Value("${ecommerce.quota.chunk-size:20}") int chunkSize,
+                        @Value("${ecommerce.quota.lease-ttl-ms:10000}") long leaseTtlMillis) {
+        this.ledger = enabled ? new QuotaLedger(dataSource) : null;
+        this.allocator = enabled ? new LeasedQuotaAllocator(ledger, chunkSize, leaseTtlMillis) : null;
+    }
+
+    /**
+     * 수량을 공유 테이블에 등록한다. 가장 먼저 뜬 서버의 값이 총 수량이 된다.
+     */
+    public void register(String key, long total) {
+        if (ledger != null) {
+            ledger.register(key, total);
+        }
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int amount) {
+        return allocator == null || allocator.tryAcquire(key, amount);
+    }
+
+    @Override
+    public void release(String key, int amount) {
+        if (allocator != null) {
+            allocator.release(key, amount);
+        }
+    }
+
+    // 오래 쓰지 않은 묶음은 다른 서버가 쓸 수 있도록 돌려줌
+    @Scheduled(fixedDelayString = "${ecommerce.quota.lease-ttl-ms:10000}")
+    public void returnExpired() {
+        if (allocator != null) {
+            allocator.returnExpired();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (allocator != null) {
+            allocator.close();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.hhplus.ecommerce.common.quota;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 중앙 수량 테이블에서 수량을 묶음으로 빌려 와 서버 안에서 나눠 주는 QuotaAllocator.
+ * 요청은 대부분 로컬 원자 연산으로 끝나고, 묶음을 다 쓰거나 빌린 지 leaseTtl이 지났을 때만 DB에 접근한다.
+ * 빌려 간 수량은 다른 서버가 쓸 수 없으므로 모든 서버의 발급량 합은 총 수량을 넘지 않는다.
+ * 서버가 비정상 종료되면 돌려주지 못한 수량은 빌린 상태로 남는다. (초과 발급 대신 덜 발급)
+ */
+public class LeasedQuotaAllocator implements QuotaAllocator, AutoCloseable {
+
+    // 중앙 수량이 바닥난 키는 이 시간 동안 DB를 다시 확인하지 않음
+    private static final long EXHAUSTED_RECHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final QuotaLedger ledger;
+    private final int chunkSize;
+    private final long leaseTtlNanos;
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    public LeasedQuotaAllocator(QuotaLedger ledger, int chunkSize, long leaseTtlMillis) {
+        this.ledger = ledger;
+        this.chunkSize = chunkSize;
+        this.leaseTtlNanos = TimeUnit.MILLISECONDS.toNanos(leaseTtlMillis);
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int amount) {
+        while (true) {
+            Lease lease = leases.get(key);
+            long now = System.nanoTime();
+            if (lease != null && lease.tryTake(amount, now)) {
+                return true;
+            }
+            if (lease != null && lease.granted == 0 && now < lease.expiresAt) {
+                return false;
+            }
+
+            // 묶음이 부족하거나 만료됨: 남은 수량을 돌려주고 새로 빌림 (키마다 한 스레드만)
+            synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+                if (leases.get(key) != lease) {
+                    continue; // 다른 스레드가 이미 새로 빌려 옴
+                }
+                if (lease != null) {
+                    settle(key, lease);
+                }
+                int granted = ledger.lease(key, Math.max(chunkSize, amount));
+                if (granted == 0) {
+                    leases.put(key, new Lease(0, System.nanoTime() + EXHAUSTED_RECHECK_NANOS));
+                    return false;
+                }
+                if (granted < amount) {
+                    ledger.settle(key, granted, granted);
+                    return false;
+                }
+                leases.put(key, new Lease(granted, System.nanoTime() + leaseTtlNanos));
+            }
+        }
+    }
+
+    @Override
+    public void release(String key, int amount) {
+        Lease lease = leases.get(key);
+        // 이미 반납된 묶음이면 중앙 테이블로 직접 돌려줌
+        if (lease == null || !lease.giveBack(amount)) {
+            ledger.settle(key, 0, amount);
+        }
+    }
+
+    /**
+     * 빌린 지 leaseTtl이 지난 묶음의 남은 수량을 중앙 테이블에 돌려준다.
+     */
+    public void returnExpired() {
+        long now = System.nanoTime();
+        leases.forEach((key, lease) -> {
+            if (now >= lease.expiresAt) {
+                synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+                    if (leases.get(key) == lease) {
+                        settle(key, lease);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 종료 시 빌린 모든 묶음의 남은 수량을 돌려준다.
+     */
+    @Override
+    public void close() {
+        leases.forEach((key, lease) -> {
+            synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+                if (leases.get(key) == lease) {
+                    settle(key, lease);
+                }
+            }
+        });
+    }
+
+    private void settle(String key, Lease lease) {
+        leases.remove(key, lease);
+        int unused = lease.close();
+        // 이미 닫힌 묶음이거나, 바닥난 키의 빈 묶음이면 돌려줄 것이 없음
+        if (unused == Lease.CLOSED || (lease.granted == 0 && unused == 0)) {
+            return;
+        }
+        ledger.settle(key, lease.granted, unused);
+    }
+
+    // 중앙 테이블에서 빌려 온 묶음 하나
+    private static final class Lease {
+        private static final int CLOSED = -1;
+
+        private final int granted;
+        private final long expiresAt;
+        private final AtomicInteger remaining;
+
+        Lease(int granted, long expiresAt) {
+            this.granted = granted;
+            this.expiresAt = expiresAt;
+            this.remaining = new AtomicInteger(granted);
+        }
+
+        boolean tryTake(int amount, long now) {
+            if (now >= expiresAt) {
+                return false;
+            }
+            int current;
+            do {
+                current = remaining.get();
+                if (current < amount) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(current, current - amount));
+            return true;
+        }
+
+        boolean giveBack(int amount) {
+            int current;
+            do {
+                current = remaining.get();
+                if (current == CLOSED) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(current, current + amount));
+            return true;
+        }
+
+        // 더 이상 나눠 주지 않도록 닫고 남은 수량을 반환 (이미 닫혔으면 -1)
+        int close() {
+            return remaining.getAndSet(CLOSED);
+        }
+    }
+}
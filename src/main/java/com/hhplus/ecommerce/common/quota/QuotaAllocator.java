@@ -0,0 +1,17 @@
+package com.hhplus.ecommerce.common.quota;
+
+/**
+ * 여러 서버가 함께 나눠 쓰는 수량(쿠폰 발급 수량, 옵션 재고)의 할당.
+ */
+public interface QuotaAllocator {
+
+    /**
+     * 수량을 amount만큼 차지한다. 남은 수량이 부족하면 아무것도 차지하지 않고 false를 반환한다.
+     */
+    boolean tryAcquire(String key, int amount);
+
+    /**
+     * 차지했지만 쓰지 않게 된 수량을 돌려준다.
+     */
+    void release(String key, int amount);
+}
@@ -0,0 +1,74 @@
+package com.hhplus.ecommerce.common.quota;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 모든 서버가 공유하는 중앙 수량 테이블 (quota_pool).
+ * 서버는 여기서 수량을 묶음으로 빌려 가고(leased), 다 쓰지 못한 만큼을 돌려준다(available).
+ * total = available + leased + 사용된 수량 이 항상 성립한다.
+ */
+public class QuotaLedger {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public QuotaLedger(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS quota_pool (" +
+                "quota_key VARCHAR(64) PRIMARY KEY, total BIGINT NOT NULL, " +
+                "available BIGINT NOT NULL, leased BIGINT NOT NULL)");
+    }
+
+    /**
+     * 수량을 등록한다. 가장 먼저 등록한 서버의 값만 기록되고, 이미 있으면 그대로 둔다.
+     */
+    public void register(String key, long total) {
+        try {
+            jdbcTemplate.update("INSERT INTO quota_pool (quota_key, total, available, leased) VALUES (?, ?, ?, 0)",
+                    key, total, total);
+        } catch (DuplicateKeyException e) {
+            // 다른 서버가 먼저 등록함
+        }
+    }
+
+    /**
+     * 최대 amount만큼 빌린다. 남은 수량이 그보다 적으면 남은 만큼만 빌리며, 빌린 수량을 반환한다.
+     */
+    public int lease(String key, int amount) {
+        while (true) {
+            long available = getAvailable(key);
+            int take = (int) Math.min(amount, available);
+            if (take <= 0) {
+                return 0;
+            }
+            // 조건부 차감: 그사이 다른 서버가 가져가 부족해졌으면 다시 읽음
+            int updated = jdbcTemplate.update("UPDATE quota_pool SET available = available - ?, leased = leased + ? " +
+                    "WHERE quota_key = ? AND available >= ?", take, take, key, take);
+            if (updated == 1) {
+                return take;
+            }
+        }
+    }
+
+    /**
+     * 빌린 granted 중 쓰지 않은 unused를 돌려주고 빌림을 끝낸다.
+     * 빌림이 끝난 뒤 취소된 수량은 granted = 0으로 돌려준다.
+     */
+    public void settle(String key, int granted, int unused) {
+        jdbcTemplate.update("UPDATE quota_pool SET available = available + ?, leased = leased - ? WHERE quota_key = ?",
+                unused, granted, key);
+    }
+
+    public long getAvailable(String key) {
+        List<Long> available = jdbcTemplate.queryForList("SELECT available FROM quota_pool WHERE quota_key = ?", Long.class, key);
+        return available.isEmpty() ? 0 : available.get(0);
+    }
+
+    public long getLeased(String key) {
+        List<Long> leased = jdbcTemplate.queryForList("SELECT leased FROM quota_pool WHERE quota_key = ?", Long.class, key);
+        return leased.isEmpty() ? 0 : leased.get(0);
+    }
+}
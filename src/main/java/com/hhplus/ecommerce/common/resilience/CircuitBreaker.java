@@ -0,0 +1,122 @@
+package com.hhplus.ecommerce.common.resilience;
+
+/**
+ * 최근 호출 결과로 외부 시스템 호출을 막는 서킷 브레이커.
+ *
+ * - CLOSED: 호출을 허용하고, 최근 windowSize번 중 실패 비율이 failureRate 이상이면 OPEN으로 바꾼다.
+ *   (호출 수가 minimumCalls보다 적으면 판단하지 않음)
+ * - OPEN: openMillis 동안 호출하지 않고 바로 실패시킨다. 장애가 난 시스템을 기다리느라 스레드/연결을 묶어 두지 않기 위함.
+ * - HALF_OPEN: OPEN 시간이 지나면 시험 호출 하나만 허용하고, 성공하면 CLOSED, 실패하면 다시 OPEN으로 바꾼다.
+ *
+ * 호출 한 번에 외부 요청 한 번이 드는 곳에서 쓰므로 단순하게 메서드 단위로 동기화한다.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final double failureRate;
+    private final int minimumCalls;
+    private final long openMillis;
+
+    // 최근 호출 결과 (true = 실패)를 순환 버퍼로 보관
+    private final boolean[] outcomes;
+    private int next;
+    private int calls;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probing;
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRate, long openMillis) {
+        this.name = name;
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRate = failureRate;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * 호출해도 되는지 확인한다. true를 받았으면 결과를 onSuccess/onFailure로 반드시 알려야 한다.
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED -> {
+                return true;
+            }
+            case OPEN -> {
+                if (System.currentTimeMillis() - openedAt < openMillis) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probing = true;
+                return true;
+            }
+            default -> {
+                // HALF_OPEN: 시험 호출은 한 번에 하나만
+                if (probing) {
+                    return false;
+                }
+                probing = true;
+                return true;
+            }
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            close();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && calls >= minimumCalls && failures >= failureRate * calls) {
+            open();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void record(boolean failed) {
+        if (calls == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        outcomes[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        probing = false;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        probing = false;
+        next = 0;
+        calls = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,84 @@
+package com.hhplus.ecommerce.common.soldout;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hhplus.ecommerce.common.collection.LongObjectHashMap;
+import com.hhplus.ecommerce.common.dto.ErrorResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+
+/**
+ * 수량이 소진된 쿠폰과 재고가 0이 된 상품 옵션의 목록.
+ * 소진은 되돌아가지 않는 상태이므로, 거절 응답을 소진 시점에 한 번만 JSON으로 만들어 두고
+ * 이후 요청에는 같은 응답 객체를 그대로 돌려준다. (요청마다 ErrorResponse 생성/직렬화 없음)
+ */
+@Component
+public class SoldOutRegistry {
+
+    private final ObjectMapper objectMapper;
+
+    // couponId -> 거절 응답
+    private final LongObjectHashMap<ResponseEntity<byte[]>> soldOutCoupons = new LongObjectHashMap<>();
+
+    // optionId -> 거절 응답
+    private final LongObjectHashMap<ResponseEntity<byte[]>> soldOutOptions = new LongObjectHashMap<>();
+
+    public SoldOutRegistry(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 소진된 쿠폰이면 미리 만들어 둔 거절 응답을, 아니면 null을 반환한다.
+     */
+    public ResponseEntity<byte[]> couponRejection(long couponId) {
+        return soldOutCoupons.get(couponId);
+    }
+
+    /**
+     * 재고가 0인 옵션이면 미리 만들어 둔 거절 응답을, 아니면 null을 반환한다.
+     */
+    public ResponseEntity<byte[]> optionRejection(long optionId) {
+        return soldOutOptions.get(optionId);
+    }
+
+    public void couponSoldOut(long couponId, int totalQuantity) {
+        if (!soldOutCoupons.containsKey(couponId)) {
+            soldOutCoupons.putIfAbsent(couponId, rejection(HttpStatus.CONFLICT, "COUPON_SOLD_OUT",
+                    "쿠폰이 모두 소진되었습니다. (쿠폰 ID: " + couponId + ", 총 수량: " + totalQuantity + ")"));
+        }
+    }
+
+    public void optionSoldOut(long optionId) {
+        if (!soldOutOptions.containsKey(optionId)) {
+            soldOutOptions.putIfAbsent(optionId, rejection(HttpStatus.BAD_REQUEST, "OUT_OF_STOCK",
+                    "재고가 부족합니다. (상품 옵션 ID: " + optionId + ", 재고: 0)"));
+        }
+    }
+
+    /**
+     * 스냅샷으로 쿠폰 수량을 교체하기 전에 호출한다. 이후 복구된 수량 기준으로 다시 표시된다.
+     */
+    public void clearCoupons() {
+        soldOutCoupons.clear();
+    }
+
+    /**
+     * 스냅샷으로 재고를 교체하기 전에 호출한다. 이후 복구된 재고 기준으로 다시 표시된다.
+     */
+    public void clearOptions() {
+        soldOutOptions.clear();
+    }
+
+    private ResponseEntity<byte[]> rejection(HttpStatus status, String code, String message) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(new ErrorResponse(code, message));
+            return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.hhplus.ecommerce.common.startup;
+
+import com.hhplus.ecommerce.EcommerceApplication;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.stereotype.Component;
+
+/**
+ * 지연 초기화(fast-startup 프로필)에서도 이 애플리케이션의 빈은 기동 시 미리 만든다.
+ * 복구(DurabilityManager), 읽기 모델 projector, @Scheduled 작업은 빈이 만들어져야 동작하고,
+ * 저장소/컨트롤러를 첫 요청 때 만들면 그 시간이 그대로 첫 응답 지연이 되기 때문이다.
+ * 따라서 지연 초기화는 springdoc(Swagger UI) 같은 부가 기능의 빈에만 적용된다.
+ */
+@Component
+public class EagerApplicationBeansFilter implements LazyInitializationExcludeFilter {
+
+    private static final String BASE_PACKAGE = EcommerceApplication.class.getPackageName() + ".";
+
+    @Override
+    public boolean isExcluded(String beanName, BeanDefinition beanDefinition, Class<?> beanType) {
+        return beanType != null && beanType.getName().startsWith(BASE_PACKAGE);
+    }
+}
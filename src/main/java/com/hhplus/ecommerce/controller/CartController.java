@@ -2,7 +2,10 @@ package com.hhplus.ecommerce.controller;
 
 import com.hhplus.ecommerce.cart.dto.CartAddRequestDto;
 import com.hhplus.ecommerce.cart.dto.CartItemResponseDto;
+import com.hhplus.ecommerce.cart.store.CartStore;
 import com.hhplus.ecommerce.common.dto.ErrorResponse;
+import com.hhplus.ecommerce.common.soldout.SoldOutRegistry;
+import com.hhplus.ecommerce.product.store.ProductStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,33 +17,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 
 @RestController
 @RequestMapping("/api/carts")
 @Tag(name = "Cart", description = "장바구니 관리 API")
 public class CartController {
 
-    // Mock 데이터 저장소
-    private static final AtomicLong CART_ID_GENERATOR = new AtomicLong(1);
-    private static final Map<Long, List<CartItemResponseDto>> USER_CARTS = new ConcurrentHashMap<>();
-
-    // 상품 옵션별 재고 (ProductController의 옵션 ID와 매칭)
-    private static final Map<Long, Integer> PRODUCT_OPTION_STOCKS = new HashMap<>() {{
-        put(1L, 50);  // RED, M
-        put(2L, 30);  // BLUE, L
-        put(3L, 0);   // BLACK, XL (품절)
-        put(4L, 15);  // 청바지 BLUE, 28
-        put(5L, 10);  // 청바지 BLUE, 30
-        put(12L, 25); // 조거팬츠 BLACK, M
-        put(13L, 20); // 조거팬츠 GRAY, L
-    }};
-
     // 상품 옵션 정보
     private static final Map<Long, CartItemResponseDto.ProductOption> PRODUCT_OPTIONS = new HashMap<>() {{
         put(1L, new CartItemResponseDto.ProductOption(1L, "RED", "M"));
@@ -52,12 +37,19 @@ public class CartController {
         put(13L, new CartItemResponseDto.ProductOption(13L, "GRAY", "L"));
     }};
 
-    static {
-        // 초기 Mock 데이터: userId 1번의 장바구니
-        USER_CARTS.put(1L, new ArrayList<>(List.of(
-                new CartItemResponseDto(1L, PRODUCT_OPTIONS.get(1L), 2),
-                new CartItemResponseDto(2L, PRODUCT_OPTIONS.get(2L), 1)
-        )));
+    // 장바구니 저장소
+    private final CartStore cartStore;
+
+    // 상품 저장소 (옵션별 재고)
+    private final ProductStore productStore;
+
+    // 품절된 옵션 목록 (미리 직렬화된 거절 응답)
+    private final SoldOutRegistry soldOutRegistry;
+
+    public CartController(CartStore cartStore, ProductStore productStore, SoldOutRegistry soldOutRegistry) {
+        this.cartStore = cartStore;
+        this.productStore = productStore;
+        this.soldOutRegistry = soldOutRegistry;
     }
 
     @Operation(
@@ -93,27 +85,26 @@ public class CartController {
                     .body(new ErrorResponse("PRODUCT_OPTION_NOT_FOUND", "상품 옵션을 찾을 수 없습니다. (ID: " + request.getProductOptionId() + ")"));
         }
 
-        // 실패 케이스 4: 재고 부족
-        Integer stock = PRODUCT_OPTION_STOCKS.get(request.getProductOptionId());
-        if (stock == null || stock < request.getQuantity()) {
+        // 실패 케이스 4: 품절된 옵션 (품절 후 대부분의 요청, 재고 확인 없이 미리 만든 응답으로 거절)
+        ResponseEntity<byte[]> soldOut = soldOutRegistry.optionRejection(request.getProductOptionId());
+        if (soldOut != null) {
+            return soldOut;
+        }
+
+        // 실패 케이스 5: 재고 부족
+        int stock = productStore.getStock(request.getProductOptionId());
+        if (stock < request.getQuantity()) {
             return ResponseEntity.badRequest()
                     .body(new ErrorResponse("OUT_OF_STOCK",
-                            "재고가 부족합니다. (요청 수량: " + request.getQuantity() + ", 재고: " + (stock != null ? stock : 0) + ")"));
+                            "재고가 부족합니다. (요청 수량: " + request.getQuantity() + ", 재고: " + stock + ")"));
         }
 
-        // 성공 케이스: 장바구니에 추가
-        Long cartItemId = CART_ID_GENERATOR.getAndIncrement();
-
-        // 사용자 장바구니가 없으면 생성
-        USER_CARTS.putIfAbsent(request.getUserId(), new ArrayList<>());
-
-        // 장바구니에 아이템 추가
-        CartItemResponseDto newItem = new CartItemResponseDto(
-                cartItemId,
+        // 성공 케이스: 장바구니에 추가 (사용자 장바구니가 없으면 생성)
+        Long cartItemId = cartStore.add(
+                request.getUserId(),
                 PRODUCT_OPTIONS.get(request.getProductOptionId()),
                 request.getQuantity()
         );
-        USER_CARTS.get(request.getUserId()).add(newItem);
 
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(Map.of("cartItemId", cartItemId));
@@ -141,7 +132,7 @@ public class CartController {
         }
 
         // 성공 케이스: 장바구니 조회 (빈 장바구니도 성공)
-        List<CartItemResponseDto> cartItems = USER_CARTS.getOrDefault(uid, new ArrayList<>());
+        List<CartItemResponseDto> cartItems = cartStore.find(uid);
         return ResponseEntity.ok(cartItems);
     }
 
@@ -159,15 +150,8 @@ public class CartController {
             @Parameter(description = "장바구니 항목 ID", example = "1", required = true)
             @PathVariable Long id) {
 
-        // 모든 사용자의 장바구니에서 해당 항목 찾기
-        boolean found = false;
-        for (List<CartItemResponseDto> cartItems : USER_CARTS.values()) {
-            boolean removed = cartItems.removeIf(item -> item.getCartItemId().equals(id));
-            if (removed) {
-                found = true;
-                break;
-            }
-        }
+        // 장바구니 항목 삭제 (항목 ID로 소유자를 바로 찾음)
+        boolean found = cartStore.remove(id);
 
         // 실패 케이스: 존재하지 않는 장바구니 항목
         if (!found) {
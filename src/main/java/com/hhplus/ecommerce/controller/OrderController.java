@@ -1,10 +1,23 @@
 package com.hhplus.ecommerce.controller;
 
+import com.hhplus.ecommerce.cart.dto.CartItemResponseDto;
+import com.hhplus.ecommerce.cart.store.CartStore;
+import com.hhplus.ecommerce.common.diagnostics.PaymentEvent;
 import com.hhplus.ecommerce.common.dto.ErrorResponse;
+import com.hhplus.ecommerce.coupon.store.CouponStore;
 import com.hhplus.ecommerce.order.dto.OrderCreateRequestDto;
+import com.hhplus.ecommerce.order.dto.OrderHistoryPageResponseDto;
 import com.hhplus.ecommerce.order.dto.OrderPayRequestDto;
 import com.hhplus.ecommerce.order.dto.OrderPayResponseDto;
 import com.hhplus.ecommerce.order.dto.OrderResponseDto;
+import com.hhplus.ecommerce.order.entity.OrderItem;
+import com.hhplus.ecommerce.order.store.MockOrder;
+import com.hhplus.ecommerce.order.store.OrderHistoryStore;
+import com.hhplus.ecommerce.order.store.OrderStore;
+import com.hhplus.ecommerce.payment.PaymentGateway;
+import com.hhplus.ecommerce.payment.PaymentResult;
+import com.hhplus.ecommerce.payment.PaymentSettlementExecutor;
+import com.hhplus.ecommerce.product.store.ProductStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,23 +25,25 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/orders")
 @Tag(name = "Order", description = "주문/결제 관리 API")
 public class OrderController {
 
-    // Mock 데이터 저장소
-    private static final AtomicLong ORDER_ID_GENERATOR = new AtomicLong(1001);
-    private static final Map<Long, MockOrder> ORDERS = new ConcurrentHashMap<>();
-
     // 쿠폰 정보 (쿠폰 ID -> 할인 금액)
     private static final Map<Long, Integer> COUPONS = new HashMap<>() {{
         put(1L, 5000);   // 5천원 할인
@@ -36,32 +51,43 @@ public class OrderController {
         put(3L, 3000);   // 3천원 할인
     }};
 
-    // 사용된 쿠폰 추적 (userId -> 사용한 쿠폰 ID 리스트)
-    private static final Map<Long, Set<Long>> USED_COUPONS = new ConcurrentHashMap<>();
+    // 결제 수단 (BANK_TRANSFER는 잔액 차감, 나머지는 결제 시스템 승인)
+    private static final List<String> VALID_PAYMENT_METHODS = List.of("CREDIT_CARD", "DEBIT_CARD", "BANK_TRANSFER", "MOBILE_PAY");
 
-    // 사용자 잔액 (userId -> 잔액)
-    private static final Map<Long, Integer> USER_BALANCE = new HashMap<>() {{
-        put(1L, 100000);  // 10만원
-        put(2L, 50000);   // 5만원
-        put(3L, 10000);   // 1만원 (부족)
-    }};
+    // Mock 상품 단가 (평균 가격 15,000원으로 가정)
+    private static final int MOCK_UNIT_PRICE = 15000;
 
-    // Mock Order 클래스
-    private static class MockOrder {
-        Long orderId;
-        Long userId;
-        String status; // CREATED, PAID, CANCELLED
-        Integer totalAmount;
-        Long appliedCouponId;
-        String paymentMethod;
+    // 주문 저장소 (주문, 사용된 쿠폰, 잔액)
+    private final OrderStore orderStore;
 
-        MockOrder(Long orderId, Long userId, String status, Integer totalAmount, Long appliedCouponId) {
-            this.orderId = orderId;
-            this.userId = userId;
-            this.status = status;
-            this.totalAmount = totalAmount;
-            this.appliedCouponId = appliedCouponId;
-        }
+    // 쿠폰 저장소 (쿠폰 사용 처리)
+    private final CouponStore couponStore;
+
+    // 장바구니 저장소 (주문 항목의 상품 옵션 확인)
+    private final CartStore cartStore;
+
+    // 상품 저장소 (재고 차감)
+    private final ProductStore productStore;
+
+    // 주문 내역 저장소 (DB)
+    private final OrderHistoryStore orderHistoryStore;
+
+    // 결제 시스템 (카드/간편결제 승인)
+    private final PaymentGateway paymentGateway;
+
+    // 승인 이후 반영 작업(DB, 로그 fsync)을 실행할 스레드 풀
+    private final PaymentSettlementExecutor settlementExecutor;
+
+    public OrderController(OrderStore orderStore, CouponStore couponStore, CartStore cartStore,
+                           ProductStore productStore, OrderHistoryStore orderHistoryStore, PaymentGateway paymentGateway,
+                           PaymentSettlementExecutor settlementExecutor) {
+        this.orderStore = orderStore;
+        this.couponStore = couponStore;
+        this.cartStore = cartStore;
+        this.productStore = productStore;
+        this.orderHistoryStore = orderHistoryStore;
+        this.paymentGateway = paymentGateway;
+        this.settlementExecutor = settlementExecutor;
     }
 
     @Operation(
@@ -71,11 +97,13 @@ public class OrderController {
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "주문 생성 성공",
                     content = @Content(schema = @Schema(implementation = OrderResponseDto.class))),
-            @ApiResponse(responseCode = "400", description = "잘못된 요청 (장바구니 비어있음, 쿠폰 오류 등)",
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 (장바구니 비어있음, 쿠폰 오류, 재고 부족 등)",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "쿠폰을 찾을 수 없음",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "409", description = "쿠폰 이미 사용됨",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "주문 내역 저장 실패 (재고와 쿠폰은 소모되지 않음)",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping
@@ -108,9 +136,8 @@ public class OrderController {
                                 "쿠폰을 찾을 수 없습니다. (ID: " + request.getCouponId() + ")"));
             }
 
-            // 실패 케이스 4: 이미 사용된 쿠폰
-            Set<Long> userUsedCoupons = USED_COUPONS.getOrDefault(request.getUserId(), new HashSet<>());
-            if (userUsedCoupons.contains(request.getCouponId())) {
+            // 실패 케이스 4: 이미 사용된 쿠폰 (확인과 동시에 선점해서, 같은 쿠폰으로 동시에 들어온 주문 중 하나만 통과)
+            if (!orderStore.reserveCoupon(request.getUserId(), request.getCouponId())) {
                 return ResponseEntity.status(409)
                         .body(new ErrorResponse("COUPON_ALREADY_USED",
                                 "이미 사용된 쿠폰입니다. (ID: " + request.getCouponId() + ")"));
@@ -118,93 +145,352 @@ public class OrderController {
 
             appliedCouponId = request.getCouponId();
             discountAmount = COUPONS.get(request.getCouponId());
+        }
 
-            // 쿠폰 사용 기록
-            USED_COUPONS.putIfAbsent(request.getUserId(), new HashSet<>());
-            USED_COUPONS.get(request.getUserId()).add(appliedCouponId);
+        // 장바구니 항목의 상품 옵션별 주문 수량 (장바구니에 없는 항목은 재고 확인 없이 Mock 가격만 적용)
+        List<Long> itemOptionIds = new ArrayList<>();
+        Map<Long, Integer> optionQuantities = new HashMap<>();
+        for (OrderCreateRequestDto.CartItemInfo item : request.getCartItems()) {
+            CartItemResponseDto cartItem = cartStore.findItem(item.getCartItemId());
+            Long optionId = cartItem != null ? cartItem.getProductOption().getId() : null;
+            itemOptionIds.add(optionId);
+            if (optionId != null) {
+                optionQuantities.merge(optionId, item.getQuantity(), Integer::sum);
+            }
         }
 
-        // 성공 케이스: 주문 생성
-        Long orderId = ORDER_ID_GENERATOR.getAndIncrement();
+        // 실패 케이스 5: 재고 부족 (잠금 없이 먼저 확인해 품절 상품 주문은 DB를 거치지 않고 거절)
+        Long outOfStockOptionId = productStore.findOutOfStock(optionQuantities);
+        if (outOfStockOptionId != null) {
+            releaseCoupon(request.getUserId(), appliedCouponId);
+            return outOfStock(outOfStockOptionId, optionQuantities);
+        }
 
         // Mock 주문 금액 계산 (실제로는 상품 가격 * 수량)
         int totalAmount = request.getCartItems().stream()
-                .mapToInt(item -> item.getQuantity() * 15000) // 평균 가격 15,000원으로 가정
+                .mapToInt(item -> item.getQuantity() * MOCK_UNIT_PRICE)
                 .sum();
         totalAmount = Math.max(0, totalAmount - discountAmount); // 할인 적용
 
-        MockOrder order = new MockOrder(orderId, request.getUserId(), "CREATED", totalAmount, appliedCouponId);
-        ORDERS.put(orderId, order);
+        MockOrder order;
+        try {
+            order = orderStore.prepare(request.getUserId(), totalAmount, appliedCouponId);
+        } catch (RuntimeException e) {
+            releaseCoupon(request.getUserId(), appliedCouponId);
+            throw e;
+        }
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < request.getCartItems().size(); i++) {
+            items.add(new OrderItem(order.getOrderId(), itemOptionIds.get(i),
+                    request.getCartItems().get(i).getQuantity(), MOCK_UNIT_PRICE));
+        }
+
+        // 실패 케이스 6: 주문 내역 저장 실패
+        // 재고/쿠폰보다 먼저 저장해서, 실패하면 아무것도 소모하지 않은 채 끝남 (다른 주문들과 묶여 커밋될 때까지 대기)
+        try {
+            orderHistoryStore.record(order, items).join();
+        } catch (RuntimeException e) {
+            log.error("주문 내역을 저장하지 못했습니다. (주문 ID: {})", order.getOrderId(), e);
+            releaseCoupon(request.getUserId(), appliedCouponId);
+            return ResponseEntity.internalServerError()
+                    .body(new ErrorResponse("ORDER_SAVE_FAILED", "주문을 저장하지 못했습니다. 다시 시도해 주세요."));
+        }
+
+        // 실패 케이스 7: 재고 부족 (확인 이후 다른 주문이 먼저 차감한 경우, 모든 옵션의 재고를 한꺼번에 차감)
+        try {
+            outOfStockOptionId = productStore.sell(optionQuantities);
+        } catch (RuntimeException e) {
+            discardHistory(order.getOrderId());
+            releaseCoupon(request.getUserId(), appliedCouponId);
+            throw e;
+        }
+        if (outOfStockOptionId != null) {
+            discardHistory(order.getOrderId());
+            releaseCoupon(request.getUserId(), appliedCouponId);
+            return outOfStock(outOfStockOptionId, optionQuantities);
+        }
+
+        // 성공 케이스: 주문 저장 (쿠폰 사용 기록 포함)
+        orderStore.save(order);
+        if (appliedCouponId != null) {
+            couponStore.markUsed(request.getUserId(), appliedCouponId);
+        }
 
-        OrderResponseDto response = new OrderResponseDto(orderId, "CREATED", appliedCouponId);
+        OrderResponseDto response = new OrderResponseDto(order.getOrderId(), "CREATED", appliedCouponId);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    private ResponseEntity<?> outOfStock(Long optionId, Map<Long, Integer> optionQuantities) {
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse("OUT_OF_STOCK",
+                        "재고가 부족합니다. (상품 옵션 ID: " + optionId +
+                                ", 요청 수량: " + optionQuantities.get(optionId) +
+                                ", 재고: " + productStore.getStock(optionId) + ")"));
+    }
+
+    // 주문을 만들지 못했으면 선점한 쿠폰을 다시 쓸 수 있게 되돌림
+    private void releaseCoupon(Long userId, Long couponId) {
+        if (couponId != null) {
+            orderStore.releaseCoupon(userId, couponId);
+        }
+    }
+
+    private void discardHistory(Long orderId) {
+        try {
+            orderHistoryStore.discard(orderId);
+        } catch (RuntimeException e) {
+            log.error("생성하지 못한 주문의 내역을 지우지 못했습니다. 대사가 필요합니다. (주문 ID: {})", orderId, e);
+        }
+    }
+
     @Operation(
             summary = "주문 결제",
-            description = "생성된 주문을 결제 처리합니다. 잔액 확인 및 결제 수단 검증을 수행합니다."
+            description = "생성된 주문을 결제 처리합니다. BANK_TRANSFER는 잔액에서 차감하고, 그 외 결제 수단은 결제 시스템의 승인을 받습니다. " +
+                    "결제가 거절되거나 시간 초과되면 주문은 다시 결제할 수 있는 CREATED 상태로 돌아갑니다."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "결제 성공",
                     content = @Content(schema = @Schema(implementation = OrderPayResponseDto.class))),
             @ApiResponse(responseCode = "400", description = "잘못된 요청 (잘못된 결제 수단, 잔액 부족 등)",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "402", description = "결제 시스템이 결제를 거절함",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "주문을 찾을 수 없음",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-            @ApiResponse(responseCode = "409", description = "이미 결제된 주문",
+            @ApiResponse(responseCode = "409", description = "이미 결제되었거나 결제가 진행 중인 주문",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "결제 반영 중 오류 (주문은 다시 결제할 수 있는 상태로 돌아감)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "결제 요청이 많거나(승인 후 반영 대기열이 가득 찬 경우 포함) 결제 시스템 장애로 처리하지 못함",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "504", description = "결제 시스템 응답 시간 초과",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/{id}")
-    public ResponseEntity<?> payOrder(
+    public CompletableFuture<ResponseEntity<?>> payOrder(
             @Parameter(description = "주문 ID", example = "1001", required = true)
             @PathVariable Long id,
             @RequestBody OrderPayRequestDto request) {
 
+        // JFR 이벤트: 결제 처리 시간(결제 시스템 응답 대기 포함)과 결과 코드 (녹화 중이 아니면 기록하지 않음)
+        PaymentEvent event = new PaymentEvent();
+        event.begin();
+        return pay(id, request).whenComplete((response, error) ->
+                event.commit(id, request.getPaymentMethod(), outcome(response)));
+    }
+
+    // 결제 시스템 응답을 기다리는 동안 요청 스레드를 붙잡지 않도록 결과를 CompletableFuture로 반환
+    private CompletableFuture<ResponseEntity<?>> pay(Long id, OrderPayRequestDto request) {
+
         // 실패 케이스 1: 존재하지 않는 주문
-        MockOrder order = ORDERS.get(id);
+        MockOrder order = orderStore.find(id);
         if (order == null) {
-            return ResponseEntity.status(404)
-                    .body(new ErrorResponse("ORDER_NOT_FOUND", "주문을 찾을 수 없습니다. (ID: " + id + ")"));
+            return completed(ResponseEntity.status(404)
+                    .body(new ErrorResponse("ORDER_NOT_FOUND", "주문을 찾을 수 없습니다. (ID: " + id + ")")));
         }
 
         // 실패 케이스 2: 이미 결제된 주문
-        if ("PAID".equals(order.status)) {
-            return ResponseEntity.status(409)
-                    .body(new ErrorResponse("ORDER_ALREADY_PAID", "이미 결제된 주문입니다. (ID: " + id + ")"));
+        if ("PAID".equals(order.getStatus())) {
+            return completed(ResponseEntity.status(409)
+                    .body(new ErrorResponse("ORDER_ALREADY_PAID", "이미 결제된 주문입니다. (ID: " + id + ")")));
         }
 
         // 실패 케이스 3: 취소된 주문
-        if ("CANCELLED".equals(order.status)) {
-            return ResponseEntity.badRequest()
-                    .body(new ErrorResponse("ORDER_CANCELLED", "취소된 주문입니다. (ID: " + id + ")"));
+        if ("CANCELLED".equals(order.getStatus())) {
+            return completed(ResponseEntity.badRequest()
+                    .body(new ErrorResponse("ORDER_CANCELLED", "취소된 주문입니다. (ID: " + id + ")")));
         }
 
         // 실패 케이스 4: 잘못된 결제 수단
-        List<String> validPaymentMethods = List.of("CREDIT_CARD", "DEBIT_CARD", "BANK_TRANSFER", "MOBILE_PAY");
-        if (request.getPaymentMethod() == null || !validPaymentMethods.contains(request.getPaymentMethod())) {
-            return ResponseEntity.badRequest()
+        String paymentMethod = request.getPaymentMethod();
+        if (!"BANK_TRANSFER".equals(paymentMethod) && !paymentGateway.supports(paymentMethod)) {
+            return completed(ResponseEntity.badRequest()
                     .body(new ErrorResponse("INVALID_PAYMENT_METHOD",
-                            "지원하지 않는 결제 수단입니다. (입력값: " + request.getPaymentMethod() +
-                                    ", 지원: " + String.join(", ", validPaymentMethods) + ")"));
+                            "지원하지 않는 결제 수단입니다. (입력값: " + paymentMethod +
+                                    ", 지원: " + String.join(", ", VALID_PAYMENT_METHODS) + ")")));
         }
 
-        // 실패 케이스 5: 잔액 부족 (BANK_TRANSFER의 경우에만 체크)
-        if ("BANK_TRANSFER".equals(request.getPaymentMethod())) {
-            Integer balance = USER_BALANCE.getOrDefault(order.userId, 0);
-            if (balance < order.totalAmount) {
-                return ResponseEntity.badRequest()
-                        .body(new ErrorResponse("INSUFFICIENT_BALANCE",
-                                "잔액이 부족합니다. (필요 금액: " + order.totalAmount + "원, 잔액: " + balance + "원)"));
+        // 실패 케이스 5: 같은 주문의 결제가 진행 중 (동시에 들어온 결제 요청 중 하나만 진행)
+        if (!orderStore.startPayment(order)) {
+            return completed(ResponseEntity.status(409)
+                    .body(new ErrorResponse("PAYMENT_IN_PROGRESS", "결제가 진행 중인 주문입니다. (ID: " + id + ")")));
+        }
+
+        // 실패 케이스 6: 잔액 부족 (BANK_TRANSFER는 결제 시스템 없이 잔액에서 차감)
+        if ("BANK_TRANSFER".equals(paymentMethod)) {
+            if (orderStore.getBalance(order.getUserId()) < order.getTotalAmount()) {
+                orderStore.cancelPayment(order);
+                return completed(insufficientBalance(order));
+            }
+            return completed(settle(order, paymentMethod, null));
+        }
+
+        // 결제 시스템 승인 요청
+        CompletableFuture<PaymentResult> approval;
+        try {
+            approval = paymentGateway.approve(order.getOrderId(), order.getTotalAmount(), paymentMethod);
+        } catch (RuntimeException e) {
+            approval = CompletableFuture.failedFuture(e);
+        }
+        return approval.handle((result, error) -> {
+            // 실패 케이스 7: 결제 시스템 호출 중 오류
+            if (error != null) {
+                return completed(paymentError(order, paymentMethod, null, error));
+            }
+            // 실패 케이스 8: 거절 / 시간 초과 / 결제 시스템 장애 -> 다시 결제할 수 있도록 CREATED로 되돌림
+            if (!result.isApproved()) {
+                orderStore.cancelPayment(order);
+                return completed(paymentFailed(id, result));
+            }
+            return settleAsync(order, paymentMethod, result);
+        }).thenCompose(Function.identity());
+    }
+
+    // 승인 반영은 결제 시스템 응답 스레드가 아닌 전용 스레드에서 (DB 갱신, 로그 fsync가 블로킹)
+    private CompletableFuture<ResponseEntity<?>> settleAsync(MockOrder order, String paymentMethod, PaymentResult approval) {
+        try {
+            return CompletableFuture.supplyAsync(() -> settle(order, paymentMethod, approval), settlementExecutor);
+        } catch (RejectedExecutionException e) {
+            // 실패 케이스 9: 반영 대기열이 가득 참 -> 다시 결제할 수 있도록 CREATED로 되돌리고 승인 취소 대상으로 남김
+            orderStore.cancelPayment(order);
+            log.error("결제 반영 대기열이 가득 차 승인된 결제를 반영하지 못했습니다. 결제 시스템에서 승인 취소가 필요합니다. (주문 ID: {}, 결제 수단: {}, 승인 번호: {})",
+                    order.getOrderId(), paymentMethod, approval.getTransactionId());
+            return completed(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ErrorResponse("PAYMENT_BUSY",
+                            "결제 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요. (주문 ID: " + order.getOrderId() + ")")));
+        }
+    }
+
+    /**
+     * 결제 완료를 반영한다. 조회용 DB를 먼저 바꾸고 인메모리 주문(과 잔액)을 바꾸며,
+     * 어느 단계에서 실패하든 앞 단계를 되돌리고 주문을 CREATED로 돌린다.
+     * approval은 결제 시스템 승인 결과 (BANK_TRANSFER면 null).
+     */
+    private ResponseEntity<?> settle(MockOrder order, String paymentMethod, PaymentResult approval) {
+        Long id = order.getOrderId();
+        try {
+            orderHistoryStore.markPaid(id, paymentMethod);
+        } catch (RuntimeException e) {
+            return paymentError(order, paymentMethod, approval, e);
+        }
+
+        boolean paid = true;
+        try {
+            if (approval == null) {
+                paid = orderStore.payWithBalance(order, paymentMethod);
+            } else {
+                orderStore.markPaid(order, paymentMethod);
             }
-            // 잔액 차감
-            USER_BALANCE.put(order.userId, balance - order.totalAmount);
+        } catch (RuntimeException e) {
+            revertHistory(id);
+            return paymentError(order, paymentMethod, approval, e);
+        }
+
+        // 잔액 부족 (BANK_TRANSFER, 확인 후 차감 전에 다른 결제로 잔액이 줄어든 경우)
+        if (!paid) {
+            revertHistory(id);
+            orderStore.cancelPayment(order);
+            return insufficientBalance(order);
         }
 
         // 성공 케이스: 결제 처리
-        order.status = "PAID";
-        order.paymentMethod = request.getPaymentMethod();
+        return ResponseEntity.ok(new OrderPayResponseDto(id, "PAID"));
+    }
+
+    private void revertHistory(Long id) {
+        try {
+            orderHistoryStore.markUnpaid(id);
+        } catch (RuntimeException e) {
+            log.error("주문 내역 결제 상태를 되돌리지 못했습니다. 대사가 필요합니다. (주문 ID: {})", id, e);
+        }
+    }
+
+    // 결제 처리 중 예외: 주문을 다시 결제할 수 있게 돌리고, 결제 시스템에서 승인된 건이면 취소(환불) 대상으로 남김
+    private ResponseEntity<?> paymentError(MockOrder order, String paymentMethod, PaymentResult approval, Throwable error) {
+        orderStore.cancelPayment(order);
+        if (approval != null) {
+            log.error("결제 승인 후 주문 반영에 실패했습니다. 결제 시스템에서 승인 취소가 필요합니다. (주문 ID: {}, 결제 수단: {}, 승인 번호: {})",
+                    order.getOrderId(), paymentMethod, approval.getTransactionId(), error);
+        } else {
+            log.error("결제 처리 중 오류가 발생했습니다. (주문 ID: {}, 결제 수단: {})", order.getOrderId(), paymentMethod, error);
+        }
+        return ResponseEntity.internalServerError()
+                .body(new ErrorResponse("PAYMENT_ERROR", "결제 처리 중 오류가 발생했습니다. 다시 시도해 주세요. (주문 ID: " + order.getOrderId() + ")"));
+    }
+
+    private ResponseEntity<?> insufficientBalance(MockOrder order) {
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse("INSUFFICIENT_BALANCE",
+                        "잔액이 부족합니다. (필요 금액: " + order.getTotalAmount() + "원, 잔액: " + orderStore.getBalance(order.getUserId()) + "원)"));
+    }
+
+    private static ResponseEntity<?> paymentFailed(Long id, PaymentResult result) {
+        String message = result.getMessage() + " (주문 ID: " + id + ")";
+        return switch (result.getStatus()) {
+            case DECLINED -> ResponseEntity.status(HttpStatus.PAYMENT_REQUIRED)
+                    .body(new ErrorResponse("PAYMENT_DECLINED", message));
+            case TIMEOUT -> ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                    .body(new ErrorResponse("PAYMENT_TIMEOUT", message));
+            case BUSY -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ErrorResponse("PAYMENT_BUSY", message));
+            default -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ErrorResponse("PAYMENT_UNAVAILABLE", message));
+        };
+    }
+
+    private static CompletableFuture<ResponseEntity<?>> completed(ResponseEntity<?> response) {
+        return CompletableFuture.completedFuture(response);
+    }
+
+    private static String outcome(ResponseEntity<?> response) {
+        if (response == null) {
+            return "ERROR";
+        }
+        return response.getBody() instanceof ErrorResponse error ? error.getCode() : "PAID";
+    }
+
+    @Operation(
+            summary = "주문 내역 조회",
+            description = "사용자의 주문 내역을 최신순으로 조회합니다. 응답의 nextCursor를 cursor로 넘기면 다음 페이지를 조회합니다."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공",
+                    content = @Content(schema = @Schema(implementation = OrderHistoryPageResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 파라미터 (상태, 조회 개수, 커서)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping
+    public ResponseEntity<?> getOrders(
+            @Parameter(description = "사용자 ID", example = "1", required = true)
+            @RequestParam Long uid,
+            @Parameter(description = "주문 상태 필터 (CREATED, PAID, CANCELLED)", example = "PAID")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "다음 페이지 커서 (직전 응답의 nextCursor)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "조회 개수", example = "20")
+            @RequestParam(defaultValue = "20") Integer size) {
+
+        // 실패 케이스 1: 잘못된 상태
+        List<String> validStatuses = List.of("CREATED", "PAID", "CANCELLED");
+        if (status != null && !validStatuses.contains(status)) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("INVALID_STATUS",
+                            "지원하지 않는 주문 상태입니다. (입력값: " + status + ", 지원: " + String.join(", ", validStatuses) + ")"));
+        }
 
-        OrderPayResponseDto response = new OrderPayResponseDto(id, "PAID");
-        return ResponseEntity.ok(response);
+        // 실패 케이스 2: 잘못된 조회 개수
+        if (size <= 0 || size > 100) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("INVALID_SIZE", "조회 개수는 1~100 사이여야 합니다. (입력값: " + size + ")"));
+        }
+
+        // 성공 케이스: 커서 이후 size개 조회
+        try {
+            return ResponseEntity.ok(orderHistoryStore.findPage(uid, status, cursor, size));
+        } catch (IllegalArgumentException e) {
+            // 실패 케이스 3: 잘못된 커서
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("INVALID_CURSOR", "잘못된 커서입니다. (입력값: " + cursor + ")"));
+        }
     }
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import com.hhplus.ecommerce.common.dto.ErrorResponse;
 import com.hhplus.ecommerce.product.dto.ProductDetailResponseDto;
 import com.hhplus.ecommerce.product.dto.ProductListResponseDto;
 import com.hhplus.ecommerce.product.dto.ProductPopularResponseDto;
+import com.hhplus.ecommerce.product.query.ProductReadModel;
+import com.hhplus.ecommerce.product.stream.StockStreamHub;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,93 +13,32 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
-import java.util.HashMap;
+import java.io.IOException;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/products")
 @Tag(name = "Product", description = "상품 관리 API")
 public class ProductController {
 
-    // Mock 데이터 저장소 - 상품 목록
-    private static final List<ProductListResponseDto> MOCK_PRODUCTS = List.of(
-            new ProductListResponseDto(1L, "기본 티셔츠", 29000, "ACTIVE", 50),
-            new ProductListResponseDto(2L, "청바지", 59000, "ACTIVE", 30),
-            new ProductListResponseDto(3L, "후드티", 45000, "ACTIVE", 20),
-            new ProductListResponseDto(4L, "맨투맨", 39000, "ACTIVE", 15),
-            new ProductListResponseDto(5L, "조거팬츠", 35000, "ACTIVE", 25),
-            new ProductListResponseDto(999L, "품절 상품", 10000, "SOLD_OUT", 0)
-    );
-
-    // Mock 데이터 저장소 - 상품 상세 (ID별)
-    private static final Map<Long, ProductDetailResponseDto> MOCK_PRODUCT_DETAILS = new HashMap<>() {{
-        put(1L, new ProductDetailResponseDto(1L, "기본 티셔츠", 29000, "ACTIVE", List.of(
-                new ProductDetailResponseDto.ProductOptionDto(1L, "RED", "M", 50),
-                new ProductDetailResponseDto.ProductOptionDto(2L, "BLUE", "L", 30),
-                new ProductDetailResponseDto.ProductOptionDto(3L, "BLACK", "XL", 0)
-        )));
-        put(2L, new ProductDetailResponseDto(2L, "청바지", 59000, "ACTIVE", List.of(
-                new ProductDetailResponseDto.ProductOptionDto(4L, "BLUE", "28", 15),
-                new ProductDetailResponseDto.ProductOptionDto(5L, "BLUE", "30", 10),
-                new ProductDetailResponseDto.ProductOptionDto(6L, "BLACK", "32", 5)
-        )));
-        put(3L, new ProductDetailResponseDto(3L, "후드티", 45000, "ACTIVE", List.of(
-                new ProductDetailResponseDto.ProductOptionDto(7L, "GRAY", "M", 20),
-                new ProductDetailResponseDto.ProductOptionDto(8L, "NAVY", "L", 15),
-                new ProductDetailResponseDto.ProductOptionDto(9L, "BLACK", "XL", 10)
-        )));
-        put(4L, new ProductDetailResponseDto(4L, "맨투맨", 39000, "ACTIVE", List.of(
-                new ProductDetailResponseDto.ProductOptionDto(10L, "WHITE", "M", 8),
-                new ProductDetailResponseDto.ProductOptionDto(11L, "BEIGE", "L", 7)
-        )));
-        put(5L, new ProductDetailResponseDto(5L, "조거팬츠", 35000, "ACTIVE", List.of(
-                new ProductDetailResponseDto.ProductOptionDto(12L, "BLACK", "M", 25),
-                new ProductDetailResponseDto.ProductOptionDto(13L, "GRAY", "L", 20)
-        )));
-        put(999L, new ProductDetailResponseDto(999L, "품절 상품", 10000, "SOLD_OUT", List.of(
-                new ProductDetailResponseDto.ProductOptionDto(14L, "RED", "M", 0)
-        )));
-    }};
-
-    // Mock 데이터 저장소 - 날짜별 인기 상품 순위
-    private static final Map<Integer, List<ProductPopularResponseDto>> MOCK_POPULAR_BY_DAYS = new HashMap<>() {{
-        // 최근 1일 인기 상품 (신상품이 인기)
-        put(1, List.of(
-                new ProductPopularResponseDto(5L, "조거팬츠", 85),
-                new ProductPopularResponseDto(3L, "후드티", 72),
-                new ProductPopularResponseDto(1L, "기본 티셔츠", 65),
-                new ProductPopularResponseDto(4L, "맨투맨", 48),
-                new ProductPopularResponseDto(2L, "청바지", 35)
-        ));
-        // 최근 3일 인기 상품 (기본 상품이 누적으로 많음)
-        put(3, List.of(
-                new ProductPopularResponseDto(1L, "기본 티셔츠", 120),
-                new ProductPopularResponseDto(2L, "청바지", 98),
-                new ProductPopularResponseDto(3L, "후드티", 85),
-                new ProductPopularResponseDto(4L, "맨투맨", 72),
-                new ProductPopularResponseDto(5L, "조거팬츠", 65)
-        ));
-        // 최근 7일 인기 상품 (장기적으로는 청바지가 1위)
-        put(7, List.of(
-                new ProductPopularResponseDto(2L, "청바지", 245),
-                new ProductPopularResponseDto(1L, "기본 티셔츠", 230),
-                new ProductPopularResponseDto(3L, "후드티", 165),
-                new ProductPopularResponseDto(5L, "조거팬츠", 142),
-                new ProductPopularResponseDto(4L, "맨투맨", 128)
-        ));
-        // 최근 30일 인기 상품 (한 달 누적)
-        put(30, List.of(
-                new ProductPopularResponseDto(1L, "기본 티셔츠", 980),
-                new ProductPopularResponseDto(2L, "청바지", 856),
-                new ProductPopularResponseDto(3L, "후드티", 723),
-                new ProductPopularResponseDto(5L, "조거팬츠", 645),
-                new ProductPopularResponseDto(4L, "맨투맨", 512)
-        ));
-    }};
+    // 조회 응답에 읽기 모델의 반영 지연(ms)을 담는 헤더
+    private static final String LAG_HEADER = "X-Read-Model-Lag-Ms";
+
+    // 상품 읽기 모델 (주문/재고 변경이 비동기로 반영됨)
+    private final ProductReadModel productReadModel;
+    // 재고 실시간 구독 (SSE)
+    private final StockStreamHub stockStreamHub;
+
+    public ProductController(ProductReadModel productReadModel, StockStreamHub stockStreamHub) {
+        this.productReadModel = productReadModel;
+        this.stockStreamHub = stockStreamHub;
+    }
 
     @Operation(summary = "상품 목록 조회", description = "판매 중인 모든 상품 목록을 조회합니다.")
     @ApiResponses({
@@ -106,7 +47,94 @@ public class ProductController {
     })
     @GetMapping
     public ResponseEntity<List<ProductListResponseDto>> getProducts() {
-        return ResponseEntity.ok(MOCK_PRODUCTS);
+        return ok().body(productReadModel.getProducts());
+    }
+
+    @Operation(
+            summary = "상품 검색",
+            description = "상품명(한글/영문)과 옵션의 색상, 사이즈, 상품 상태로 검색합니다. 지정한 조건을 모두 만족하는 상품을 반환합니다."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "검색 성공",
+                    content = @Content(schema = @Schema(implementation = ProductListResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 파라미터",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/search")
+    public ResponseEntity<?> searchProducts(
+            @Parameter(description = "상품명 검색어", example = "티셔츠")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "옵션 색상", example = "BLACK")
+            @RequestParam(required = false) String color,
+            @Parameter(description = "옵션 사이즈", example = "M")
+            @RequestParam(required = false) String size,
+            @Parameter(description = "상품 상태", schema = @Schema(allowableValues = {"ACTIVE", "SOLD_OUT"}))
+            @RequestParam(required = false) String status,
+            @Parameter(description = "조회 개수", example = "20")
+            @RequestParam(defaultValue = "20") Integer limit) {
+
+        // 실패 케이스 1: 검색 조건이 하나도 없음
+        if (isBlank(q) && isBlank(color) && isBlank(size) && isBlank(status)) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("EMPTY_SEARCH", "검색어 또는 색상/사이즈/상태 중 하나 이상을 지정해야 합니다."));
+        }
+
+        // 실패 케이스 2: 잘못된 상태 값
+        if (!isBlank(status) && !List.of("ACTIVE", "SOLD_OUT").contains(status)) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("INVALID_STATUS", "잘못된 상태 값입니다. (입력값: " + status + ", 허용값: ACTIVE, SOLD_OUT)"));
+        }
+
+        // 실패 케이스 3: 잘못된 조회 개수
+        if (limit <= 0 || limit > 100) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("INVALID_LIMIT", "조회 개수는 1~100 사이여야 합니다. (입력값: " + limit + ")"));
+        }
+
+        // 성공 케이스: 역색인으로 검색 (결과가 없으면 빈 목록)
+        return ok().body(productReadModel.search(q, color, size, status, limit));
+    }
+
+    @Operation(
+            summary = "재고 실시간 구독",
+            description = "옵션 ID들의 재고를 SSE(text/event-stream)로 구독합니다. 연결 직후 현재 재고를 보내고, " +
+                    "이후에는 재고가 바뀐 옵션만 최대 200ms마다 최신 값 하나로 묶어 보냅니다. (event: stock, data: {optionId, stock})"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "구독 성공",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+            @ApiResponse(responseCode = "400", description = "잘못된 옵션 ID 목록",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "상품 옵션을 찾을 수 없음",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/stock-stream")
+    public ResponseEntity<ResponseBodyEmitter> streamStock(
+            @Parameter(description = "구독할 상품 옵션 ID 목록 (최대 50개)", example = "1,2")
+            @RequestParam List<Long> optionIds) {
+
+        long[] ids = optionIds.stream().filter(id -> id != null).mapToLong(Long::longValue).distinct().toArray();
+
+        // 실패 케이스 1: 옵션 ID가 없거나 너무 많음
+        if (ids.length == 0 || ids.length > 50) {
+            return error(HttpStatus.BAD_REQUEST,
+                    new ErrorResponse("INVALID_OPTION_IDS", "구독할 옵션 ID는 1~50개여야 합니다. (입력 개수: " + ids.length + ")"));
+        }
+
+        // 실패 케이스 2: 존재하지 않는 옵션
+        for (long id : ids) {
+            if (!stockStreamHub.isKnownOption(id)) {
+                return error(HttpStatus.NOT_FOUND,
+                        new ErrorResponse("PRODUCT_OPTION_NOT_FOUND", "상품 옵션을 찾을 수 없습니다. (ID: " + id + ")"));
+            }
+        }
+
+        // 성공 케이스: 프록시가 이벤트를 모아 두지 않도록 버퍼링을 끔
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .header("Cache-Control", "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(stockStreamHub.subscribe(ids));
     }
 
     @Operation(summary = "상품 상세 조회", description = "상품 ID로 상세 정보를 조회합니다. 색상, 사이즈, 재고 등의 옵션 정보를 포함합니다.")
@@ -121,8 +149,8 @@ public class ProductController {
             @Parameter(description = "상품 ID", example = "1", required = true)
             @PathVariable Long id) {
 
-        // Mock 데이터에서 상품 찾기
-        ProductDetailResponseDto product = MOCK_PRODUCT_DETAILS.get(id);
+        // 읽기 모델에서 상품 찾기
+        ProductDetailResponseDto product = productReadModel.getProduct(id);
 
         // 실패 케이스: 존재하지 않는 상품
         if (product == null) {
@@ -131,7 +159,7 @@ public class ProductController {
         }
 
         // 성공 케이스
-        return ResponseEntity.ok(product);
+        return ok().body(product);
     }
 
     @Operation(
@@ -163,16 +191,16 @@ public class ProductController {
                     .body(new ErrorResponse("INVALID_LIMIT", "조회 개수는 1~100 사이여야 합니다. (입력값: " + limit + ")"));
         }
 
-        // 성공 케이스: days에 가장 가까운 Mock 데이터 찾기
+        // 성공 케이스: days에 가장 가까운 집계 기간 찾기
         List<ProductPopularResponseDto> popularProducts;
         if (days <= 2) {
-            popularProducts = MOCK_POPULAR_BY_DAYS.get(1);
+            popularProducts = productReadModel.getPopular(1);
         } else if (days <= 5) {
-            popularProducts = MOCK_POPULAR_BY_DAYS.get(3);
+            popularProducts = productReadModel.getPopular(3);
         } else if (days <= 15) {
-            popularProducts = MOCK_POPULAR_BY_DAYS.get(7);
+            popularProducts = productReadModel.getPopular(7);
         } else {
-            popularProducts = MOCK_POPULAR_BY_DAYS.get(30);
+            popularProducts = productReadModel.getPopular(30);
         }
 
         // limit만큼만 반환
@@ -180,6 +208,26 @@ public class ProductController {
                 .limit(limit)
                 .toList();
 
-        return ResponseEntity.ok(result);
+        return ok().body(result);
+    }
+
+    // 스트림 응답 타입을 유지한 채 에러 본문(JSON) 하나를 보내고 바로 닫음
+    private static ResponseEntity<ResponseBodyEmitter> error(HttpStatus status, ErrorResponse body) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        try {
+            emitter.send(body, MediaType.APPLICATION_JSON);
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(emitter);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private ResponseEntity.BodyBuilder ok() {
+        return ResponseEntity.ok().header(LAG_HEADER, String.valueOf(productReadModel.getLagMillis()));
     }
 }
@@ -0,0 +1,18 @@
+package com.hhplus.ecommerce.coupon.store;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 쿠폰 정보
+@Getter
+@AllArgsConstructor
+public class CouponInfo {
+    private Long couponId;
+    private String name;
+    private Integer discountAmount;
+    private Integer totalQuantity;
+    private AtomicInteger remainingQuantity;
+    private String validUntil;
+}
@@ -0,0 +1,251 @@
+package com.hhplus.ecommerce.coupon.store;
+
+import com.hhplus.ecommerce.common.diagnostics.CouponIssueEvent;
+import com.hhplus.ecommerce.common.persistence.DurableStore;
+import com.hhplus.ecommerce.common.persistence.Journal;
+import com.hhplus.ecommerce.common.quota.ClusterQuota;
+import com.hhplus.ecommerce.common.soldout.SoldOutRegistry;
+import com.hhplus.ecommerce.coupon.dto.MyCouponResponseDto;
+import com.hhplus.ecommerce.coupon.view.MyCouponView;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 쿠폰 저장소 (인메모리 + WAL).
+ * 쿠폰 잔여 수량과 사용자 쿠폰을 관리하며, 사용자 쿠폰의 변경은 MyCouponView에 바로 반영한다.
+ */
+@Component
+public class CouponStore implements DurableStore {
+
+    private static final byte STORE_ID = 2;
+    private static final byte ISSUE = 1;
+    private static final byte USE = 2;
+    private static final byte EXPIRE = 3;
+
+    private final Journal journal;
+    private final MyCouponView myCouponView;
+    private final ClusterQuota clusterQuota;
+    private final SoldOutRegistry soldOutRegistry;
+
+    private final AtomicLong userCouponIdGenerator = new AtomicLong(1);
+
+    // 쿠폰 정보 (couponId -> CouponInfo)
+    private final Map<Long, CouponInfo> coupons = new ConcurrentHashMap<>() {{
+        put(1L, new CouponInfo(1L, "신규가입 5천원 할인", 5000, 100, new AtomicInteger(100), "2025-12-31"));
+        put(2L, new CouponInfo(2L, "첫 구매 1만원 할인", 10000, 50, new AtomicInteger(50), "2025-12-31"));
+        put(3L, new CouponInfo(3L, "VIP 3천원 할인", 3000, 10, new AtomicInteger(2), "2025-11-30")); // 거의 소진
+        put(4L, new CouponInfo(4L, "블랙프라이데이 2만원 할인", 20000, 200, new AtomicInteger(0), "2025-11-30")); // 완전 소진
+    }};
+
+    public CouponStore(Journal journal, MyCouponView myCouponView, ClusterQuota clusterQuota, SoldOutRegistry soldOutRegistry) {
+        this.journal = journal;
+        this.myCouponView = myCouponView;
+        this.clusterQuota = clusterQuota;
+        this.soldOutRegistry = soldOutRegistry;
+
+        // 여러 서버로 운영할 때 나눠 쓸 발급 수량
+        for (CouponInfo coupon : coupons.values()) {
+            clusterQuota.register(quotaKey(coupon.getCouponId()), coupon.getRemainingQuantity().get());
+            markIfSoldOut(coupon);
+        }
+
+        // 초기 Mock 데이터: userId 1번의 쿠폰 (복구할 스냅샷이 있으면 교체됨)
+        register(1L, 1L, 1L, MyCouponView.AVAILABLE);
+        register(1L, 2L, 2L, MyCouponView.USED);
+        register(1L, 3L, 3L, MyCouponView.EXPIRED);
+    }
+
+    public CouponInfo find(Long couponId) {
+        return coupons.get(couponId);
+    }
+
+    public boolean isIssued(Long userId, Long couponId) {
+        return myCouponView.has(userId, couponId);
+    }
+
+    /**
+     * 쿠폰을 발급한다. 수량이 소진되었으면 false를 반환한다.
+     */
+    public boolean issue(Long userId, CouponInfo coupon) {
+        // JFR 이벤트 (녹화 중이 아니면 기록하지 않음)
+        CouponIssueEvent event = new CouponIssueEvent();
+        event.begin();
+
+        // CAS로 수량 차감 (0 아래로 내려가지 않음)
+        int remaining;
+        int retries = -1;
+        do {
+            retries++;
+            remaining = coupon.getRemainingQuantity().get();
+            if (remaining <= 0) {
+                event.commit(coupon.getCouponId(), retries, 0, "COUPON_SOLD_OUT");
+                return false;
+            }
+        } while (!coupon.getRemainingQuantity().compareAndSet(remaining, remaining - 1));
+
+        // 다른 서버들과 함께 쓰는 수량이 소진되었으면 되돌림
+        if (!clusterQuota.tryAcquire(quotaKey(coupon.getCouponId()), 1)) {
+            coupon.getRemainingQuantity().incrementAndGet();
+            event.commit(coupon.getCouponId(), retries, remaining, "QUOTA_EXHAUSTED");
+            return false;
+        }
+
+        int remainingAfter = remaining - 1;
+        if (remainingAfter == 0) {
+            markIfSoldOut(coupon);
+        }
+        long userCouponId = userCouponIdGenerator.getAndIncrement();
+        register(userId, userCouponId, coupon.getCouponId(), MyCouponView.AVAILABLE);
+
+        journal.append(this, out -> {
+            out.writeByte(ISSUE);
+            out.writeLong(coupon.getCouponId());
+            out.writeInt(remainingAfter);
+            out.writeLong(userId);
+            out.writeLong(userCouponId);
+        });
+        event.commit(coupon.getCouponId(), retries, remainingAfter, "ISSUED");
+        return true;
+    }
+
+    /**
+     * 주문에 쿠폰이 적용되면 사용 처리한다.
+     */
+    public void markUsed(Long userId, Long couponId) {
+        myCouponView.used(userId, couponId);
+        journal.append(this, out -> {
+            out.writeByte(USE);
+            out.writeLong(userId);
+            out.writeLong(couponId);
+        });
+    }
+
+    // 매일 자정, 유효기간이 지난 쿠폰을 만료 처리
+    @Scheduled(cron = "0 0 0 * * *")
+    public void expireOverdue() {
+        String today = LocalDate.now().toString();
+        for (CouponInfo coupon : coupons.values()) {
+            if (coupon.getValidUntil().compareTo(today) < 0) {
+                myCouponView.expired(coupon.getCouponId());
+                journal.append(this, out -> {
+                    out.writeByte(EXPIRE);
+                    out.writeLong(coupon.getCouponId());
+                });
+            }
+        }
+    }
+
+    @Override
+    public byte storeId() {
+        return STORE_ID;
+    }
+
+    @Override
+    public void writeSnapshot(DataOutput out) throws IOException {
+        out.writeInt(coupons.size());
+        for (CouponInfo coupon : coupons.values()) {
+            out.writeLong(coupon.getCouponId());
+            out.writeInt(coupon.getRemainingQuantity().get());
+        }
+        out.writeLong(userCouponIdGenerator.get());
+
+        try {
+            myCouponView.forEach((userId, coupon) -> {
+                try {
+                    out.writeBoolean(true);
+                    out.writeLong(userId);
+                    out.writeLong(coupon.getUserCouponId());
+                    out.writeLong(coupon.getCouponId());
+                    out.writeUTF(coupon.getStatus());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.writeBoolean(false);
+    }
+
+    @Override
+    public void readSnapshot(DataInput in) throws IOException {
+        soldOutRegistry.clearCoupons();
+        int couponCount = in.readInt();
+        for (int i = 0; i < couponCount; i++) {
+            CouponInfo coupon = coupons.get(in.readLong());
+            int remaining = in.readInt();
+            if (coupon != null) {
+                coupon.getRemainingQuantity().set(remaining);
+            }
+        }
+        coupons.values().forEach(this::markIfSoldOut);
+        userCouponIdGenerator.set(in.readLong());
+
+        myCouponView.clear();
+        while (in.readBoolean()) {
+            long userId = in.readLong();
+            long userCouponId = in.readLong();
+            long couponId = in.readLong();
+            register(userId, userCouponId, couponId, in.readUTF());
+        }
+    }
+
+    @Override
+    public void replay(DataInput in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case ISSUE -> {
+                long couponId = in.readLong();
+                int remainingAfter = in.readInt();
+                long userId = in.readLong();
+                long userCouponId = in.readLong();
+                // 잔여 수량은 줄어들기만 하므로 더 작은 값을 취하면 순서/중복과 무관하게 같은 결과
+                CouponInfo coupon = coupons.get(couponId);
+                if (coupon != null) {
+                    coupon.getRemainingQuantity().accumulateAndGet(remainingAfter, Math::min);
+                    markIfSoldOut(coupon);
+                }
+                if (!myCouponView.has(userId, couponId)) {
+                    register(userId, userCouponId, couponId, MyCouponView.AVAILABLE);
+                }
+            }
+            case USE -> myCouponView.used(in.readLong(), in.readLong());
+            case EXPIRE -> myCouponView.expired(in.readLong());
+            default -> throw new IOException("알 수 없는 쿠폰 로그입니다. (type: " + type + ")");
+        }
+    }
+
+    // 잔여 수량은 다시 늘지 않으므로, 0이 되면 이후 발급 요청은 SoldOutRegistry에서 바로 거절
+    private void markIfSoldOut(CouponInfo coupon) {
+        if (coupon.getRemainingQuantity().get() <= 0) {
+            soldOutRegistry.couponSoldOut(coupon.getCouponId(), coupon.getTotalQuantity());
+        }
+    }
+
+    private static String quotaKey(long couponId) {
+        return "coupon:" + couponId;
+    }
+
+    private void register(long userId, long userCouponId, long couponId, String status) {
+        CouponInfo coupon = coupons.get(couponId);
+        myCouponView.issued(userId, new MyCouponResponseDto(
+                userCouponId,
+                couponId,
+                coupon != null ? coupon.getDiscountAmount() : 0,
+                coupon != null ? coupon.getValidUntil() : "",
+                status
+        ));
+        // 복구 시에도 ID가 겹치지 않도록 발급기를 앞으로 당김
+        userCouponIdGenerator.accumulateAndGet(userCouponId + 1, Math::max);
+    }
+}
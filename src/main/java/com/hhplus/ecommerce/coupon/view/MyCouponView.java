@@ -0,0 +1,151 @@
+package com.hhplus.ecommerce.coupon.view;
+
+import com.hhplus.ecommerce.common.collection.LongObjectHashMap;
+import com.hhplus.ecommerce.coupon.dto.MyCouponResponseDto;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 사용자별 "내 쿠폰" 조회 뷰.
+ * 발급/사용/만료 이벤트가 들어올 때마다 상태별 목록을 미리 만들어 두어
+ * 조회 시에는 필터링이나 쿠폰 정보 조인 없이 바로 반환한다.
+ */
+@Component
+public class MyCouponView {
+
+    public static final String AVAILABLE = "AVAILABLE";
+    public static final String USED = "USED";
+    public static final String EXPIRED = "EXPIRED";
+    public static final String ALL = "ALL";
+
+    // 사용자별 쿠폰 뷰 (userId -> UserCoupons)
+    private final LongObjectHashMap<UserCoupons> views = new LongObjectHashMap<>();
+
+    // 쿠폰을 보유한 사용자 (couponId -> userId 집합), 만료 처리 시 사용
+    private final Map<Long, Set<Long>> holders = new ConcurrentHashMap<>();
+
+    /**
+     * 상태별 쿠폰 목록을 조회한다. state가 ALL이면 전체 목록을 반환한다.
+     */
+    public List<MyCouponResponseDto> find(Long userId, String state) {
+        UserCoupons userCoupons = views.get(userId);
+        if (userCoupons == null) {
+            return List.of();
+        }
+        return userCoupons.snapshot.getOrDefault(state, List.of());
+    }
+
+    /**
+     * 해당 쿠폰을 이미 발급받았는지 확인한다.
+     */
+    public boolean has(Long userId, Long couponId) {
+        UserCoupons userCoupons = views.get(userId);
+        return userCoupons != null && userCoupons.has(couponId);
+    }
+
+    /**
+     * 발급 이벤트: 쿠폰을 사용자 뷰에 추가한다.
+     */
+    public void issued(Long userId, MyCouponResponseDto coupon) {
+        holders.computeIfAbsent(coupon.getCouponId(), k -> ConcurrentHashMap.newKeySet()).add(userId);
+        views.computeIfAbsent(userId, k -> new UserCoupons()).put(coupon);
+    }
+
+    /**
+     * 사용 이벤트: 사용 가능한 쿠폰을 USED 상태로 옮긴다.
+     */
+    public void used(Long userId, Long couponId) {
+        UserCoupons userCoupons = views.get(userId);
+        if (userCoupons != null) {
+            userCoupons.changeStatus(couponId, AVAILABLE, USED);
+        }
+    }
+
+    /**
+     * 만료 이벤트: 해당 쿠폰을 보유한 모든 사용자의 사용 가능한 쿠폰을 EXPIRED 상태로 옮긴다.
+     */
+    public void expired(Long couponId) {
+        for (Long userId : holders.getOrDefault(couponId, Set.of())) {
+            UserCoupons userCoupons = views.get(userId);
+            if (userCoupons != null) {
+                userCoupons.changeStatus(couponId, AVAILABLE, EXPIRED);
+            }
+        }
+    }
+
+    /**
+     * 모든 사용자 쿠폰을 순회한다. (스냅샷 저장용)
+     */
+    public void forEach(LongObjectHashMap.EntryConsumer<? super MyCouponResponseDto> consumer) {
+        views.forEach((userId, userCoupons) -> userCoupons.forEach(coupon -> consumer.accept(userId, coupon)));
+    }
+
+    public void clear() {
+        views.clear();
+        holders.clear();
+    }
+
+    // 사용자 한 명의 쿠폰 목록과 상태별 스냅샷
+    private static class UserCoupons {
+        // 발급 순서를 유지 (userCouponId -> 쿠폰)
+        private final LinkedHashMap<Long, MyCouponResponseDto> coupons = new LinkedHashMap<>();
+
+        // 발급받은 쿠폰 ID (중복 발급 확인용)
+        private final Set<Long> couponIds = new HashSet<>();
+
+        // 상태별 목록 (ALL 포함), 변경 시마다 새로 만들어 교체
+        private volatile Map<String, List<MyCouponResponseDto>> snapshot = Map.of();
+
+        synchronized boolean has(Long couponId) {
+            return couponIds.contains(couponId);
+        }
+
+        synchronized void put(MyCouponResponseDto coupon) {
+            coupons.put(coupon.getUserCouponId(), coupon);
+            couponIds.add(coupon.getCouponId());
+            rebuild();
+        }
+
+        synchronized void forEach(Consumer<MyCouponResponseDto> consumer) {
+            coupons.values().forEach(consumer);
+        }
+
+        synchronized void changeStatus(Long couponId, String from, String to) {
+            boolean changed = false;
+            for (Map.Entry<Long, MyCouponResponseDto> entry : coupons.entrySet()) {
+                MyCouponResponseDto coupon = entry.getValue();
+                if (coupon.getCouponId().equals(couponId) && from.equals(coupon.getStatus())) {
+                    entry.setValue(new MyCouponResponseDto(coupon.getUserCouponId(), coupon.getCouponId(),
+                            coupon.getDiscountAmount(), coupon.getValidUntil(), to));
+                    changed = true;
+                }
+            }
+            if (changed) {
+                rebuild();
+            }
+        }
+
+        private void rebuild() {
+            List<MyCouponResponseDto> available = new ArrayList<>();
+            List<MyCouponResponseDto> used = new ArrayList<>();
+            List<MyCouponResponseDto> expired = new ArrayList<>();
+            for (MyCouponResponseDto coupon : coupons.values()) {
+                switch (coupon.getStatus()) {
+                    case AVAILABLE -> available.add(coupon);
+                    case USED -> used.add(coupon);
+                    case EXPIRED -> expired.add(coupon);
+                    default -> { }
+                }
+            }
+            snapshot = Map.of(
+                    AVAILABLE, List.copyOf(available),
+                    USED, List.copyOf(used),
+                    EXPIRED, List.copyOf(expired),
+                    ALL, List.copyOf(coupons.values())
+            );
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.hhplus.ecommerce.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class OrderHistoryPageResponseDto {
+    private List<OrderHistoryResponseDto> orders;
+    private String nextCursor; // 마지막 페이지면 null
+}
@@ -0,0 +1,26 @@
+package com.hhplus.ecommerce.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class OrderHistoryResponseDto {
+    private Long orderId;
+    private String status;
+    private Integer totalAmount;
+    private Long appliedCouponId; // optional
+    private String paymentMethod; // 결제 전이면 null
+    private String createdAt;
+    private List<OrderItemDto> items;
+
+    @Getter
+    @AllArgsConstructor
+    public static class OrderItemDto {
+        private Long productOptionId;
+        private Integer quantity;
+        private Integer price;
+    }
+}
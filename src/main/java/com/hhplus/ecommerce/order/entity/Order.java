@@ -0,0 +1,73 @@
+package com.hhplus.ecommerce.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 주문 내역 조회용 주문 테이블.
+ * 내역 조회는 항상 (user_id[, status]) 조건 + (created_at, id) 역순이므로, 이 순서 그대로 복합 인덱스를 둔다.
+ * 조건과 정렬이 모두 인덱스 안에서 끝나 사용자의 주문 수와 관계없이 페이지 크기만큼만 읽는다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_orders_user_status_created", columnList = "user_id, status, created_at, id")
+})
+public class Order implements Persistable<Long> {
+
+    // 주문 ID는 OrderStore가 발급
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "total_amount", nullable = false)
+    private Integer totalAmount;
+
+    @Column(name = "applied_coupon_id")
+    private Long appliedCouponId;
+
+    @Column(name = "payment_method", length = 20)
+    private String paymentMethod;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // ID를 직접 넣으므로 save() 시 존재 여부를 조회하지 않도록 새 엔티티임을 표시
+    @Getter(AccessLevel.NONE)
+    @Transient
+    private boolean newEntity = true;
+
+    public Order(Long id, Long userId, String status, Integer totalAmount, Long appliedCouponId) {
+        this.id = id;
+        this.userId = userId;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.appliedCouponId = appliedCouponId;
+        // DB 컬럼 정밀도(마이크로초)에 맞춰 커서 값이 조회 결과와 항상 같도록 함
+        this.createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
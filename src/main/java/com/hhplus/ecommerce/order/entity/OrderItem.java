@@ -0,0 +1,42 @@
+package com.hhplus.ecommerce.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 주문 항목. 주문 내역 한 페이지의 항목을 order_id IN (...) 한 번으로 가져온다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "order_items", indexes = {
+        @Index(name = "idx_order_items_order", columnList = "order_id, id")
+})
+public class OrderItem {
+
+    // OrderBatchWriter가 미리 받아 둔 ID 묶음에서 발급 (IDENTITY는 배치 INSERT를 막음)
+    @Id
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    // 장바구니에 없던 항목(Mock)은 옵션을 알 수 없어 null
+    @Column(name = "product_option_id")
+    private Long productOptionId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private Integer price;
+
+    public OrderItem(Long orderId, Long productOptionId, Integer quantity, Integer price) {
+        this.orderId = orderId;
+        this.productOptionId = productOptionId;
+        this.quantity = quantity;
+        this.price = price;
+    }
+}
@@ -0,0 +1,20 @@
+package com.hhplus.ecommerce.order.repository;
+
+import com.hhplus.ecommerce.order.entity.OrderItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    // 한 페이지 주문들의 항목을 한 번에 조회 (idx_order_items_order)
+    List<OrderItem> findByOrderIdInOrderByOrderIdAscIdAsc(Collection<Long> orderIds);
+
+    @Modifying
+    @Query("delete from OrderItem i where i.orderId = :orderId")
+    int deleteByOrderId(@Param("orderId") Long orderId);
+}
@@ -0,0 +1,51 @@
+package com.hhplus.ecommerce.order.repository;
+
+import com.hhplus.ecommerce.order.entity.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 내역 keyset 페이지네이션.
+ * OFFSET 대신 직전 페이지의 마지막 (createdAt, id) 다음부터 읽으므로 뒤 페이지로 가도 비용이 같다.
+ * 상태 필터 유무에 따라 쿼리를 나눠 각각 idx_orders_user_created / idx_orders_user_status_created를 타게 한다.
+ * (createdAt, id) 비교의 OR 조건만으로는 인덱스 범위를 잡지 못하므로 createdAt &lt;= 조건을 함께 둔다.
+ */
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    @Query("select o from Order o where o.userId = :userId " +
+            "order by o.createdAt desc, o.id desc")
+    List<Order> findFirstPage(@Param("userId") Long userId, Limit limit);
+
+    @Query("select o from Order o where o.userId = :userId " +
+            "and o.createdAt <= :createdAt and (o.createdAt < :createdAt or o.id < :id) " +
+            "order by o.createdAt desc, o.id desc")
+    List<Order> findNextPage(@Param("userId") Long userId,
+                             @Param("createdAt") LocalDateTime createdAt,
+                             @Param("id") Long id,
+                             Limit limit);
+
+    @Query("select o from Order o where o.userId = :userId and o.status = :status " +
+            "order by o.createdAt desc, o.id desc")
+    List<Order> findFirstPageByStatus(@Param("userId") Long userId, @Param("status") String status, Limit limit);
+
+    @Query("select o from Order o where o.userId = :userId and o.status = :status " +
+            "and o.createdAt <= :createdAt and (o.createdAt < :createdAt or o.id < :id) " +
+            "order by o.createdAt desc, o.id desc")
+    List<Order> findNextPageByStatus(@Param("userId") Long userId,
+                                     @Param("status") String status,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("update Order o set o.status = :status, o.paymentMethod = :paymentMethod where o.id = :id")
+    int updatePayment(@Param("id") Long id, @Param("status") String status, @Param("paymentMethod") String paymentMethod);
+}
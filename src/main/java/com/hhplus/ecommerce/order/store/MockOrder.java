@@ -0,0 +1,45 @@
+package com.hhplus.ecommerce.order.store;
+
+import lombok.Getter;
+
+// Mock Order 클래스
+@Getter
+public class MockOrder {
+    private final Long orderId;
+    private final Long userId;
+    private volatile String status; // CREATED, PAYING(결제 승인 대기), PAID, CANCELLED
+    private final Integer totalAmount;
+    private final Long appliedCouponId;
+    private volatile String paymentMethod;
+
+    MockOrder(Long orderId, Long userId, String status, Integer totalAmount, Long appliedCouponId, String paymentMethod) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.appliedCouponId = appliedCouponId;
+        this.paymentMethod = paymentMethod;
+    }
+
+    synchronized void pay(String paymentMethod) {
+        this.status = "PAID";
+        this.paymentMethod = paymentMethod;
+    }
+
+    // 결제 완료를 로그에 남기지 못했을 때 결제 진행 중 상태로 되돌림
+    synchronized void unpay() {
+        if ("PAID".equals(status)) {
+            this.status = "PAYING";
+            this.paymentMethod = null;
+        }
+    }
+
+    // 현재 상태가 expected일 때만 바꿈 (동시에 들어온 결제 요청 중 하나만 결제를 시작)
+    synchronized boolean transition(String expected, String next) {
+        if (!expected.equals(status)) {
+            return false;
+        }
+        this.status = next;
+        return true;
+    }
+}
@@ -0,0 +1,208 @@
+package com.hhplus.ecommerce.order.store;
+
+import com.hhplus.ecommerce.common.id.IdBlockAllocator;
+import com.hhplus.ecommerce.order.entity.OrderItem;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문/주문 항목을 모아서 저장하는 group commit 저장기.
+ *
+ * 요청 스레드는 큐에 넣고 CompletableFuture를 받아 기다리며, 전용 writer 스레드가 짧은 시간(window) 동안 함께 들어온
+ * 주문들을 JDBC 배치 INSERT로 한 트랜잭션에 저장한 뒤 각 future를 주문 ID로 완료한다.
+ * 앞 묶음을 커밋하는 동안 들어온 요청은 다음 묶음에 함께 실리므로, 동시 요청이 많을수록 커밋 한 번에 저장되는 주문이 늘어난다.
+ * 주문 항목 ID는 IDENTITY 대신 IdBlockAllocator에서 미리 받아 둔 묶음으로 발급해 배치 INSERT가 가능하게 한다. (주문 ID는 OrderStore가 같은 발급기로 발급)
+ */
+@Slf4j
+@Component
+public class OrderBatchWriter {
+
+    private static final String ORDER_ITEM_IDS = "order_items";
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private static final String INSERT_ORDER = "INSERT INTO orders " +
+            "(id, user_id, status, total_amount, applied_coupon_id, payment_method, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ORDER_ITEM = "INSERT INTO order_items " +
+            "(id, order_id, product_option_id, quantity, price) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IdBlockAllocator idAllocator;
+    private final int maxBatch;
+    private final long windowNanos;
+
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // writer 스레드만 사용
+    private boolean itemIdsRegistered;
+
+    public OrderBatchWriter(DataSource dataSource, PlatformTransactionManager transactionManager, IdBlockAllocator idAllocator,
+                            @Value("${ecommerce.order-writer.max-batch:256}") int maxBatch,
+                            @Value("${ecommerce.order-writer.window-ms:0}") long windowMillis) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idAllocator = idAllocator;
+        this.maxBatch = maxBatch;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.writer = new Thread(this::writeLoop, "order-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    // 큐에 남은 주문을 모두 저장한 뒤 종료
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        Request request;
+        while ((request = queue.poll()) != null) {
+            request.future.completeExceptionally(new IllegalStateException("주문 저장기가 종료되었습니다."));
+        }
+    }
+
+    /**
+     * 주문과 주문 항목의 저장을 요청한다. 다른 주문들과 함께 커밋되면 주문 ID로 완료된다.
+     */
+    public CompletableFuture<Long> submit(MockOrder order, List<OrderItem> items) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("주문 저장기가 종료되었습니다."));
+        }
+        Request request = new Request(order, items, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        queue.add(request);
+        // 확인과 추가 사이에 종료되어 writer와 stop이 모두 큐를 비운 뒤라면 아무도 꺼내 가지 않으므로 직접 실패 처리
+        if (!running && queue.remove(request)) {
+            request.future.completeExceptionally(new IllegalStateException("주문 저장기가 종료되었습니다."));
+        }
+        return request.future;
+    }
+
+    private void writeLoop() {
+        List<Request> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // 종료 중: 이미 모은 요청은 아래에서 저장
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // 첫 요청이 오면 window 동안(또는 maxBatch개가 찰 때까지) 함께 들어온 요청을 모음
+    private void collect(List<Request> batch) throws InterruptedException {
+        Request first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        // 앞 묶음을 저장하는 동안 쌓인 요청은 기다리지 않고 바로 가져감
+        queue.drainTo(batch, maxBatch - batch.size());
+
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatch) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxBatch - batch.size());
+        }
+    }
+
+    private void write(List<Request> batch) {
+        try {
+            insert(batch);
+            batch.forEach(request -> request.future.complete(request.order.getOrderId()));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).future.completeExceptionally(e);
+                return;
+            }
+            // 한 건 때문에 묶음 전체가 실패하지 않도록 한 건씩 다시 저장
+            log.warn("주문 묶음 저장 실패, 한 건씩 다시 저장합니다. (주문 {}건)", batch.size(), e);
+            for (Request request : batch) {
+                try {
+                    insert(List.of(request));
+                    request.future.complete(request.order.getOrderId());
+                } catch (RuntimeException retryFailure) {
+                    request.future.completeExceptionally(retryFailure);
+                }
+            }
+        }
+    }
+
+    private void insert(List<Request> batch) {
+        registerItemIds();
+
+        List<Object[]> orders = new ArrayList<>(batch.size());
+        List<Object[]> items = new ArrayList<>(batch.size() * 2);
+        for (Request request : batch) {
+            MockOrder order = request.order;
+            orders.add(new Object[]{order.getOrderId(), order.getUserId(), order.getStatus(), order.getTotalAmount(),
+                    order.getAppliedCouponId(), order.getPaymentMethod(), Timestamp.valueOf(request.createdAt)});
+            for (OrderItem item : request.items) {
+                items.add(new Object[]{idAllocator.next(ORDER_ITEM_IDS), item.getOrderId(), item.getProductOptionId(),
+                        item.getQuantity(), item.getPrice()});
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_ORDER, orders);
+            if (!items.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM, items);
+            }
+        });
+    }
+
+    // 테이블이 만들어진 뒤(첫 저장 시점)에 기존 항목 다음 번호부터 발급하도록 등록
+    private void registerItemIds() {
+        if (!itemIdsRegistered) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM order_items", Long.class);
+            idAllocator.register(ORDER_ITEM_IDS, (maxId == null ? 0 : maxId) + 1);
+            itemIdsRegistered = true;
+        }
+    }
+
+    private static final class Request {
+        private final MockOrder order;
+        private final List<OrderItem> items;
+        private final LocalDateTime createdAt;
+        private final CompletableFuture<Long> future = new CompletableFuture<>();
+
+        Request(MockOrder order, List<OrderItem> items, LocalDateTime createdAt) {
+            this.order = order;
+            this.items = items;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.hhplus.ecommerce.order.store;
+
+import com.hhplus.ecommerce.order.dto.OrderHistoryPageResponseDto;
+import com.hhplus.ecommerce.order.dto.OrderHistoryResponseDto;
+import com.hhplus.ecommerce.order.entity.Order;
+import com.hhplus.ecommerce.order.entity.OrderItem;
+import com.hhplus.ecommerce.order.repository.OrderItemRepository;
+import com.hhplus.ecommerce.order.repository.OrderRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 주문 내역 저장소 (DB).
+ * 결제 처리는 OrderStore(인메모리)가 담당하고, 여기에는 조회용 주문/주문 항목을 남긴다.
+ */
+@Component
+public class OrderHistoryStore {
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderBatchWriter orderBatchWriter;
+
+    public OrderHistoryStore(OrderRepository orderRepository, OrderItemRepository orderItemRepository,
+                             OrderBatchWriter orderBatchWriter) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.orderBatchWriter = orderBatchWriter;
+    }
+
+    /**
+     * 주문과 주문 항목을 저장한다. 동시에 들어온 주문들과 한 트랜잭션으로 묶여 커밋되면 주문 ID로 완료된다.
+     */
+    public CompletableFuture<Long> record(MockOrder order, List<OrderItem> items) {
+        return orderBatchWriter.submit(order, items);
+    }
+
+    /**
+     * 저장한 주문 내역을 지운다. 주문 내역을 먼저 저장한 뒤 재고 차감에 실패했을 때 사용한다.
+     */
+    @Transactional
+    public void discard(Long orderId) {
+        orderItemRepository.deleteByOrderId(orderId);
+        orderRepository.deleteById(orderId);
+    }
+
+    public void markPaid(Long orderId, String paymentMethod) {
+        orderRepository.updatePayment(orderId, "PAID", paymentMethod);
+    }
+
+    // 결제 완료 처리가 중간에 실패했을 때 되돌림
+    public void markUnpaid(Long orderId) {
+        orderRepository.updatePayment(orderId, "CREATED", null);
+    }
+
+    /**
+     * 최신순으로 size개를 조회한다. cursor는 직전 페이지 응답의 nextCursor (첫 페이지면 null).
+     * 주문 조회 1번 + 항목 조회 1번으로 끝난다.
+     *
+     * @throws IllegalArgumentException cursor 형식이 올바르지 않은 경우
+     */
+    @Transactional(readOnly = true)
+    public OrderHistoryPageResponseDto findPage(Long userId, String status, String cursor, int size) {
+        // 한 건 더 읽어서 다음 페이지 유무를 판단
+        Limit limit = Limit.of(size + 1);
+        List<Order> orders;
+        if (cursor == null) {
+            orders = status == null
+                    ? orderRepository.findFirstPage(userId, limit)
+                    : orderRepository.findFirstPageByStatus(userId, status, limit);
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            orders = status == null
+                    ? orderRepository.findNextPage(userId, after.createdAt, after.id, limit)
+                    : orderRepository.findNextPageByStatus(userId, status, after.createdAt, after.id, limit);
+        }
+
+        String nextCursor = null;
+        if (orders.size() > size) {
+            orders = orders.subList(0, size);
+            Order last = orders.get(size - 1);
+            nextCursor = new Cursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        if (orders.isEmpty()) {
+            return new OrderHistoryPageResponseDto(List.of(), null);
+        }
+
+        // 페이지에 포함된 주문들의 항목을 한 번에 조회해 주문별로 묶음
+        List<Long> orderIds = orders.stream().map(Order::getId).toList();
+        Map<Long, List<OrderHistoryResponseDto.OrderItemDto>> itemsByOrder = new HashMap<>();
+        for (OrderItem item : orderItemRepository.findByOrderIdInOrderByOrderIdAscIdAsc(orderIds)) {
+            itemsByOrder.computeIfAbsent(item.getOrderId(), k -> new ArrayList<>())
+                    .add(new OrderHistoryResponseDto.OrderItemDto(item.getProductOptionId(), item.getQuantity(), item.getPrice()));
+        }
+
+        List<OrderHistoryResponseDto> result = orders.stream()
+                .map(order -> new OrderHistoryResponseDto(
+                        order.getId(),
+                        order.getStatus(),
+                        order.getTotalAmount(),
+                        order.getAppliedCouponId(),
+                        order.getPaymentMethod(),
+                        order.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                        itemsByOrder.getOrDefault(order.getId(), List.of())))
+                .toList();
+        return new OrderHistoryPageResponseDto(result, nextCursor);
+    }
+
+    // 페이지 경계 (createdAt, id)를 URL에 넣을 수 있는 문자열로 인코딩
+    private static final class Cursor {
+        private final LocalDateTime createdAt;
+        private final Long id;
+
+        Cursor(LocalDateTime createdAt, Long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+
+        String encode() {
+            String raw = createdAt.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "," + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int comma = raw.indexOf(',');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, comma)), Long.parseLong(raw.substring(comma + 1)));
+            } catch (IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("잘못된 커서입니다. (" + cursor + ")", e);
+            }
+        }
+    }
+}
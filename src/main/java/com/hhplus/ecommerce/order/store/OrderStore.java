@@ -0,0 +1,303 @@
+package com.hhplus.ecommerce.order.store;
+
+import com.hhplus.ecommerce.common.collection.LongLongHashMap;
+import com.hhplus.ecommerce.common.collection.LongObjectHashMap;
+import com.hhplus.ecommerce.common.id.IdBlockAllocator;
+import com.hhplus.ecommerce.common.persistence.DurableStore;
+import com.hhplus.ecommerce.common.persistence.Journal;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 주문 저장소 (인메모리 + WAL).
+ * 주문, 사용된 쿠폰, 사용자 잔액을 관리한다.
+ * 주문 ID는 여러 서버가 같은 orders 테이블에 저장해도 겹치지 않도록 IdBlockAllocator의 묶음에서 발급한다.
+ */
+@Component
+public class OrderStore implements DurableStore {
+
+    private static final byte STORE_ID = 3;
+    private static final byte PUT_ORDER = 1;
+    private static final byte BALANCE = 2;
+    private static final byte PAY_WITH_BALANCE = 3;
+
+    private static final String ORDER_IDS = "orders";
+    private static final long FIRST_ORDER_ID = 1001;
+
+    private final Journal journal;
+    private final IdBlockAllocator idAllocator;
+
+    // 스냅샷/로그에 남은 주문의 다음 ID. 처음 발급할 때 공유 발급기를 이 값 이상으로 올림
+    private final AtomicLong nextOrderId = new AtomicLong(FIRST_ORDER_ID);
+    private volatile boolean orderIdsRegistered;
+
+    // 주문 (orderId -> MockOrder)
+    private final LongObjectHashMap<MockOrder> orders = new LongObjectHashMap<>();
+
+    // 사용된 쿠폰 추적 (userId -> 사용한 쿠폰 ID 집합)
+    private final LongObjectHashMap<Set<Long>> usedCoupons = new LongObjectHashMap<>();
+
+    // 사용자 잔액 (userId -> 잔액)
+    private final LongLongHashMap balances = new LongLongHashMap();
+
+    public OrderStore(Journal journal, IdBlockAllocator idAllocator) {
+        this.journal = journal;
+        this.idAllocator = idAllocator;
+
+        // 초기 Mock 데이터: 사용자 잔액 (복구할 스냅샷이 있으면 교체됨)
+        balances.put(1L, 100000);  // 10만원
+        balances.put(2L, 50000);   // 5만원
+        balances.put(3L, 10000);   // 1만원 (부족)
+    }
+
+    public MockOrder find(Long orderId) {
+        return orders.get(orderId);
+    }
+
+    public boolean isCouponUsed(Long userId, Long couponId) {
+        Set<Long> userUsedCoupons = usedCoupons.get(userId);
+        return userUsedCoupons != null && userUsedCoupons.contains(couponId);
+    }
+
+    /**
+     * 주문에 쓸 쿠폰을 사용 중으로 선점한다. 이미 사용했거나 다른 주문이 선점했으면 false를 반환한다.
+     * 주문이 저장되지 못하면 releaseCoupon으로 되돌린다. (저장되면 주문 로그로 사용 기록이 남음)
+     */
+    public boolean reserveCoupon(Long userId, Long couponId) {
+        return usedCoupons.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(couponId);
+    }
+
+    public void releaseCoupon(Long userId, Long couponId) {
+        Set<Long> userUsedCoupons = usedCoupons.get(userId);
+        if (userUsedCoupons != null) {
+            userUsedCoupons.remove(couponId);
+        }
+    }
+
+    /**
+     * 주문을 생성한다. 쿠폰이 적용되었으면 사용 기록도 함께 남긴다.
+     */
+    public MockOrder create(Long userId, Integer totalAmount, Long appliedCouponId) {
+        MockOrder order = prepare(userId, totalAmount, appliedCouponId);
+        save(order);
+        return order;
+    }
+
+    /**
+     * 주문 ID만 발급해 주문을 만든다. 저장소에는 넣지 않으므로, 주문 내역 저장과 재고 차감이 끝난 뒤 save로 저장한다.
+     */
+    public MockOrder prepare(Long userId, Integer totalAmount, Long appliedCouponId) {
+        registerOrderIds();
+        Long orderId = idAllocator.next(ORDER_IDS);
+        nextOrderId.accumulateAndGet(orderId + 1, Math::max);
+        return new MockOrder(orderId, userId, "CREATED", totalAmount, appliedCouponId, null);
+    }
+
+    /**
+     * prepare로 만든 주문을 저장한다. 쿠폰이 적용되었으면 사용 기록도 함께 남긴다.
+     */
+    public void save(MockOrder order) {
+        put(order);
+        journal.append(this, out -> writeOrder(out, order));
+    }
+
+    /**
+     * 결제를 시작한다. CREATED 상태인 주문만 PAYING으로 바꾸고 true를 반환한다.
+     * PAYING은 결제 응답을 기다리는 동안만의 상태라 로그에 남기지 않는다.
+     */
+    public boolean startPayment(MockOrder order) {
+        return order.transition("CREATED", "PAYING");
+    }
+
+    /**
+     * 결제가 거절되거나 시간 초과되거나 결제 완료 기록에 실패하면 다시 결제할 수 있도록 CREATED로 되돌린다.
+     */
+    public void cancelPayment(MockOrder order) {
+        order.transition("PAYING", "CREATED");
+    }
+
+    /**
+     * 결제 완료로 바꾸고 로그에 남긴다. 로그 기록에 실패하면 PAYING으로 되돌리고 예외를 그대로 던진다.
+     */
+    public void markPaid(MockOrder order, String paymentMethod) {
+        order.pay(paymentMethod);
+        try {
+            journal.append(this, out -> writeOrder(out, order));
+        } catch (RuntimeException e) {
+            order.unpay();
+            throw e;
+        }
+    }
+
+    /**
+     * 잔액에서 주문 금액을 차감하고 결제 완료로 바꾼다. 잔액이 부족하면 false를 반환한다.
+     * 차감과 결제 완료를 한 레코드로 남기므로, 로그 기록에 실패하면 둘 다 되돌리고 예외를 그대로 던진다.
+     */
+    public boolean payWithBalance(MockOrder order, String paymentMethod) {
+        Long userId = order.getUserId();
+        long amount = order.getTotalAmount();
+        long remaining = debit(userId, amount);
+        if (remaining < 0) {
+            return false;
+        }
+        order.pay(paymentMethod);
+        try {
+            journal.append(this, out -> {
+                out.writeByte(PAY_WITH_BALANCE);
+                out.writeLong(userId);
+                out.writeLong(remaining);
+                writeOrder(out, order);
+            });
+        } catch (RuntimeException e) {
+            order.unpay();
+            if (amount > 0) {
+                balances.addAndGet(userId, amount);
+            }
+            throw e;
+        }
+        return true;
+    }
+
+    // 복구가 끝난 뒤 첫 주문에서 한 번만 등록 (DB 없이 로그만 남은 채 재시작해도 이미 쓴 ID를 다시 발급하지 않음)
+    private void registerOrderIds() {
+        if (!orderIdsRegistered) {
+            synchronized (this) {
+                if (!orderIdsRegistered) {
+                    idAllocator.register(ORDER_IDS, nextOrderId.get());
+                    orderIdsRegistered = true;
+                }
+            }
+        }
+    }
+
+    public long getBalance(Long userId) {
+        return balances.get(userId, 0);
+    }
+
+    // CAS로 차감하고 남은 잔액을 반환 (부족하면 -1, 동시 결제 시에도 음수가 되지 않음)
+    private long debit(Long userId, long amount) {
+        long balance;
+        do {
+            balance = balances.get(userId, 0);
+            if (balance < amount) {
+                return -1;
+            }
+            if (amount <= 0) {
+                return balance;
+            }
+        } while (!balances.replace(userId, balance, balance - amount));
+        return balance - amount;
+    }
+
+    @Override
+    public byte storeId() {
+        return STORE_ID;
+    }
+
+    @Override
+    public void writeSnapshot(DataOutput out) throws IOException {
+        out.writeLong(nextOrderId.get());
+        try {
+            orders.forEach((orderId, order) -> {
+                try {
+                    out.writeBoolean(true);
+                    writeOrder(out, order);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.writeBoolean(false);
+            balances.forEach((userId, balance) -> {
+                try {
+                    out.writeBoolean(true);
+                    out.writeLong(userId);
+                    out.writeLong(balance);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.writeBoolean(false);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public void readSnapshot(DataInput in) throws IOException {
+        orders.clear();
+        usedCoupons.clear();
+        balances.clear();
+
+        nextOrderId.accumulateAndGet(in.readLong(), Math::max);
+        while (in.readBoolean()) {
+            in.readByte();
+            put(readOrder(in));
+        }
+        while (in.readBoolean()) {
+            balances.put(in.readLong(), in.readLong());
+        }
+    }
+
+    @Override
+    public void replay(DataInput in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case PUT_ORDER -> put(readOrder(in));
+            // 이전 버전 로그의 잔액 레코드
+            case BALANCE -> replayBalance(in.readLong(), in.readLong());
+            case PAY_WITH_BALANCE -> {
+                replayBalance(in.readLong(), in.readLong());
+                in.readByte();
+                put(readOrder(in));
+            }
+            default -> throw new IOException("알 수 없는 주문 로그입니다. (type: " + type + ")");
+        }
+    }
+
+    // 잔액은 차감만 되므로 더 작은 값을 취하면 순서/중복과 무관하게 같은 결과
+    private void replayBalance(long userId, long balance) {
+        if (!balances.containsKey(userId) || balances.get(userId, 0) > balance) {
+            balances.put(userId, balance);
+        }
+    }
+
+    private void put(MockOrder order) {
+        orders.put(order.getOrderId(), order);
+        if (order.getAppliedCouponId() != null) {
+            usedCoupons.computeIfAbsent(order.getUserId(), k -> ConcurrentHashMap.newKeySet()).add(order.getAppliedCouponId());
+        }
+        // 복구 시에도 ID가 겹치지 않도록 발급 시작 ID를 앞으로 당김
+        nextOrderId.accumulateAndGet(order.getOrderId() + 1, Math::max);
+    }
+
+    // 주문 전체 상태를 기록 (같은 주문의 마지막 레코드가 최종 상태)
+    private static void writeOrder(DataOutput out, MockOrder order) throws IOException {
+        out.writeByte(PUT_ORDER);
+        out.writeLong(order.getOrderId());
+        out.writeLong(order.getUserId());
+        // 결제 대기 중에 재시작되면 응답을 받을 수 없으므로 다시 결제할 수 있게 CREATED로 기록
+        out.writeUTF("PAYING".equals(order.getStatus()) ? "CREATED" : order.getStatus());
+        out.writeInt(order.getTotalAmount());
+        out.writeLong(order.getAppliedCouponId() != null ? order.getAppliedCouponId() : -1);
+        out.writeUTF(order.getPaymentMethod() != null ? order.getPaymentMethod() : "");
+    }
+
+    private static MockOrder readOrder(DataInput in) throws IOException {
+        long orderId = in.readLong();
+        long userId = in.readLong();
+        String status = in.readUTF();
+        int totalAmount = in.readInt();
+        long appliedCouponId = in.readLong();
+        String paymentMethod = in.readUTF();
+        return new MockOrder(orderId, userId, status, totalAmount,
+                appliedCouponId != -1 ? appliedCouponId : null,
+                paymentMethod.isEmpty() ? null : paymentMethod);
+    }
+}
@@ -0,0 +1,20 @@
+package com.hhplus.ecommerce.payment;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 외부 결제 시스템.
+ * 승인 요청은 호출 스레드를 막지 않고 CompletableFuture로 결과를 돌려주며, 실패도 예외 대신 PaymentResult로 알린다.
+ */
+public interface PaymentGateway {
+
+    /**
+     * 결제 수단으로 주문 금액의 승인을 요청한다.
+     */
+    CompletableFuture<PaymentResult> approve(long orderId, long amount, String paymentMethod);
+
+    /**
+     * 이 결제 시스템이 처리하는 결제 수단인지 확인한다.
+     */
+    boolean supports(String paymentMethod);
+}
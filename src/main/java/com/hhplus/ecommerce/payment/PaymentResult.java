@@ -0,0 +1,38 @@
+package com.hhplus.ecommerce.payment;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 결제 승인 요청 결과.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PaymentResult {
+
+    public enum Status {
+        APPROVED,    // 승인
+        DECLINED,    // 결제 시스템이 거절 (한도 초과 등)
+        TIMEOUT,     // 응답 시간 초과 (승인 여부를 알 수 없음)
+        BUSY,        // 결제 수단별 동시 요청 한도 초과로 보내지 않음
+        UNAVAILABLE  // 결제 시스템 오류 또는 서킷 브레이커가 열려 보내지 않음
+    }
+
+    private final Status status;
+    // 승인 번호 (APPROVED일 때만)
+    private final String transactionId;
+    private final String message;
+
+    public static PaymentResult approved(String transactionId) {
+        return new PaymentResult(Status.APPROVED, transactionId, "결제가 승인되었습니다.");
+    }
+
+    public static PaymentResult of(Status status, String message) {
+        return new PaymentResult(status, null, message);
+    }
+
+    public boolean isApproved() {
+        return status == Status.APPROVED;
+    }
+}
@@ -0,0 +1,45 @@
+package com.hhplus.ecommerce.payment;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결제 승인 이후의 반영 작업(주문 내역 DB 갱신, 주문 로그 fsync)을 실행하는 전용 스레드 풀.
+ * 결제 시스템 응답을 받는 HTTP 클라이언트 스레드에서 블로킹 작업을 하지 않게 해서,
+ * DB가 느려져도 결제 수단별 응답 처리와 시간 초과 판정은 밀리지 않는다.
+ * 격벽 허가는 승인 응답을 받으면 반납되므로 격벽만으로는 반영 대기 작업 수가 제한되지 않는다.
+ * 그래서 대기열 크기를 제한하고, 가득 차면 execute가 RejectedExecutionException을 던진다.
+ * (호출한 쪽이 주문을 CREATED로 되돌리고 503으로 응답)
+ */
+@Component
+public class PaymentSettlementExecutor implements Executor {
+
+    private final ExecutorService executor;
+
+    public PaymentSettlementExecutor(@Value("${ecommerce.payment.settlement-threads:8}") int threads,
+                                     @Value("${ecommerce.payment.settlement-queue:64}") int queueSize) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "payment-settlement");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,196 @@
+package com.hhplus.ecommerce.payment.gateway;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hhplus.ecommerce.common.resilience.CircuitBreaker;
+import com.hhplus.ecommerce.payment.PaymentGateway;
+import com.hhplus.ecommerce.payment.PaymentResult;
+import com.hhplus.ecommerce.payment.gateway.dto.GatewayPaymentRequest;
+import com.hhplus.ecommerce.payment.gateway.dto.GatewayPaymentResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * HTTP 결제 시스템 클라이언트.
+ *
+ * - 비동기: JDK HttpClient의 sendAsync로 보내므로 응답을 기다리는 동안 요청 스레드를 붙잡지 않는다.
+ * - 격벽(bulkhead): 결제 수단별 동시 요청 수를 Semaphore로 제한하고, 한도를 넘으면 기다리지 않고 바로 BUSY로 거절한다.
+ *   MOBILE_PAY 결제 시스템이 느려져도 CREDIT_CARD 요청은 영향을 받지 않는다.
+ * - 서킷 브레이커: 결제 수단별로 두며, 오류/시간 초과가 잦으면 일정 시간 요청을 보내지 않고 UNAVAILABLE로 거절한다.
+ * - 시간 초과: 요청마다 응답 제한 시간을 두고, 넘으면 TIMEOUT을 반환한다.
+ *
+ * ecommerce.payment.gateway-url이 비어 있으면(기본값) 로컬 결제 스텁(PaymentGatewayStub)을 띄워 사용한다.
+ */
+@Slf4j
+@Component
+public class HttpPaymentGateway implements PaymentGateway {
+
+    // 결제 시스템으로 승인을 요청하는 결제 수단 (BANK_TRANSFER는 내부 잔액으로 처리)
+    public static final List<String> PAYMENT_METHODS = List.of("CREDIT_CARD", "DEBIT_CARD", "MOBILE_PAY");
+
+    private final ObjectMapper objectMapper;
+    private final URI paymentsUri;
+    private final Duration timeout;
+    private final PaymentGatewayStub stub;
+    private final ExecutorService callbackExecutor = Executors.newFixedThreadPool(4, runnable -> {
+        Thread thread = new Thread(runnable, "payment-client");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HttpClient httpClient;
+
+    // 결제 수단별 격벽과 서킷 브레이커 (생성 후 변경 없음)
+    private final Map<String, Semaphore> bulkheads = new HashMap<>();
+    private final Map<String, CircuitBreaker> circuitBreakers = new HashMap<>();
+
+    public HttpPaymentGateway(ObjectMapper objectMapper,
+                              @Value("${ecommerce.payment.gateway-url:}") String gatewayUrl,
+                              @Value("${ecommerce.payment.timeout-ms:3000}") long timeoutMillis,
+                              @Value("${ecommerce.payment.max-concurrent-per-method:20}") int maxConcurrentPerMethod,
+                              @Value("${ecommerce.payment.circuit-breaker.window-size:20}") int windowSize,
+                              @Value("${ecommerce.payment.circuit-breaker.failure-rate:0.5}") double failureRate,
+                              @Value("${ecommerce.payment.circuit-breaker.open-ms:10000}") long openMillis,
+                              @Value("${ecommerce.payment.stub.latency-ms:100}") long stubLatencyMillis) {
+        this.objectMapper = objectMapper;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        try {
+            this.stub = gatewayUrl.isBlank() ? new PaymentGatewayStub(objectMapper, 0, stubLatencyMillis) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("결제 스텁을 시작할 수 없습니다.", e);
+        }
+        URI baseUri = stub != null ? stub.getBaseUri() : URI.create(gatewayUrl);
+        this.paymentsUri = baseUri.resolve("/payments");
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(callbackExecutor)
+                .build();
+
+        for (String paymentMethod : PAYMENT_METHODS) {
+            bulkheads.put(paymentMethod, new Semaphore(maxConcurrentPerMethod));
+            circuitBreakers.put(paymentMethod,
+                    new CircuitBreaker(paymentMethod, windowSize, Math.max(1, windowSize / 2), failureRate, openMillis));
+        }
+        if (stub != null) {
+            log.info("결제 시스템 주소가 없어 로컬 결제 스텁을 사용합니다. ({})", paymentsUri);
+        }
+    }
+
+    @Override
+    public boolean supports(String paymentMethod) {
+        return bulkheads.containsKey(paymentMethod);
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> approve(long orderId, long amount, String paymentMethod) {
+        Semaphore bulkhead = bulkheads.get(paymentMethod);
+        CircuitBreaker circuitBreaker = circuitBreakers.get(paymentMethod);
+        if (bulkhead == null) {
+            throw new IllegalArgumentException("결제 시스템이 처리하지 않는 결제 수단입니다. (" + paymentMethod + ")");
+        }
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new GatewayPaymentRequest(orderId, amount, paymentMethod));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("결제 요청을 만들 수 없습니다.", e);
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(paymentsUri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+
+        // 격벽: 이 결제 수단의 요청이 이미 한도만큼 진행 중이면 기다리지 않고 거절
+        if (!bulkhead.tryAcquire()) {
+            return CompletableFuture.completedFuture(PaymentResult.of(PaymentResult.Status.BUSY,
+                    "결제 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요. (" + paymentMethod + ")"));
+        }
+        // 서킷 브레이커: 최근 오류가 잦으면 보내지 않음
+        if (!circuitBreaker.tryAcquire()) {
+            bulkhead.release();
+            return CompletableFuture.completedFuture(PaymentResult.of(PaymentResult.Status.UNAVAILABLE,
+                    "결제 시스템이 일시적으로 응답하지 않습니다. (" + paymentMethod + ")"));
+        }
+
+        CompletableFuture<HttpResponse<byte[]>> sent;
+        try {
+            sent = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            // 보내지도 못한 경우에도 격벽 자리와 서킷 시험 호출을 반납
+            bulkhead.release();
+            return CompletableFuture.completedFuture(toResult(circuitBreaker, null, e));
+        }
+        return sent.handle((response, error) -> {
+            bulkhead.release();
+            return toResult(circuitBreaker, response, error);
+        });
+    }
+
+    public CircuitBreaker.State getCircuitState(String paymentMethod) {
+        return circuitBreakers.get(paymentMethod).getState();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (stub != null) {
+            stub.close();
+        }
+        callbackExecutor.shutdownNow();
+    }
+
+    private PaymentResult toResult(CircuitBreaker circuitBreaker, HttpResponse<byte[]> response, Throwable error) {
+        if (error != null) {
+            circuitBreaker.onFailure();
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof HttpTimeoutException) {
+                return PaymentResult.of(PaymentResult.Status.TIMEOUT,
+                        "결제 시스템 응답 시간이 초과되었습니다. (" + timeout.toMillis() + "ms)");
+            }
+            log.warn("결제 시스템 호출 실패 ({})", circuitBreaker.getName(), cause);
+            return PaymentResult.of(PaymentResult.Status.UNAVAILABLE, "결제 시스템에 연결할 수 없습니다.");
+        }
+
+        GatewayPaymentResponse body = parse(response.body());
+        if (response.statusCode() == 200) {
+            circuitBreaker.onSuccess();
+            return PaymentResult.approved(body != null ? body.getTransactionId() : null);
+        }
+        // 거절은 결제 시스템이 정상 동작한 결과이므로 실패로 세지 않음
+        if (response.statusCode() == 402) {
+            circuitBreaker.onSuccess();
+            return PaymentResult.of(PaymentResult.Status.DECLINED,
+                    body != null && body.getMessage() != null ? body.getMessage() : "결제가 거절되었습니다.");
+        }
+        circuitBreaker.onFailure();
+        return PaymentResult.of(PaymentResult.Status.UNAVAILABLE,
+                "결제 시스템 오류입니다. (status: " + response.statusCode() + ")");
+    }
+
+    private GatewayPaymentResponse parse(byte[] body) {
+        try {
+            return objectMapper.readValue(body, GatewayPaymentResponse.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.hhplus.ecommerce.payment.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hhplus.ecommerce.payment.gateway.dto.GatewayPaymentRequest;
+import com.hhplus.ecommerce.payment.gateway.dto.GatewayPaymentResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬 결제 시스템 스텁 (JDK HttpServer).
+ * 실제 결제 시스템 주소가 설정되지 않았을 때와 테스트에서 사용하며, 결제 수단별로 응답 지연과 실패(500)/거절(402) 비율을 바꿀 수 있다.
+ * 지연된 응답은 스레드를 재우지 않고 예약 실행으로 보내므로, 느린 응답이 많이 쌓여도 스텁 자체가 막히지 않는다.
+ *
+ * POST /payments {orderId, amount, paymentMethod}
+ * -> 200 {transactionId} / 402 {code: DECLINED, message} / 500 {code: GATEWAY_ERROR, message}
+ */
+@Slf4j
+public class PaymentGatewayStub implements AutoCloseable {
+
+    private final ObjectMapper objectMapper;
+    private final HttpServer server;
+    private final ScheduledExecutorService responder = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "payment-gateway-stub");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long defaultLatencyMillis;
+    private final Map<String, Behavior> behaviors = new ConcurrentHashMap<>();
+    private final AtomicLong transactionIds = new AtomicLong(1);
+    private final AtomicInteger received = new AtomicInteger();
+
+    public PaymentGatewayStub(ObjectMapper objectMapper, int port, long defaultLatencyMillis) throws IOException {
+        this.objectMapper = objectMapper;
+        this.defaultLatencyMillis = defaultLatencyMillis;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.createContext("/payments", this::handle);
+        this.server.start();
+    }
+
+    public URI getBaseUri() {
+        return URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    public void setLatency(String paymentMethod, long millis) {
+        behavior(paymentMethod).latencyMillis = millis;
+    }
+
+    public void setFailureRate(String paymentMethod, double rate) {
+        behavior(paymentMethod).failureRate = rate;
+    }
+
+    public void setDeclineRate(String paymentMethod, double rate) {
+        behavior(paymentMethod).declineRate = rate;
+    }
+
+    // 지금까지 받은 승인 요청 수
+    public int getReceivedCount() {
+        return received.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        responder.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, new GatewayPaymentResponse(null, "METHOD_NOT_ALLOWED", "POST만 지원합니다."));
+            return;
+        }
+        received.incrementAndGet();
+        GatewayPaymentRequest request = objectMapper.readValue(exchange.getRequestBody().readAllBytes(), GatewayPaymentRequest.class);
+        Behavior behavior = behavior(request.getPaymentMethod());
+        long latency = behavior.latencyMillis >= 0 ? behavior.latencyMillis : defaultLatencyMillis;
+
+        responder.schedule(() -> {
+            double dice = ThreadLocalRandom.current().nextDouble();
+            if (dice < behavior.failureRate) {
+                respond(exchange, 500, new GatewayPaymentResponse(null, "GATEWAY_ERROR", "결제 시스템 오류입니다."));
+            } else if (dice < behavior.failureRate + behavior.declineRate) {
+                respond(exchange, 402, new GatewayPaymentResponse(null, "DECLINED", "결제가 거절되었습니다."));
+            } else {
+                respond(exchange, 200, new GatewayPaymentResponse("tx-" + transactionIds.getAndIncrement(), null, null));
+            }
+        }, latency, TimeUnit.MILLISECONDS);
+    }
+
+    private void respond(HttpExchange exchange, int status, GatewayPaymentResponse body) {
+        try (OutputStream out = exchange.getResponseBody()) {
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            out.write(bytes);
+        } catch (IOException e) {
+            // 클라이언트가 먼저 끊음 (타임아웃 등)
+            log.debug("결제 스텁 응답 실패", e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Behavior behavior(String paymentMethod) {
+        return behaviors.computeIfAbsent(String.valueOf(paymentMethod), k -> new Behavior());
+    }
+
+    // 결제 수단별 응답 방식
+    private static final class Behavior {
+        private volatile long latencyMillis = -1;
+        private volatile double failureRate;
+        private volatile double declineRate;
+    }
+}
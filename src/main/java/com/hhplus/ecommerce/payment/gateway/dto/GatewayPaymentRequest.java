@@ -0,0 +1,15 @@
+package com.hhplus.ecommerce.payment.gateway.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 결제 시스템 승인 요청 본문
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GatewayPaymentRequest {
+    private Long orderId;
+    private Long amount;
+    private String paymentMethod;
+}
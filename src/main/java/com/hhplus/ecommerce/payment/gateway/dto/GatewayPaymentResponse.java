@@ -0,0 +1,15 @@
+package com.hhplus.ecommerce.payment.gateway.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 결제 시스템 승인 응답 본문 (200: 승인, 402: 거절)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GatewayPaymentResponse {
+    private String transactionId;
+    private String code;
+    private String message;
+}
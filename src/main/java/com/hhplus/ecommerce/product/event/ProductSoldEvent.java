@@ -0,0 +1,21 @@
+package com.hhplus.ecommerce.product.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 상품 옵션이 판매되어 재고가 줄었음을 알리는 이벤트.
+ * 재고는 변경 후의 값(remainingStock)을 담으므로, 같은 이벤트를 두 번 받아도 재고는 같다.
+ * 판매를 로그에 남기지 못해 되돌릴 때는 quantity가 음수인 이벤트가 발행된다.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductSoldEvent {
+    private long sequence;       // 쓰기 측 변경 순번 (1부터 증가)
+    private long productId;
+    private long optionId;
+    private int quantity;
+    private int remainingStock;
+    private long epochDay;       // 판매일 (LocalDate.toEpochDay)
+    private long occurredAt;     // 발생 시각 (epoch millis)
+}
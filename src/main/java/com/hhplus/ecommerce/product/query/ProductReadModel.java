@@ -0,0 +1,312 @@
+package com.hhplus.ecommerce.product.query;
+
+import com.hhplus.ecommerce.common.cache.SingleFlightCache;
+import com.hhplus.ecommerce.common.collection.LongIntHashMap;
+import com.hhplus.ecommerce.common.collection.LongObjectHashMap;
+import com.hhplus.ecommerce.product.dto.ProductDetailResponseDto;
+import com.hhplus.ecommerce.product.dto.ProductListResponseDto;
+import com.hhplus.ecommerce.product.dto.ProductPopularResponseDto;
+import com.hhplus.ecommerce.product.event.ProductSoldEvent;
+import com.hhplus.ecommerce.product.search.ProductSearchIndex;
+import com.hhplus.ecommerce.product.store.ProductInfo;
+import com.hhplus.ecommerce.product.store.ProductStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 상품 조회 전용 읽기 모델 (CQRS의 query 측).
+ *
+ * ProductStore가 발행한 이벤트를 큐에 쌓아 두고, 전용 projector 스레드가 모아서 반영한 뒤
+ * 목록/상세 응답을 불변 객체로 만들어 한 번에 교체한다.
+ * 인기 상품은 집계 비용이 커서 배치마다 만들지 않고, 조회 시 계산해 SingleFlightCache에 잠시 보관한다.
+ * 상품 검색 색인(ProductSearchIndex)도 같은 배치에서 변경된 상품만 갱신한다.
+ * 조회는 volatile 참조 하나만 읽으므로 쓰기 측의 잠금이나 projector를 기다리지 않는다.
+ * 대신 쓰기 직후의 조회에는 반영되지 않았을 수 있으며, 그 지연 시간은 getLagMillis()로 확인한다.
+ * 초기 상태는 WAL 복구가 끝난 쓰기 모델에서 가져오므로 DurabilityManager 다음에 초기화한다.
+ */
+@Slf4j
+@Component
+@DependsOn("durabilityManager")
+public class ProductReadModel {
+
+    private static final int MAX_BATCH = 10_000;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int MAX_POPULAR_DAYS = 30;
+
+    // 이전 기간 집계 (Mock) - 실시간 판매량이 여기에 더해짐
+    private static final Map<Integer, List<ProductPopularResponseDto>> POPULAR_BASELINE = new HashMap<>() {{
+        // 최근 1일 인기 상품 (신상품이 인기)
+        put(1, List.of(
+                new ProductPopularResponseDto(5L, "조거팬츠", 85),
+                new ProductPopularResponseDto(3L, "후드티", 72),
+                new ProductPopularResponseDto(1L, "기본 티셔츠", 65),
+                new ProductPopularResponseDto(4L, "맨투맨", 48),
+                new ProductPopularResponseDto(2L, "청바지", 35)
+        ));
+        // 최근 3일 인기 상품 (기본 상품이 누적으로 많음)
+        put(3, List.of(
+                new ProductPopularResponseDto(1L, "기본 티셔츠", 120),
+                new ProductPopularResponseDto(2L, "청바지", 98),
+                new ProductPopularResponseDto(3L, "후드티", 85),
+                new ProductPopularResponseDto(4L, "맨투맨", 72),
+                new ProductPopularResponseDto(5L, "조거팬츠", 65)
+        ));
+        // 최근 7일 인기 상품 (장기적으로는 청바지가 1위)
+        put(7, List.of(
+                new ProductPopularResponseDto(2L, "청바지", 245),
+                new ProductPopularResponseDto(1L, "기본 티셔츠", 230),
+                new ProductPopularResponseDto(3L, "후드티", 165),
+                new ProductPopularResponseDto(5L, "조거팬츠", 142),
+                new ProductPopularResponseDto(4L, "맨투맨", 128)
+        ));
+        // 최근 30일 인기 상품 (한 달 누적)
+        put(30, List.of(
+                new ProductPopularResponseDto(1L, "기본 티셔츠", 980),
+                new ProductPopularResponseDto(2L, "청바지", 856),
+                new ProductPopularResponseDto(3L, "후드티", 723),
+                new ProductPopularResponseDto(5L, "조거팬츠", 645),
+                new ProductPopularResponseDto(4L, "맨투맨", 512)
+        ));
+    }};
+
+    private final ProductStore productStore;
+    private final long maxStalenessMs;
+    private final SingleFlightCache<Integer, List<ProductPopularResponseDto>> popularCache;
+    private final Queue<ProductSoldEvent> pending = new ConcurrentLinkedQueue<>();
+    private final Thread projector;
+    private final ProductSearchIndex searchIndex = new ProductSearchIndex();
+    private volatile boolean running = true;
+
+    // projector 스레드만 변경하는 상태 (일자별 판매량은 인기 상품 계산 시 조회 스레드도 읽음)
+    private final Map<Long, ProductInfo> catalog = new LinkedHashMap<>();
+    private final LongIntHashMap stocks = new LongIntHashMap();
+    private final LongObjectHashMap<LongIntHashMap> dailySales = new LongObjectHashMap<>();
+    private long prunedEpochDay;
+
+    // 조회용 상태
+    private volatile View view;
+    private volatile long appliedSequence;
+    private volatile long applyingSince; // 반영 중인 가장 오래된 이벤트의 발생 시각 (없으면 0)
+
+    public ProductReadModel(ProductStore productStore,
+                            @Value("${ecommerce.read-model.max-staleness-ms:1000}") long maxStalenessMs,
+                            @Value("${ecommerce.read-model.popular-ttl-ms:5000}") long popularTtlMs) {
+        this.productStore = productStore;
+        this.maxStalenessMs = maxStalenessMs;
+        this.popularCache = new SingleFlightCache<>(this::rank, popularTtlMs, 1.0);
+        this.projector = new Thread(this::projectLoop, "product-projector");
+        this.projector.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        for (ProductInfo product : productStore.findAll()) {
+            catalog.put(product.getProductId(), product);
+        }
+        appliedSequence = productStore.copyTo(stocks, dailySales);
+        publish(catalog.keySet());
+        projector.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        LockSupport.unpark(projector);
+    }
+
+    @EventListener
+    public void on(ProductSoldEvent event) {
+        pending.add(event);
+        LockSupport.unpark(projector);
+    }
+
+    public List<ProductListResponseDto> getProducts() {
+        return view.products;
+    }
+
+    public ProductDetailResponseDto getProduct(Long productId) {
+        return view.details.get(productId);
+    }
+
+    /**
+     * 집계 기간(1, 3, 7, 30일)별 인기 상품 순위.
+     * 캐시가 만료되어도 동시 요청 중 한 번만 계산한다.
+     */
+    public List<ProductPopularResponseDto> getPopular(int days) {
+        if (!POPULAR_BASELINE.containsKey(days)) {
+            return List.of();
+        }
+        return popularCache.get(days);
+    }
+
+    /**
+     * 상품명(q)과 옵션의 색상/사이즈, 상품 상태로 검색한다. 지정하지 않은 조건은 적용하지 않는다.
+     */
+    public List<ProductListResponseDto> search(String query, String color, String size, String status, int limit) {
+        View current = view;
+        List<ProductListResponseDto> result = new ArrayList<>();
+        for (Long productId : searchIndex.search(query, color, size, status, limit)) {
+            ProductListResponseDto product = current.productsById.get(productId);
+            if (product != null) {
+                result.add(product);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 아직 읽기 모델에 반영되지 않은 가장 오래된 변경이 발생한 지 몇 ms 지났는지 (모두 반영되었으면 0)
+     */
+    public long getLagMillis() {
+        long oldest = applyingSince;
+        if (oldest == 0) {
+            ProductSoldEvent head = pending.peek();
+            oldest = head != null ? head.getOccurredAt() : 0;
+        }
+        return oldest == 0 ? 0 : Math.max(0, System.currentTimeMillis() - oldest);
+    }
+
+    /**
+     * 쓰기 측보다 뒤처진 이벤트 수
+     */
+    public long getLagEvents() {
+        return Math.max(0, productStore.getSequence() - appliedSequence);
+    }
+
+    private void projectLoop() {
+        while (running) {
+            pruneExpiredSales();
+            ProductSoldEvent head = pending.peek();
+            if (head == null) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+
+            applyingSince = head.getOccurredAt();
+            Set<Long> touched = new HashSet<>();
+            long sequence = appliedSequence;
+            ProductSoldEvent event;
+            for (int i = 0; i < MAX_BATCH && (event = pending.poll()) != null; i++) {
+                // 초기 상태에 이미 포함된 이벤트는 건너뜀
+                if (event.getSequence() <= sequence) {
+                    continue;
+                }
+                stocks.put(event.getOptionId(), event.getRemainingStock());
+                dailySales.computeIfAbsent(event.getEpochDay(), k -> new LongIntHashMap())
+                        .addAndGet(event.getProductId(), event.getQuantity());
+                touched.add(event.getProductId());
+                sequence = event.getSequence();
+            }
+
+            // 배치 단위로 한 번만 응답을 다시 만들어 교체
+            publish(touched);
+            appliedSequence = sequence;
+
+            long lag = System.currentTimeMillis() - applyingSince;
+            applyingSince = 0;
+            if (lag > maxStalenessMs) {
+                log.warn("상품 읽기 모델 반영 지연: {} ms (허용: {} ms, 대기 이벤트: {})", lag, maxStalenessMs, getLagEvents());
+            }
+        }
+    }
+
+    // 변경된 상품의 상세만 새로 만들고, 목록은 전체를 다시 만든다
+    private void publish(Collection<Long> touched) {
+        View previous = view;
+        Map<Long, ProductDetailResponseDto> details = new HashMap<>();
+        Map<Long, ProductListResponseDto> productsById = new HashMap<>();
+        List<ProductListResponseDto> products = new ArrayList<>(catalog.size());
+        for (ProductInfo product : catalog.values()) {
+            ProductDetailResponseDto detail;
+            if (previous != null && !touched.contains(product.getProductId())) {
+                detail = previous.details.get(product.getProductId());
+            } else {
+                detail = toDetail(product);
+                searchIndex.put(detail);
+            }
+            details.put(product.getProductId(), detail);
+            int totalStock = detail.getOptions().stream().mapToInt(ProductDetailResponseDto.ProductOptionDto::getStock).sum();
+            ProductListResponseDto listed = new ProductListResponseDto(product.getProductId(), product.getName(), product.getPrice(),
+                    detail.getStatus(), totalStock);
+            products.add(listed);
+            productsById.put(product.getProductId(), listed);
+        }
+
+        view = new View(List.copyOf(products), details, productsById);
+    }
+
+    // 날짜가 바뀌면 집계 기간을 벗어난 일자별 판매량 정리
+    private void pruneExpiredSales() {
+        long today = LocalDate.now().toEpochDay();
+        if (today == prunedEpochDay) {
+            return;
+        }
+        List<Long> expired = new ArrayList<>();
+        dailySales.forEach((epochDay, sales) -> {
+            if (epochDay <= today - MAX_POPULAR_DAYS) {
+                expired.add(epochDay);
+            }
+        });
+        expired.forEach(dailySales::remove);
+        prunedEpochDay = today;
+    }
+
+    private ProductDetailResponseDto toDetail(ProductInfo product) {
+        List<ProductDetailResponseDto.ProductOptionDto> options = new ArrayList<>(product.getOptions().size());
+        int totalStock = 0;
+        for (ProductInfo.OptionInfo option : product.getOptions()) {
+            int stock = stocks.get(option.getOptionId(), 0);
+            totalStock += stock;
+            options.add(new ProductDetailResponseDto.ProductOptionDto(option.getOptionId(), option.getColor(), option.getSize(), stock));
+        }
+        // 모든 옵션의 재고가 떨어지면 품절로 표시
+        String status = totalStock == 0 ? "SOLD_OUT" : product.getStatus();
+        return new ProductDetailResponseDto(product.getProductId(), product.getName(), product.getPrice(), status, List.copyOf(options));
+    }
+
+    // 이전 집계에 최근 days일의 판매량을 더해 판매량 순으로 정렬 (동률이면 이전 순위 유지)
+    private List<ProductPopularResponseDto> rank(int days) {
+        Map<Long, Integer> soldCounts = new LinkedHashMap<>();
+        for (ProductPopularResponseDto product : POPULAR_BASELINE.get(days)) {
+            soldCounts.put(product.getId(), product.getSoldCount());
+        }
+        long today = LocalDate.now().toEpochDay();
+        for (long epochDay = today - days + 1; epochDay <= today; epochDay++) {
+            LongIntHashMap sales = dailySales.get(epochDay);
+            if (sales != null) {
+                sales.forEach((productId, sold) -> soldCounts.merge(productId, sold, Integer::sum));
+            }
+        }
+        return soldCounts.entrySet().stream()
+                .filter(entry -> catalog.containsKey(entry.getKey()))
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed())
+                .map(entry -> new ProductPopularResponseDto(entry.getKey(), catalog.get(entry.getKey()).getName(), entry.getValue()))
+                .toList();
+    }
+
+    // 한 번에 교체되는 조회 응답 묶음
+    private static final class View {
+        private final List<ProductListResponseDto> products;
+        private final Map<Long, ProductDetailResponseDto> details;
+        private final Map<Long, ProductListResponseDto> productsById;
+
+        View(List<ProductListResponseDto> products,
+             Map<Long, ProductDetailResponseDto> details,
+             Map<Long, ProductListResponseDto> productsById) {
+            this.products = products;
+            this.details = details;
+            this.productsById = productsById;
+        }
+    }
+}
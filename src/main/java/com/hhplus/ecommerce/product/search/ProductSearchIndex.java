@@ -0,0 +1,434 @@
+package com.hhplus.ecommerce.product.search;
+
+import com.hhplus.ecommerce.common.collection.LongObjectHashMap;
+import com.hhplus.ecommerce.product.dto.ProductDetailResponseDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품 검색용 인메모리 역색인.
+ *
+ * - 문서: 상품 옵션(SKU) 하나가 문서 하나이며, 문서 ID는 추가된 순서대로 증가한다.
+ * - 상품명: 한글은 2글자씩(bigram)과 1글자씩, 영문/숫자는 단어 단위로 토큰을 만들고,
+ *   토큰별 문서 ID 목록(posting)을 차이값 varint로 압축해 저장한다. 한 글자 한글 검색어("티")는 1글자 토큰으로 찾는다.
+ * - 색상/사이즈/상태: 값별 BitSet으로 저장하고, 조회 시 비트 연산으로 교집합을 구한다.
+ * - 변경: 상태만 바뀌면 비트만 옮기고, 상품명/옵션이 바뀌면 기존 문서를 삭제 표시(tombstone)한 뒤 새 문서로 추가한다.
+ *   삭제 표시된 문서가 살아 있는 문서보다 많아지면 살아 있는 상품만으로 색인을 다시 만든다.
+ *
+ * 쓰기(읽기 모델의 projector)는 하나, 조회는 여럿이므로 읽기/쓰기 잠금으로 보호한다.
+ */
+public class ProductSearchIndex {
+
+    // 토큰 종류 (같은 종류의 글자가 이어지면 한 단어)
+    private static final int OTHER = 0;
+    private static final int HANGUL = 1;
+    private static final int WORD = 2;
+
+    // 삭제 표시된 문서가 이 수 이상이고 살아 있는 문서보다 많으면 다시 만듦
+    private static final int COMPACT_MIN_DELETED = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 문서 ID -> 상품 ID
+    private long[] docProducts = new long[1024];
+    private int docCount;
+
+    private Map<String, PostingList> postings = new HashMap<>();
+    private Map<String, BitSet> colors = new HashMap<>();
+    private Map<String, BitSet> sizes = new HashMap<>();
+    private Map<String, BitSet> statuses = new HashMap<>();
+    private BitSet deleted = new BitSet();
+    private int deletedCount;
+
+    // 상품별 색인 내용 (변경 여부 확인용)
+    private final LongObjectHashMap<Indexed> products = new LongObjectHashMap<>();
+
+    /**
+     * 상품을 색인에 추가하거나 갱신한다.
+     */
+    public void put(ProductDetailResponseDto product) {
+        lock.writeLock().lock();
+        try {
+            Indexed previous = products.get(product.getId());
+            if (previous != null && previous.sameDocuments(product)) {
+                if (!previous.status.equals(product.getStatus())) {
+                    for (int doc : previous.docs) {
+                        facet(statuses, previous.status).clear(doc);
+                        facet(statuses, product.getStatus()).set(doc);
+                    }
+                    products.put(product.getId(), previous.withStatus(product.getStatus()));
+                }
+                return;
+            }
+            if (previous != null) {
+                delete(previous);
+            }
+            products.put(product.getId(), add(product.getId(), new Indexed(product, null)));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            Indexed previous = products.remove(productId);
+            if (previous != null) {
+                delete(previous);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 조건을 모두 만족하는 옵션이 있는 상품 ID를 색인 순서대로 최대 limit개 반환한다.
+     * 조건이 null이거나 비어 있으면 그 조건은 적용하지 않는다.
+     */
+    public List<Long> search(String query, String color, String size, String status, int limit) {
+        List<String> terms = query == null ? List.of() : tokenize(query);
+        List<BitSet> filters = new ArrayList<>(3);
+
+        lock.readLock().lock();
+        try {
+            if (!addFilter(filters, colors, color) || !addFilter(filters, sizes, size) || !addFilter(filters, statuses, status)) {
+                return List.of();
+            }
+
+            Collector collector = new Collector(limit);
+            if (!terms.isEmpty()) {
+                // 짧은 posting부터 교집합을 구해 후보를 빠르게 줄임
+                PostingList[] lists = new PostingList[terms.size()];
+                for (int i = 0; i < lists.length; i++) {
+                    lists[i] = postings.get(terms.get(i));
+                    if (lists[i] == null) {
+                        return List.of();
+                    }
+                }
+                Arrays.sort(lists, (a, b) -> Integer.compare(a.count, b.count));
+                PostingList.Cursor[] cursors = new PostingList.Cursor[lists.length];
+                for (int i = 0; i < lists.length; i++) {
+                    cursors[i] = lists[i].cursor();
+                }
+                // 가장 짧은 posting을 따라가며 나머지 posting에도 있는지 확인 (limit개를 채우면 중단)
+                for (int doc = cursors[0].next(); doc >= 0 && !collector.isFull(); doc = cursors[0].next()) {
+                    if (containsAll(cursors, doc)) {
+                        collector.offer(doc, filters);
+                    }
+                }
+            } else if (!filters.isEmpty()) {
+                BitSet matched = (BitSet) filters.get(0).clone();
+                for (int i = 1; i < filters.size(); i++) {
+                    matched.and(filters.get(i));
+                }
+                for (int doc = matched.nextSetBit(0); doc >= 0 && !collector.isFull(); doc = matched.nextSetBit(doc + 1)) {
+                    collector.offer(doc, List.of());
+                }
+            }
+            return collector.productIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어를 토큰으로 나눈다. 한글은 2글자씩, 영문/숫자는 단어 단위이며 한 글자 한글 단어는 그대로 쓴다.
+     */
+    public static List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+
+    // 상품명은 한 글자 검색어로도 찾을 수 있도록 한글을 1글자씩도 색인
+    static List<String> indexTerms(String name) {
+        return tokenize(name, true);
+    }
+
+    private static List<String> tokenize(String text, boolean unigrams) {
+        Set<String> tokens = new LinkedHashSet<>();
+        String normalized = text.toLowerCase(Locale.ROOT);
+        int start = 0;
+        while (start < normalized.length()) {
+            char first = normalized.charAt(start);
+            int type = charType(first);
+            int end = start + 1;
+            while (end < normalized.length() && charType(normalized.charAt(end)) == type) {
+                end++;
+            }
+            if (type == HANGUL) {
+                if (end - start == 1 || unigrams) {
+                    for (int i = start; i < end; i++) {
+                        tokens.add(normalized.substring(i, i + 1));
+                    }
+                }
+                for (int i = start; i + 1 < end; i++) {
+                    tokens.add(normalized.substring(i, i + 2));
+                }
+            } else if (type == WORD) {
+                tokens.add(normalized.substring(start, end));
+            }
+            start = end;
+        }
+        return List.copyOf(tokens);
+    }
+
+    private static boolean containsAll(PostingList.Cursor[] cursors, int doc) {
+        for (int i = 1; i < cursors.length; i++) {
+            if (cursors[i].advanceTo(doc) != doc) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int charType(char c) {
+        if (c >= '가' && c <= '힣') {
+            return HANGUL;
+        }
+        if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+            return WORD;
+        }
+        return OTHER;
+    }
+
+    private Indexed add(long productId, Indexed content) {
+        List<String> terms = indexTerms(content.name);
+        int[] docs = new int[content.colors.size()];
+        for (int i = 0; i < docs.length; i++) {
+            int doc = newDocument(productId);
+            docs[i] = doc;
+            for (String term : terms) {
+                postings.computeIfAbsent(term, k -> new PostingList()).add(doc);
+            }
+            facet(colors, content.colors.get(i)).set(doc);
+            facet(sizes, content.sizes.get(i)).set(doc);
+            facet(statuses, content.status).set(doc);
+        }
+        return content.withDocs(docs);
+    }
+
+    // posting에서 빼는 대신 삭제 표시만 하고, 조회 시 건너뜀
+    private void delete(Indexed indexed) {
+        for (int doc : indexed.docs) {
+            deleted.set(doc);
+            facet(statuses, indexed.status).clear(doc);
+        }
+        deletedCount += indexed.docs.length;
+    }
+
+    // 삭제 표시가 쌓이면 posting/facet/문서 배열에서 빼기 위해 살아 있는 상품만으로 다시 색인 (기존 순서 유지)
+    private void compactIfNeeded() {
+        if (deletedCount < COMPACT_MIN_DELETED || deletedCount <= docCount - deletedCount) {
+            return;
+        }
+        List<Long> productIds = new ArrayList<>(products.size());
+        products.forEach((productId, indexed) -> productIds.add(productId));
+        productIds.sort((a, b) -> Integer.compare(firstDoc(products.get(a)), firstDoc(products.get(b))));
+
+        docProducts = new long[Math.max(1024, docCount - deletedCount)];
+        docCount = 0;
+        postings = new HashMap<>();
+        colors = new HashMap<>();
+        sizes = new HashMap<>();
+        statuses = new HashMap<>();
+        deleted = new BitSet();
+        deletedCount = 0;
+        for (Long productId : productIds) {
+            products.put(productId, add(productId, products.get(productId)));
+        }
+    }
+
+    private static int firstDoc(Indexed indexed) {
+        return indexed.docs.length == 0 ? Integer.MAX_VALUE : indexed.docs[0];
+    }
+
+    // 삭제 표시된 문서를 포함한 문서 수
+    int documentCount() {
+        lock.readLock().lock();
+        try {
+            return docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int newDocument(long productId) {
+        if (docCount == docProducts.length) {
+            docProducts = Arrays.copyOf(docProducts, docProducts.length * 2);
+        }
+        docProducts[docCount] = productId;
+        return docCount++;
+    }
+
+    private static BitSet facet(Map<String, BitSet> facets, String value) {
+        return facets.computeIfAbsent(normalize(value), k -> new BitSet());
+    }
+
+    private static boolean addFilter(List<BitSet> filters, Map<String, BitSet> facets, String value) {
+        if (value == null || value.isBlank()) {
+            return true;
+        }
+        BitSet bits = facets.get(normalize(value));
+        if (bits == null) {
+            return false;
+        }
+        filters.add(bits);
+        return true;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    // 조건을 통과한 문서를 상품 단위로 모음 (한 상품의 옵션 문서는 연속된 ID를 가짐)
+    private final class Collector {
+        private final int limit;
+        private final List<Long> productIds = new ArrayList<>();
+        private long lastProductId = -1;
+
+        Collector(int limit) {
+            this.limit = limit;
+        }
+
+        boolean isFull() {
+            return productIds.size() >= limit;
+        }
+
+        void offer(int doc, List<BitSet> filters) {
+            if (deleted.get(doc)) {
+                return;
+            }
+            for (BitSet filter : filters) {
+                if (!filter.get(doc)) {
+                    return;
+                }
+            }
+            long productId = docProducts[doc];
+            if (productId != lastProductId) {
+                productIds.add(productId);
+                lastProductId = productId;
+            }
+        }
+    }
+
+    // 오름차순 문서 ID 목록을 이전 ID와의 차이값 varint로 압축한 posting
+    private static final class PostingList {
+        private byte[] bytes = new byte[8];
+        private int length;
+        private int count;
+        private int lastDoc = -1;
+
+        void add(int doc) {
+            if (doc == lastDoc) {
+                return;
+            }
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            int delta = doc - lastDoc;
+            while ((delta & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            bytes[length++] = (byte) delta;
+            lastDoc = doc;
+            count++;
+        }
+
+        Cursor cursor() {
+            return new Cursor();
+        }
+
+        // 앞에서부터 차례로 압축을 풀며 읽는 위치
+        final class Cursor {
+            private int position;
+            private int read;
+            private int doc = -1;
+
+            // 다음 문서 ID (끝이면 -1)
+            int next() {
+                if (read == count) {
+                    return -1;
+                }
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                read++;
+                doc += delta;
+                return doc;
+            }
+
+            // target 이상인 첫 문서 ID까지 이동 (끝이면 -1)
+            int advanceTo(int target) {
+                while (doc < target) {
+                    if (next() < 0) {
+                        return -1;
+                    }
+                }
+                return doc;
+            }
+        }
+    }
+
+    // 상품 하나의 색인 내용
+    private static final class Indexed {
+        private final String name;
+        private final String status;
+        private final List<String> colors;
+        private final List<String> sizes;
+        private final int[] docs;
+
+        Indexed(ProductDetailResponseDto product, int[] docs) {
+            this(product.getName(), product.getStatus(),
+                    product.getOptions().stream().map(ProductDetailResponseDto.ProductOptionDto::getColor).toList(),
+                    product.getOptions().stream().map(ProductDetailResponseDto.ProductOptionDto::getSize).toList(),
+                    docs);
+        }
+
+        Indexed(String name, String status, List<String> colors, List<String> sizes, int[] docs) {
+            this.name = name;
+            this.status = status;
+            this.colors = colors;
+            this.sizes = sizes;
+            this.docs = docs;
+        }
+
+        // 상품명과 옵션 구성이 같으면 문서를 다시 만들 필요가 없음
+        boolean sameDocuments(ProductDetailResponseDto product) {
+            if (!name.equals(product.getName()) || docs.length != product.getOptions().size()) {
+                return false;
+            }
+            for (int i = 0; i < docs.length; i++) {
+                ProductDetailResponseDto.ProductOptionDto option = product.getOptions().get(i);
+                if (!colors.get(i).equals(option.getColor()) || !sizes.get(i).equals(option.getSize())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Indexed withStatus(String status) {
+            return new Indexed(name, status, colors, sizes, docs);
+        }
+
+        Indexed withDocs(int[] docs) {
+            return new Indexed(name, status, colors, sizes, docs);
+        }
+    }
+}
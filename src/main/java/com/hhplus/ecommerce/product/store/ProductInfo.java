@@ -0,0 +1,24 @@
+package com.hhplus.ecommerce.product.store;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ProductInfo {
+    private Long productId;
+    private String name;
+    private Integer price;
+    private String status;
+    private List<OptionInfo> options;
+
+    @Getter
+    @AllArgsConstructor
+    public static class OptionInfo {
+        private Long optionId;
+        private String color;
+        private String size;
+    }
+}
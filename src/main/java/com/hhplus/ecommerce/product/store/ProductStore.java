@@ -0,0 +1,353 @@
+package com.hhplus.ecommerce.product.store;
+
+import com.hhplus.ecommerce.common.collection.LongIntHashMap;
+import com.hhplus.ecommerce.common.collection.LongLongHashMap;
+import com.hhplus.ecommerce.common.collection.LongObjectHashMap;
+import com.hhplus.ecommerce.common.diagnostics.StockReservationEvent;
+import com.hhplus.ecommerce.common.persistence.DurableStore;
+import com.hhplus.ecommerce.common.persistence.Journal;
+import com.hhplus.ecommerce.common.quota.ClusterQuota;
+import com.hhplus.ecommerce.common.soldout.SoldOutRegistry;
+import com.hhplus.ecommerce.product.event.ProductSoldEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상품 저장소 - 쓰기 측(command) 모델 (인메모리 + WAL).
+ * 옵션별 재고와 일자별 판매량을 관리하고, 변경될 때마다 ProductSoldEvent를 발행한다.
+ * 상품 조회 API는 이 저장소가 아니라 이벤트로 갱신되는 ProductReadModel을 읽는다.
+ */
+@Component
+public class ProductStore implements DurableStore {
+
+    private static final byte STORE_ID = 4;
+    private static final byte SALE = 1;
+
+    private final Journal journal;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClusterQuota clusterQuota;
+    private final SoldOutRegistry soldOutRegistry;
+
+    // 상품 카탈로그 (변경 없음)
+    private final List<ProductInfo> products = List.of(
+            new ProductInfo(1L, "기본 티셔츠", 29000, "ACTIVE", List.of(
+                    new ProductInfo.OptionInfo(1L, "RED", "M"),
+                    new ProductInfo.OptionInfo(2L, "BLUE", "L"),
+                    new ProductInfo.OptionInfo(3L, "BLACK", "XL")
+            )),
+            new ProductInfo(2L, "청바지", 59000, "ACTIVE", List.of(
+                    new ProductInfo.OptionInfo(4L, "BLUE", "28"),
+                    new ProductInfo.OptionInfo(5L, "BLUE", "30"),
+                    new ProductInfo.OptionInfo(6L, "BLACK", "32")
+            )),
+            new ProductInfo(3L, "후드티", 45000, "ACTIVE", List.of(
+                    new ProductInfo.OptionInfo(7L, "GRAY", "M"),
+                    new ProductInfo.OptionInfo(8L, "NAVY", "L"),
+                    new ProductInfo.OptionInfo(9L, "BLACK", "XL")
+            )),
+            new ProductInfo(4L, "맨투맨", 39000, "ACTIVE", List.of(
+                    new ProductInfo.OptionInfo(10L, "WHITE", "M"),
+                    new ProductInfo.OptionInfo(11L, "BEIGE", "L")
+            )),
+            new ProductInfo(5L, "조거팬츠", 35000, "ACTIVE", List.of(
+                    new ProductInfo.OptionInfo(12L, "BLACK", "M"),
+                    new ProductInfo.OptionInfo(13L, "GRAY", "L")
+            )),
+            new ProductInfo(999L, "품절 상품", 10000, "SOLD_OUT", List.of(
+                    new ProductInfo.OptionInfo(14L, "RED", "M")
+            ))
+    );
+
+    // 옵션이 속한 상품 (optionId -> productId)
+    private final LongLongHashMap optionProducts = new LongLongHashMap();
+
+    // 옵션별 재고 (optionId -> 재고)
+    private final LongIntHashMap stocks = new LongIntHashMap();
+
+    // 일자별 판매량 (epochDay -> (productId -> 판매 수량))
+    private final LongObjectHashMap<LongIntHashMap> dailySales = new LongObjectHashMap<>();
+
+    // 마지막으로 발행한 이벤트 순번
+    private volatile long sequence;
+
+    public ProductStore(Journal journal, ApplicationEventPublisher eventPublisher,
+                        ClusterQuota clusterQuota, SoldOutRegistry soldOutRegistry) {
+        this.journal = journal;
+        this.eventPublisher = eventPublisher;
+        this.clusterQuota = clusterQuota;
+        this.soldOutRegistry = soldOutRegistry;
+
+        for (ProductInfo product : products) {
+            for (ProductInfo.OptionInfo option : product.getOptions()) {
+                optionProducts.put(option.getOptionId(), product.getProductId());
+            }
+        }
+
+        // 초기 Mock 데이터: 옵션별 재고 (복구할 스냅샷이 있으면 교체됨)
+        stocks.put(1L, 50);
+        stocks.put(2L, 30);
+        stocks.put(3L, 0);   // 품절
+        stocks.put(4L, 15);
+        stocks.put(5L, 10);
+        stocks.put(6L, 5);
+        stocks.put(7L, 20);
+        stocks.put(8L, 15);
+        stocks.put(9L, 10);
+        stocks.put(10L, 8);
+        stocks.put(11L, 7);
+        stocks.put(12L, 25);
+        stocks.put(13L, 20);
+        stocks.put(14L, 0);  // 품절
+
+        // 여러 서버로 운영할 때 나눠 쓸 재고
+        stocks.forEach((optionId, stock) -> {
+            clusterQuota.register(quotaKey(optionId), stock);
+            markIfSoldOut(optionId, stock);
+        });
+    }
+
+    public List<ProductInfo> findAll() {
+        return products;
+    }
+
+    public boolean hasOption(long optionId) {
+        return optionProducts.containsKey(optionId);
+    }
+
+    public int getStock(Long optionId) {
+        return stocks.get(optionId, 0);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * 잠금 없이 재고를 확인해 부족한 옵션 ID를 반환한다. (모두 충분하면 null)
+     * 차감은 하지 않으므로 통과해도 sell에서 다시 부족할 수 있다.
+     */
+    public Long findOutOfStock(Map<Long, Integer> quantities) {
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (!optionProducts.containsKey(entry.getKey()) || stocks.get(entry.getKey(), 0) < entry.getValue()) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 주문된 옵션들의 재고를 한꺼번에 차감한다. (optionId -> 수량)
+     * 하나라도 재고가 부족하면 아무것도 차감하지 않고 그 옵션 ID를 반환하며, 모두 차감되면 null을 반환한다.
+     * 다른 서버와 나눠 쓰는 재고(DB) 확보는 잠금 밖에서 하고, 잠금 안에서는 인메모리 재고만 확인하고 차감한다.
+     * 로그 기록(fsync)도 잠금 밖에서 기다리며, 실패하면 차감한 재고와 판매량을 되돌리고 예외를 그대로 던진다.
+     */
+    public Long sell(Map<Long, Integer> quantities) {
+        List<ProductSoldEvent> events = new ArrayList<>(quantities.size());
+        List<long[]> sales = new ArrayList<>(quantities.size());
+        // JFR 이벤트 (녹화 중이 아니면 기록하지 않음)
+        StockReservationEvent reservation = new StockReservationEvent();
+        reservation.begin();
+
+        // 부족한 게 보이면 DB를 거치지 않고 바로 거절
+        Long outOfStockOptionId = findOutOfStock(quantities);
+        if (outOfStockOptionId != null) {
+            reservation.commit(quantities, outOfStockOptionId, "OUT_OF_STOCK");
+            return outOfStockOptionId;
+        }
+
+        // 다른 서버들과 함께 쓰는 재고도 확보 (하나라도 부족하면 확보한 것을 돌려줌)
+        List<Long> acquired = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (!clusterQuota.tryAcquire(quotaKey(entry.getKey()), entry.getValue())) {
+                releaseQuota(acquired, quantities);
+                reservation.commit(quantities, entry.getKey(), "QUOTA_EXHAUSTED");
+                return entry.getKey();
+            }
+            acquired.add(entry.getKey());
+        }
+
+        // 여러 옵션을 함께 차감해야 하므로 쓰기 측은 한 번에 하나씩 처리 (조회는 읽기 모델이 담당)
+        long lockRequestedAt = reservation.lockRequested();
+        synchronized (this) {
+            reservation.lockAcquired(lockRequestedAt);
+            // 확인 이후 다른 주문이 먼저 차감했을 수 있으므로 잠금 안에서 다시 확인
+            outOfStockOptionId = findOutOfStock(quantities);
+            if (outOfStockOptionId == null) {
+                long epochDay = LocalDate.now().toEpochDay();
+                long now = System.currentTimeMillis();
+                for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                    long optionId = entry.getKey();
+                    int quantity = entry.getValue();
+                    long productId = optionProducts.get(optionId, 0);
+                    int remaining = stocks.addAndGet(optionId, -quantity);
+                    int sold = dailySales.computeIfAbsent(epochDay, k -> new LongIntHashMap()).addAndGet(productId, quantity);
+
+                    events.add(new ProductSoldEvent(++sequence, productId, optionId, quantity, remaining, epochDay, now));
+                    sales.add(new long[]{optionId, remaining, productId, epochDay, sold});
+                }
+                // 순번 순서대로 읽기 모델에 도착하도록 잠금 안에서 발행 (리스너는 큐에 넣기만 함)
+                events.forEach(eventPublisher::publishEvent);
+            }
+        }
+        if (outOfStockOptionId != null) {
+            releaseQuota(acquired, quantities);
+            reservation.commit(quantities, outOfStockOptionId, "OUT_OF_STOCK");
+            return outOfStockOptionId;
+        }
+
+        try {
+            journal.append(this, out -> {
+                out.writeByte(SALE);
+                out.writeInt(sales.size());
+                for (long[] sale : sales) {
+                    out.writeLong(sale[0]);
+                    out.writeInt((int) sale[1]);
+                    out.writeLong(sale[2]);
+                    out.writeLong(sale[3]);
+                    out.writeInt((int) sale[4]);
+                }
+            });
+        } catch (RuntimeException e) {
+            restore(sales, quantities);
+            releaseQuota(acquired, quantities);
+            reservation.commit(quantities, 0, "JOURNAL_FAILED");
+            throw e;
+        }
+        // 품절 표시는 되돌릴 수 없으므로 로그에 남은 뒤에 함
+        for (long[] sale : sales) {
+            markIfSoldOut(sale[0], (int) sale[1]);
+        }
+        reservation.commit(quantities, 0, "RESERVED");
+        return null;
+    }
+
+    // 로그에 남기지 못한 판매를 되돌리고, 읽기 모델도 되돌리도록 수량이 음수인 이벤트를 발행
+    private synchronized void restore(List<long[]> sales, Map<Long, Integer> quantities) {
+        long now = System.currentTimeMillis();
+        for (long[] sale : sales) {
+            long optionId = sale[0];
+            long productId = sale[2];
+            long epochDay = sale[3];
+            int quantity = quantities.get(optionId);
+            int remaining = stocks.addAndGet(optionId, quantity);
+            dailySales.get(epochDay).addAndGet(productId, -quantity);
+            eventPublisher.publishEvent(new ProductSoldEvent(++sequence, productId, optionId, -quantity, remaining, epochDay, now));
+        }
+    }
+
+    /**
+     * 현재 재고와 일자별 판매량을 복사하고, 복사 시점의 이벤트 순번을 반환한다.
+     * 읽기 모델은 이 순번 이후의 이벤트만 적용하면 된다.
+     */
+    public synchronized long copyTo(LongIntHashMap stockCopy, LongObjectHashMap<LongIntHashMap> dailySalesCopy) {
+        stocks.forEach(stockCopy::put);
+        dailySales.forEach((epochDay, sales) -> {
+            LongIntHashMap copy = dailySalesCopy.computeIfAbsent(epochDay, k -> new LongIntHashMap());
+            sales.forEach(copy::put);
+        });
+        return sequence;
+    }
+
+    // 재고는 다시 늘지 않으므로, 0이 되면 이후 장바구니 담기는 SoldOutRegistry에서 바로 거절
+    private void markIfSoldOut(long optionId, int stock) {
+        if (stock == 0) {
+            soldOutRegistry.optionSoldOut(optionId);
+        }
+    }
+
+    private void releaseQuota(List<Long> optionIds, Map<Long, Integer> quantities) {
+        for (Long optionId : optionIds) {
+            clusterQuota.release(quotaKey(optionId), quantities.get(optionId));
+        }
+    }
+
+    private static String quotaKey(long optionId) {
+        return "stock:" + optionId;
+    }
+
+    @Override
+    public byte storeId() {
+        return STORE_ID;
+    }
+
+    @Override
+    public void writeSnapshot(DataOutput out) throws IOException {
+        try {
+            stocks.forEach((optionId, stock) -> {
+                try {
+                    out.writeBoolean(true);
+                    out.writeLong(optionId);
+                    out.writeInt(stock);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.writeBoolean(false);
+            dailySales.forEach((epochDay, sales) -> sales.forEach((productId, sold) -> {
+                try {
+                    out.writeBoolean(true);
+                    out.writeLong(epochDay);
+                    out.writeLong(productId);
+                    out.writeInt(sold);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            out.writeBoolean(false);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public void readSnapshot(DataInput in) throws IOException {
+        stocks.clear();
+        dailySales.clear();
+        soldOutRegistry.clearOptions();
+
+        while (in.readBoolean()) {
+            long optionId = in.readLong();
+            int stock = in.readInt();
+            stocks.put(optionId, stock);
+            markIfSoldOut(optionId, stock);
+        }
+        while (in.readBoolean()) {
+            long epochDay = in.readLong();
+            dailySales.computeIfAbsent(epochDay, k -> new LongIntHashMap()).put(in.readLong(), in.readInt());
+        }
+    }
+
+    @Override
+    public void replay(DataInput in) throws IOException {
+        byte type = in.readByte();
+        if (type != SALE) {
+            throw new IOException("알 수 없는 상품 로그입니다. (type: " + type + ")");
+        }
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            long optionId = in.readLong();
+            int remaining = in.readInt();
+            long productId = in.readLong();
+            long epochDay = in.readLong();
+            int sold = in.readInt();
+            // 재고는 줄어들기만 하고 판매량은 늘어나기만 하므로, 최솟값/최댓값을 취하면 순서/중복과 무관하게 같은 결과
+            if (!stocks.containsKey(optionId) || stocks.get(optionId, 0) > remaining) {
+                stocks.put(optionId, remaining);
+                markIfSoldOut(optionId, remaining);
+            }
+            LongIntHashMap sales = dailySales.computeIfAbsent(epochDay, k -> new LongIntHashMap());
+            if (sales.get(productId, 0) < sold) {
+                sales.put(productId, sold);
+            }
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.hhplus.ecommerce.product.stream;
+
+import com.hhplus.ecommerce.common.collection.LongIntHashMap;
+import com.hhplus.ecommerce.common.collection.LongObjectHashMap;
+import com.hhplus.ecommerce.product.event.ProductSoldEvent;
+import com.hhplus.ecommerce.product.store.ProductStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 옵션별 재고 변경을 SSE로 구독자에게 보내는 허브.
+ *
+ * 재고 변경 이벤트는 옵션별 최신 값으로만 모아 두고(coalescing), interval마다 한 번 전송한다.
+ * 전송할 SSE 프레임은 옵션당 한 번만 만들고 같은 byte[]를 그 옵션의 모든 구독자에게 그대로 쓰므로,
+ * 구독자 수가 많아도 직렬화 비용은 변경된 옵션 수에만 비례한다.
+ *
+ * 모으기와 직렬화는 전용 스레드 하나가 담당하고, 실제 쓰기는 구독자별 대기열을 거쳐 전송 스레드 풀에서 한다.
+ * 대기열은 옵션별 최신 프레임만 남기므로 느린 구독자에게 쌓이는 양은 구독한 옵션 수를 넘지 않고,
+ * 한 구독자의 쓰기는 한 번에 한 스레드만 하므로 구독자별 전송 순서(초기 재고 -> 변경분)가 보장된다.
+ * 쓰기 하나가 sendTimeout을 넘기면 그 구독자는 끊고, 쓰던 스레드를 인터럽트한다.
+ * 인터럽트에 응하지 않는 컨테이너(Tomcat은 소켓 쓰기 제한 시간까지 기다림)에서는 그 스레드를 풀에서 빼고
+ * 대신할 전송 스레드를 하나 늘리므로, 막힌 구독자가 전송 스레드 수보다 많아도 다른 구독자의 전송이 멈추지 않는다.
+ * 막힌 쓰기가 끝나면 그 스레드가 연결을 오류로 닫고 풀은 원래 크기로 돌아간다.
+ * (ResponseBodyEmitter는 쓰기와 닫기가 같은 잠금을 쓰므로, 쓰는 중인 연결을 다른 스레드에서 먼저 닫을 수는 없다)
+ */
+@Slf4j
+@Component
+public class StockStreamHub {
+
+    private static final byte[] HEARTBEAT = ": ping\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final long HEARTBEAT_SECONDS = 15;
+    private static final long HEARTBEAT_KEY = -1;
+
+    private final ProductStore productStore;
+    private final long intervalMs;
+    private final long timeoutMs;
+    private final long sendTimeoutNanos;
+    private final ScheduledExecutorService sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stock-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ThreadPoolExecutor writers;
+
+    // optionId -> 구독자
+    private final LongObjectHashMap<Set<Subscriber>> subscribers = new LongObjectHashMap<>();
+    private final Set<Subscriber> connected = ConcurrentHashMap.newKeySet();
+
+    // 마지막 전송 이후 바뀐 재고 (optionId -> 최신 재고), this로 보호
+    private LongIntHashMap changed = new LongIntHashMap();
+
+    public StockStreamHub(ProductStore productStore,
+                          @Value("${ecommerce.stock-stream.interval-ms:200}") long intervalMs,
+                          @Value("${ecommerce.stock-stream.timeout-ms:1800000}") long timeoutMs,
+                          @Value("${ecommerce.stock-stream.send-threads:8}") int sendThreads,
+                          @Value("${ecommerce.stock-stream.send-timeout-ms:5000}") long sendTimeoutMs) {
+        this.productStore = productStore;
+        this.intervalMs = intervalMs;
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        AtomicInteger sequence = new AtomicInteger();
+        this.writers = new ThreadPoolExecutor(sendThreads, sendThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "stock-stream-send-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        sender.scheduleWithFixedDelay(this::flush, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        sender.scheduleWithFixedDelay(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        sender.scheduleWithFixedDelay(this::evictStalled, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sender.shutdownNow();
+        writers.shutdownNow();
+        connected.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    public boolean isKnownOption(long optionId) {
+        return productStore.hasOption(optionId);
+    }
+
+    /**
+     * 옵션들의 재고 변경을 구독한다. 연결 직후 현재 재고를 한 번 보내고, 이후에는 바뀐 옵션만 보낸다.
+     */
+    public ResponseBodyEmitter subscribe(long[] optionIds) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMs);
+        subscribe(emitter, optionIds);
+        return emitter;
+    }
+
+    void subscribe(ResponseBodyEmitter emitter, long[] optionIds) {
+        Subscriber subscriber = new Subscriber(emitter, optionIds);
+        for (long optionId : optionIds) {
+            subscribers.computeIfAbsent(optionId, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        connected.add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        // 등록 후 전송 스레드에서 현재 재고를 읽어 보내므로, 이후 변경분보다 오래된 값이 늦게 도착하지 않음
+        sender.execute(() -> {
+            for (long optionId : optionIds) {
+                enqueue(subscriber, optionId, frame(optionId, productStore.getStock(optionId)));
+            }
+        });
+    }
+
+    public int getSubscriberCount() {
+        return connected.size();
+    }
+
+    // ProductStore의 잠금 안에서 호출되므로 최신 값만 기록
+    @EventListener
+    public void on(ProductSoldEvent event) {
+        synchronized (this) {
+            changed.put(event.getOptionId(), event.getRemainingStock());
+        }
+    }
+
+    private void flush() {
+        LongIntHashMap batch;
+        synchronized (this) {
+            if (changed.size() == 0) {
+                return;
+            }
+            batch = changed;
+            changed = new LongIntHashMap();
+        }
+        try {
+            batch.forEach((optionId, stock) -> {
+                Set<Subscriber> targets = subscribers.get(optionId);
+                if (targets == null || targets.isEmpty()) {
+                    return;
+                }
+                // 옵션당 한 번만 직렬화하고 모든 구독자에게 같은 프레임을 보냄
+                byte[] frame = frame(optionId, stock);
+                for (Subscriber subscriber : targets) {
+                    enqueue(subscriber, optionId, frame);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("재고 변경 전송 실패", e);
+        }
+    }
+
+    // 끊긴 연결을 찾아 정리하고, 프록시가 유휴 연결을 끊지 않도록 주기적으로 주석 프레임을 보냄
+    private void heartbeat() {
+        connected.forEach(subscriber -> enqueue(subscriber, HEARTBEAT_KEY, HEARTBEAT));
+    }
+
+    // 쓰기 하나가 sendTimeout을 넘긴 구독자를 끊고, 막힌 쓰기를 깨우거나 그 스레드 몫의 전송 스레드를 늘림
+    private void evictStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : connected) {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > sendTimeoutNanos) {
+                log.warn("재고 구독자의 전송이 {} ms 넘게 끝나지 않아 연결을 끊습니다.",
+                        TimeUnit.NANOSECONDS.toMillis(now - since));
+                subscriber.stalled = true;
+                unsubscribe(subscriber);
+                if (subscriber.abandon()) {
+                    resizeWriters(1);
+                } else {
+                    // 그사이 쓰기가 끝나 전송 중이 아니면, 빈 전송을 시작해 연결을 닫음
+                    enqueue(subscriber, HEARTBEAT_KEY, HEARTBEAT);
+                }
+            }
+        }
+    }
+
+    // 포기한 쓰기가 붙잡은 스레드만큼 풀 크기를 늘리고, 그 쓰기가 끝나면 줄임
+    private void resizeWriters(int delta) {
+        synchronized (writers) {
+            if (delta > 0) {
+                writers.setMaximumPoolSize(writers.getMaximumPoolSize() + delta);
+                writers.setCorePoolSize(writers.getCorePoolSize() + delta);
+            } else {
+                writers.setCorePoolSize(writers.getCorePoolSize() + delta);
+                writers.setMaximumPoolSize(writers.getMaximumPoolSize() + delta);
+            }
+        }
+    }
+
+    // 옵션별 최신 프레임만 남기고, 전송 중이 아니면 전송 스레드에 맡김
+    private void enqueue(Subscriber subscriber, long key, byte[] frame) {
+        if (subscriber.offer(key, frame)) {
+            try {
+                writers.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                unsubscribe(subscriber);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        byte[][] frames;
+        while ((frames = subscriber.poll()) != null) {
+            for (byte[] frame : frames) {
+                // 끊긴 구독자에게 남은 프레임은 버림
+                if (connected.contains(subscriber)) {
+                    send(subscriber, frame);
+                }
+            }
+        }
+        if (!connected.contains(subscriber)) {
+            if (subscriber.stalled) {
+                subscriber.emitter.completeWithError(new TimeoutException("재고 전송 시간 초과"));
+            } else {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    private void send(Subscriber subscriber, byte[] frame) {
+        subscriber.startSending();
+        try {
+            subscriber.emitter.send(frame, MediaType.TEXT_EVENT_STREAM);
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(subscriber);
+        } finally {
+            if (subscriber.finishSending()) {
+                resizeWriters(-1);
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!connected.remove(subscriber)) {
+            return;
+        }
+        for (long optionId : subscriber.optionIds) {
+            Set<Subscriber> targets = subscribers.get(optionId);
+            if (targets != null) {
+                targets.remove(subscriber);
+            }
+        }
+    }
+
+    private static byte[] frame(long optionId, int stock) {
+        return ("event: stock\ndata: {\"optionId\":" + optionId + ",\"stock\":" + stock + "}\n\n")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class Subscriber {
+        private final ResponseBodyEmitter emitter;
+        private final long[] optionIds;
+        // 보낼 프레임 (optionId -> 최신 프레임), this로 보호
+        private final Map<Long, byte[]> pending = new LinkedHashMap<>();
+        private boolean draining;
+        // 진행 중인 쓰기의 시작 시각 (쓰는 중이 아니면 0)
+        private volatile long sendingSince;
+        // 진행 중인 쓰기를 하는 스레드와, 그 쓰기를 포기했는지 여부. this로 보호
+        private Thread sendingThread;
+        private boolean abandoned;
+        // 쓰기 시간 초과로 끊겼으면 true (연결을 오류로 닫음)
+        private volatile boolean stalled;
+
+        Subscriber(ResponseBodyEmitter emitter, long[] optionIds) {
+            this.emitter = emitter;
+            this.optionIds = optionIds;
+        }
+
+        // 프레임을 넣고, 전송을 새로 시작해야 하면 true
+        synchronized boolean offer(long key, byte[] frame) {
+            pending.put(key, frame);
+            if (draining) {
+                return false;
+            }
+            draining = true;
+            return true;
+        }
+
+        // 쌓인 프레임을 모두 꺼냄, 없으면 전송을 끝내고 null
+        synchronized byte[][] poll() {
+            if (pending.isEmpty()) {
+                draining = false;
+                return null;
+            }
+            byte[][] frames = pending.values().toArray(new byte[0][]);
+            pending.clear();
+            return frames;
+        }
+
+        synchronized void startSending() {
+            sendingThread = Thread.currentThread();
+            sendingSince = System.nanoTime();
+        }
+
+        // 쓰기를 끝냄. 포기한 쓰기였으면 끊으면서 보낸 인터럽트를 지우고(다음 구독자 전송에 남지 않게) true
+        synchronized boolean finishSending() {
+            sendingThread = null;
+            sendingSince = 0;
+            if (!abandoned) {
+                return false;
+            }
+            abandoned = false;
+            Thread.interrupted();
+            return true;
+        }
+
+        // 진행 중인 쓰기를 포기하고 그 스레드를 인터럽트함. 포기한 쓰기가 있으면 true
+        synchronized boolean abandon() {
+            if (sendingThread == null || abandoned) {
+                return false;
+            }
+            abandoned = true;
+            sendingThread.interrupt();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.hhplus.ecommerce.benchmark;
+
+import jdk.jfr.EventType;
+import jdk.jfr.Timespan;
+import jdk.jfr.ValueDescriptor;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JFR 녹화 파일에서 애플리케이션 이벤트(ecommerce.*)를 요약한다.
+ * 이벤트 종류별로 처리 시간 분포, 결과 코드별 건수, 숫자 필드(재시도 횟수, 대기 시간, 훑은 항목 수 등)의 분포,
+ * 그리고 처리 시간을 가장 많이 차지한 ID(쿠폰, 사용자 등)를 출력한다.
+ *
+ * 녹화: java -XX:StartFlightRecording=filename=app.jfr,settings=profile -jar ecommerce.jar
+ *      (실행 중이면 jcmd <pid> JFR.start filename=app.jfr duration=60s)
+ * 실행: ./gradlew jfrReport -Precording=app.jfr
+ *      또는 java -cp ... com.hhplus.ecommerce.benchmark.JfrRecordingReport [녹화 파일]
+ */
+public class JfrRecordingReport {
+
+    private static final String PREFIX = "ecommerce.";
+    private static final int TOP = 5;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, Summary> summaries = new TreeMap<>();
+        try (RecordingFile recording = new RecordingFile(Path.of(args[0]))) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                EventType type = event.getEventType();
+                if (type.getName().startsWith(PREFIX)) {
+                    summaries.computeIfAbsent(type.getName(), k -> new Summary(type)).add(event);
+                }
+            }
+        }
+
+        if (summaries.isEmpty()) {
+            System.out.println("ecommerce.* 이벤트가 없습니다. 녹화 중에 요청이 처리되었는지 확인하세요.");
+            return;
+        }
+        summaries.values().forEach(Summary::print);
+    }
+
+    // 이벤트 종류 하나의 집계
+    private static final class Summary {
+        private final EventType type;
+        private final Samples durations = new Samples();
+        private final Map<String, Integer> outcomes = new TreeMap<>();
+        private final Map<String, Samples> numbers = new TreeMap<>();
+        // ID 필드 -> (ID -> 처리 시간 합계 ns)
+        private final Map<String, Map<Long, Long>> idDurations = new TreeMap<>();
+
+        Summary(EventType type) {
+            this.type = type;
+        }
+
+        void add(RecordedEvent event) {
+            long durationNanos = event.getDuration().toNanos();
+            durations.add(durationNanos);
+            for (ValueDescriptor field : type.getFields()) {
+                String name = field.getName();
+                if (!event.hasField(name) || isBuiltIn(name)) {
+                    continue;
+                }
+                if ("outcome".equals(name)) {
+                    outcomes.merge(String.valueOf(event.getString(name)), 1, Integer::sum);
+                } else if (name.endsWith("Id")) {
+                    long id = event.getLong(name);
+                    if (id != 0) {
+                        idDurations.computeIfAbsent(name, k -> new HashMap<>()).merge(id, durationNanos, Long::sum);
+                    }
+                } else if ("int".equals(field.getTypeName()) || "long".equals(field.getTypeName())) {
+                    numbers.computeIfAbsent(label(field), k -> new Samples()).add(event.getLong(name));
+                }
+            }
+        }
+
+        void print() {
+            System.out.printf("%n== %s (%s) - %,d건%n", type.getLabel(), type.getName(), durations.size);
+            System.out.printf("  처리 시간(us)          p50 %,10.1f  p99 %,10.1f  max %,10.1f%n",
+                    durations.percentile(50) / 1000.0, durations.percentile(99) / 1000.0, durations.max() / 1000.0);
+            outcomes.forEach((outcome, count) ->
+                    System.out.printf("  결과 %-20s %,10d건 (%.1f%%)%n", outcome, count, count * 100.0 / durations.size));
+            numbers.forEach((name, samples) ->
+                    System.out.printf("  %-22s 평균 %,10.1f  p99 %,10d  max %,10d  합계 %,d%n",
+                            name, samples.average(), samples.percentile(99), samples.max(), samples.sum()));
+            idDurations.forEach((name, byId) -> {
+                System.out.printf("  처리 시간 상위 %s:", name);
+                byId.entrySet().stream()
+                        .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+                        .limit(TOP)
+                        .forEach(entry -> System.out.printf(" %d(%,.1f ms)", entry.getKey(), entry.getValue() / 1_000_000.0));
+                System.out.println();
+            });
+        }
+
+        private static boolean isBuiltIn(String name) {
+            return "startTime".equals(name) || "duration".equals(name) || "eventThread".equals(name) || "stackTrace".equals(name);
+        }
+
+        // 시간 필드는 단위를 붙여 표시
+        private static String label(ValueDescriptor field) {
+            Timespan timespan = field.getAnnotation(Timespan.class);
+            String label = field.getLabel() != null ? field.getLabel() : field.getName();
+            return timespan != null ? label + "(" + timespan.value().toLowerCase() + ")" : label;
+        }
+    }
+
+    // 정렬해서 백분위를 구하기 위한 값 목록
+    private static final class Samples {
+        private long[] values = new long[256];
+        private int size;
+        private boolean sorted;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+            sorted = false;
+        }
+
+        long percentile(int p) {
+            sort();
+            return values[Math.min(size - 1, (int) Math.ceil(size * p / 100.0) - 1)];
+        }
+
+        long max() {
+            sort();
+            return values[size - 1];
+        }
+
+        long sum() {
+            long sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += values[i];
+            }
+            return sum;
+        }
+
+        double average() {
+            return sum() / (double) size;
+        }
+
+        private void sort() {
+            if (!sorted) {
+                Arrays.sort(values, 0, size);
+                sorted = true;
+            }
+        }
+    }
+}
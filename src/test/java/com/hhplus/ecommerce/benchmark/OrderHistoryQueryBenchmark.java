@@ -0,0 +1,201 @@
+package com.hhplus.ecommerce.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 주문 내역 조회 쿼리(keyset 페이지네이션 + 항목 일괄 조회)의 H2 성능 측정.
+ * Order / OrderItem 엔티티와 같은 테이블·인덱스에 주문을 대량 생성한 뒤,
+ * 주문이 많은 사용자의 첫 페이지와 깊은 페이지를 keyset과 OFFSET 방식으로 비교한다.
+ * 실행: java -Xmx4g -cp ... com.hhplus.ecommerce.benchmark.OrderHistoryQueryBenchmark [주문 수] [헤비 유저 주문 수]
+ */
+public class OrderHistoryQueryBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int CHUNK = 1_000_000;
+    private static final int ITERATIONS = 200;
+
+    // 주문 ID 1..heavyOrders는 모두 HEAVY_USER의 주문
+    private static final long HEAVY_USER = 1L;
+
+    private static final String FIRST_PAGE = "SELECT id, user_id, status, total_amount, applied_coupon_id, payment_method, created_at " +
+            "FROM orders WHERE user_id = ? ORDER BY created_at DESC, id DESC LIMIT ?";
+    private static final String NEXT_PAGE = "SELECT id, user_id, status, total_amount, applied_coupon_id, payment_method, created_at " +
+            "FROM orders WHERE user_id = ? AND created_at <= ? AND (created_at < ? OR id < ?) " +
+            "ORDER BY created_at DESC, id DESC LIMIT ?";
+    private static final String NEXT_PAGE_BY_STATUS = "SELECT id, user_id, status, total_amount, applied_coupon_id, payment_method, created_at " +
+            "FROM orders WHERE user_id = ? AND status = ? AND created_at <= ? AND (created_at < ? OR id < ?) " +
+            "ORDER BY created_at DESC, id DESC LIMIT ?";
+    private static final String OFFSET_PAGE = "SELECT id, user_id, status, total_amount, applied_coupon_id, payment_method, created_at " +
+            "FROM orders WHERE user_id = ? ORDER BY created_at DESC, id DESC LIMIT ? OFFSET ?";
+
+    public static void main(String[] args) throws Exception {
+        long orders = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L;
+        long heavyOrders = args.length > 1 ? Long.parseLong(args[1]) : 50_000L;
+
+        Path dir = Files.createTempDirectory("order-history-bench");
+        String url = "jdbc:h2:file:" + dir.resolve("orders") + ";CACHE_SIZE=1048576";
+        System.out.printf("orders=%,d, items=%,d, heavy user orders=%,d, db=%s%n", orders, orders * 2, heavyOrders, dir);
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            generate(connection, orders, heavyOrders);
+
+            // 헤비 유저의 깊은 페이지 위치 (목록 중간)
+            long deepOffset = heavyOrders / 2;
+            Object[] deepCursor = cursorAt(connection, deepOffset);
+
+            measure("keyset first page", () -> firstPage(connection));
+            measure("keyset page at offset " + deepOffset, () -> nextPage(connection, deepCursor));
+            measure("keyset page (status=PAID)", () -> nextPageByStatus(connection, deepCursor));
+            measure("OFFSET page at offset " + deepOffset, () -> offsetPage(connection, deepOffset));
+            measure("keyset page + items (2 queries)", () -> loadItems(connection, nextPage(connection, deepCursor)));
+
+            explain(connection, "SELECT id FROM orders WHERE user_id = " + HEAVY_USER +
+                    " AND created_at <= TIMESTAMP '2024-01-01 12:00:00' AND (created_at < TIMESTAMP '2024-01-01 12:00:00' OR id < 100)" +
+                    " ORDER BY created_at DESC, id DESC LIMIT " + PAGE_SIZE);
+            explain(connection, "SELECT id, order_id FROM order_items WHERE order_id IN (1, 2, 3)");
+        }
+    }
+
+    // 엔티티의 테이블/인덱스와 동일한 스키마에 데이터를 만든 뒤 인덱스 생성 (인덱스는 나중에 만드는 편이 빠름)
+    private static void generate(Connection connection, long orders, long heavyOrders) throws SQLException {
+        long start = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS order_items");
+            statement.execute("DROP TABLE IF EXISTS orders");
+            statement.execute("CREATE TABLE orders (" +
+                    "id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, status VARCHAR(20) NOT NULL, " +
+                    "total_amount INT NOT NULL, applied_coupon_id BIGINT, payment_method VARCHAR(20), " +
+                    "created_at TIMESTAMP(6) NOT NULL)");
+            statement.execute("CREATE TABLE order_items (" +
+                    "id BIGINT AUTO_INCREMENT PRIMARY KEY, order_id BIGINT NOT NULL, product_option_id BIGINT, " +
+                    "quantity INT NOT NULL, price INT NOT NULL)");
+
+            for (long from = 1; from <= orders; from += CHUNK) {
+                long to = Math.min(orders, from + CHUNK - 1);
+                statement.execute("INSERT INTO orders SELECT X, " +
+                        "CASE WHEN X <= " + heavyOrders + " THEN " + HEAVY_USER + " ELSE 2 + MOD(X, " + USERS + ") END, " +
+                        "CASE WHEN MOD(X, 10) = 0 THEN 'CANCELLED' WHEN MOD(X, 10) < 6 THEN 'PAID' ELSE 'CREATED' END, " +
+                        "15000 * (1 + MOD(X, 5)), NULL, " +
+                        "CASE WHEN MOD(X, 10) BETWEEN 1 AND 5 THEN 'CREDIT_CARD' END, " +
+                        "DATEADD(SECOND, X, TIMESTAMP '2024-01-01 00:00:00') " +
+                        "FROM SYSTEM_RANGE(" + from + ", " + to + ")");
+                // 주문당 항목 2개
+                statement.execute("INSERT INTO order_items (order_id, product_option_id, quantity, price) " +
+                        "SELECT X / 2, MOD(X, 14) + 1, 1, 15000 FROM SYSTEM_RANGE(" + (from * 2) + ", " + (to * 2 + 1) + ")");
+                System.out.printf("  generated %,d orders (%d s)%n", to, (System.nanoTime() - start) / 1_000_000_000);
+            }
+
+            statement.execute("CREATE INDEX idx_orders_user_created ON orders (user_id, created_at, id)");
+            statement.execute("CREATE INDEX idx_orders_user_status_created ON orders (user_id, status, created_at, id)");
+            statement.execute("CREATE INDEX idx_order_items_order ON order_items (order_id, id)");
+            statement.execute("ANALYZE");
+        }
+        System.out.printf("data generation: %d s%n", (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    private static Object[] cursorAt(Connection connection, long offset) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(OFFSET_PAGE)) {
+            statement.setLong(1, HEAVY_USER);
+            statement.setInt(2, 1);
+            statement.setLong(3, offset);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return new Object[]{rs.getTimestamp("created_at"), rs.getLong("id")};
+            }
+        }
+    }
+
+    private static List<Long> firstPage(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(FIRST_PAGE)) {
+            statement.setLong(1, HEAVY_USER);
+            statement.setInt(2, PAGE_SIZE + 1);
+            return ids(statement);
+        }
+    }
+
+    private static List<Long> nextPage(Connection connection, Object[] cursor) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(NEXT_PAGE)) {
+            statement.setLong(1, HEAVY_USER);
+            statement.setTimestamp(2, (Timestamp) cursor[0]);
+            statement.setTimestamp(3, (Timestamp) cursor[0]);
+            statement.setLong(4, (Long) cursor[1]);
+            statement.setInt(5, PAGE_SIZE + 1);
+            return ids(statement);
+        }
+    }
+
+    private static List<Long> nextPageByStatus(Connection connection, Object[] cursor) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(NEXT_PAGE_BY_STATUS)) {
+            statement.setLong(1, HEAVY_USER);
+            statement.setString(2, "PAID");
+            statement.setTimestamp(3, (Timestamp) cursor[0]);
+            statement.setTimestamp(4, (Timestamp) cursor[0]);
+            statement.setLong(5, (Long) cursor[1]);
+            statement.setInt(6, PAGE_SIZE + 1);
+            return ids(statement);
+        }
+    }
+
+    private static List<Long> offsetPage(Connection connection, long offset) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(OFFSET_PAGE)) {
+            statement.setLong(1, HEAVY_USER);
+            statement.setInt(2, PAGE_SIZE + 1);
+            statement.setLong(3, offset);
+            return ids(statement);
+        }
+    }
+
+    private static List<Long> loadItems(Connection connection, List<Long> orderIds) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(orderIds.size(), "?"));
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id, order_id, product_option_id, quantity, price FROM order_items " +
+                        "WHERE order_id IN (" + placeholders + ") ORDER BY order_id, id")) {
+            for (int i = 0; i < orderIds.size(); i++) {
+                statement.setLong(i + 1, orderIds.get(i));
+            }
+            return ids(statement);
+        }
+    }
+
+    private static List<Long> ids(PreparedStatement statement) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    private static void measure(String name, Query query) throws SQLException {
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            query.run();
+        }
+        long start = System.nanoTime();
+        int rows = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            rows = query.run().size();
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+        System.out.printf("%-40s %,10.1f us/query (%d rows)%n", name, micros, rows);
+    }
+
+    private static void explain(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+            rs.next();
+            System.out.println(rs.getString(1));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Query {
+        List<Long> run() throws SQLException;
+    }
+}
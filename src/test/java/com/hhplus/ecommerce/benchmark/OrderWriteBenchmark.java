@@ -0,0 +1,115 @@
+package com.hhplus.ecommerce.benchmark;
+
+import com.hhplus.ecommerce.common.id.IdBlockAllocator;
+import com.hhplus.ecommerce.common.persistence.Journal;
+import com.hhplus.ecommerce.order.entity.OrderItem;
+import com.hhplus.ecommerce.order.store.MockOrder;
+import com.hhplus.ecommerce.order.store.OrderBatchWriter;
+import com.hhplus.ecommerce.order.store.OrderStore;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 주문 내역 저장 처리량 측정.
+ * 요청마다 트랜잭션을 커밋하고 주문 항목을 IDENTITY로 한 건씩 넣는 기존 방식과,
+ * OrderBatchWriter가 동시 요청을 모아 배치 INSERT 한 트랜잭션으로 저장하는 방식을 동시 요청 수별로 비교한다.
+ * 커밋 비용이 드러나도록 기본값은 파일 DB를 사용한다.
+ * 실행: java -cp ... com.hhplus.ecommerce.benchmark.OrderWriteBenchmark [JDBC URL 접두어] [측정 초]
+ */
+public class OrderWriteBenchmark {
+
+    private static final int[] CONCURRENCY = {1, 8, 64, 256};
+    private static final int ITEMS_PER_ORDER = 2;
+
+    public static void main(String[] args) throws Exception {
+        String urlPrefix = args.length > 0 ? args[0] : "jdbc:h2:file:./build/order-write-benchmark/db";
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        OrderStore orderStore = new OrderStore(new Journal(),
+                new IdBlockAllocator(new DriverManagerDataSource("jdbc:h2:mem:order-ids;DB_CLOSE_DELAY=-1"), 1000));
+
+        System.out.printf("url=%s, %d s per case, %d items per order%n", urlPrefix, seconds, ITEMS_PER_ORDER);
+        for (int threads : CONCURRENCY) {
+            // 기존 방식: 요청마다 트랜잭션 + 주문 항목 IDENTITY INSERT
+            DataSource perRequestDb = dataSource(urlPrefix + "-per-request-" + threads, "GENERATED BY DEFAULT AS IDENTITY");
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(perRequestDb);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(perRequestDb));
+            measure("per-request commit", threads, seconds, () -> {
+                MockOrder order = orderStore.create(1L, 30000, null);
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update("INSERT INTO orders (id, user_id, status, total_amount, applied_coupon_id, payment_method, created_at) " +
+                                    "VALUES (?, ?, ?, ?, ?, ?, ?)", order.getOrderId(), order.getUserId(), order.getStatus(),
+                            order.getTotalAmount(), null, null, Timestamp.valueOf(LocalDateTime.now()));
+                    for (OrderItem item : items(order)) {
+                        jdbcTemplate.update("INSERT INTO order_items (order_id, product_option_id, quantity, price) VALUES (?, ?, ?, ?)",
+                                item.getOrderId(), item.getProductOptionId(), item.getQuantity(), item.getPrice());
+                    }
+                });
+            });
+
+            // group commit: OrderBatchWriter
+            DataSource groupDb = dataSource(urlPrefix + "-group-" + threads, "");
+            OrderBatchWriter writer = new OrderBatchWriter(groupDb, new DataSourceTransactionManager(groupDb),
+                    new IdBlockAllocator(groupDb, 1000), 256, 0);
+            writer.start();
+            measure("group commit", threads, seconds, () -> {
+                MockOrder order = orderStore.create(1L, 30000, null);
+                writer.submit(order, items(order)).join();
+            });
+            writer.stop();
+        }
+    }
+
+    private static List<OrderItem> items(MockOrder order) {
+        List<OrderItem> items = new ArrayList<>(ITEMS_PER_ORDER);
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            items.add(new OrderItem(order.getOrderId(), i + 1L, 1, 15000));
+        }
+        return items;
+    }
+
+    // H2는 runtimeOnly 의존성이라 JDBC URL로 연결. 연결이 모두 닫혀도 DB를 닫지 않도록 DB_CLOSE_DELAY=-1
+    private static DataSource dataSource(String url, String itemIdGeneration) {
+        DataSource dataSource = new DriverManagerDataSource(url + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS order_items");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS orders");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS id_block");
+        jdbcTemplate.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, status VARCHAR(20) NOT NULL, " +
+                "total_amount INT NOT NULL, applied_coupon_id BIGINT, payment_method VARCHAR(20), created_at TIMESTAMP(6) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE order_items (id BIGINT " + itemIdGeneration + " PRIMARY KEY, order_id BIGINT NOT NULL, " +
+                "product_option_id BIGINT, quantity INT NOT NULL, price INT NOT NULL)");
+        return dataSource;
+    }
+
+    private static void measure(String name, int threads, int seconds, Runnable createOrder) throws Exception {
+        LongAdder count = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        createOrder.run();
+                        count.increment();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.start();
+        }
+        done.await();
+        System.out.printf("%-20s threads=%-4d %,12.0f orders/s%n", name, threads, count.sum() / (double) seconds);
+    }
+}
@@ -0,0 +1,89 @@
+package com.hhplus.ecommerce.benchmark;
+
+import com.hhplus.ecommerce.common.collection.LongIntHashMap;
+import com.hhplus.ecommerce.common.collection.LongLongHashMap;
+import com.hhplus.ecommerce.common.collection.LongObjectHashMap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * 기본형 해시맵과 ConcurrentHashMap&lt;Long, ...&gt;의 힙 사용량 비교.
+ * 실행: java -Xmx8g -cp ... com.hhplus.ecommerce.benchmark.PrimitiveMapFootprintBenchmark [항목 수]
+ */
+public class PrimitiveMapFootprintBenchmark {
+
+    public static void main(String[] args) {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        Object shared = new Object();
+
+        System.out.printf("entries=%,d%n", entries);
+        report("long->int  ConcurrentHashMap<Long,Integer>", entries, n -> {
+            Map<Long, Integer> map = new ConcurrentHashMap<>();
+            for (int i = 1; i <= n; i++) {
+                map.put((long) i, i);
+            }
+            return map;
+        });
+        report("long->int  LongIntHashMap", entries, n -> {
+            LongIntHashMap map = new LongIntHashMap();
+            for (int i = 1; i <= n; i++) {
+                map.put(i, i);
+            }
+            return map;
+        });
+        report("long->long ConcurrentHashMap<Long,Long>", entries, n -> {
+            Map<Long, Long> map = new ConcurrentHashMap<>();
+            for (int i = 1; i <= n; i++) {
+                map.put((long) i, (long) i * 1000);
+            }
+            return map;
+        });
+        report("long->long LongLongHashMap", entries, n -> {
+            LongLongHashMap map = new LongLongHashMap();
+            for (int i = 1; i <= n; i++) {
+                map.put(i, (long) i * 1000);
+            }
+            return map;
+        });
+        report("long->obj  ConcurrentHashMap<Long,Object>", entries, n -> {
+            Map<Long, Object> map = new ConcurrentHashMap<>();
+            for (int i = 1; i <= n; i++) {
+                map.put((long) i, shared);
+            }
+            return map;
+        });
+        report("long->obj  LongObjectHashMap", entries, n -> {
+            LongObjectHashMap<Object> map = new LongObjectHashMap<>();
+            for (int i = 1; i <= n; i++) {
+                map.put(i, shared);
+            }
+            return map;
+        });
+    }
+
+    private static void report(String name, int entries, IntFunction<Object> factory) {
+        long before = usedHeap();
+        long start = System.nanoTime();
+        Object map = factory.apply(entries);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        long after = usedHeap();
+        long bytes = after - before;
+        System.out.printf("%-45s %,10d KB  %6.1f B/entry  %,6d ms  (%s)%n",
+                name, bytes / 1024, (double) bytes / entries, elapsedMs, map.getClass().getSimpleName());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
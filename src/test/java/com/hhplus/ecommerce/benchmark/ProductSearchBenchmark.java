@@ -0,0 +1,85 @@
+package com.hhplus.ecommerce.benchmark;
+
+import com.hhplus.ecommerce.product.dto.ProductDetailResponseDto;
+import com.hhplus.ecommerce.product.search.ProductSearchIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 상품 검색 역색인의 조회 성능 측정.
+ * 옵션(SKU) 100만 개 규모의 가상 카탈로그를 색인한 뒤, 검색어/필터 조합별 응답 시간을 잰다.
+ * 실행: java -Xmx2g -cp ... com.hhplus.ecommerce.benchmark.ProductSearchBenchmark [상품 수] [상품당 옵션 수]
+ */
+public class ProductSearchBenchmark {
+
+    private static final String[] ADJECTIVES = {"기본", "오버핏", "슬림", "와이드", "크롭", "롱", "베이직", "빈티지", "캐주얼", "스트릿"};
+    private static final String[] ITEMS = {"티셔츠", "청바지", "후드티", "맨투맨", "조거팬츠", "셔츠", "니트", "가디건", "자켓", "코트",
+            "슬랙스", "반바지", "원피스", "스커트", "패딩", "조끼", "블라우스", "트레이닝복", "레깅스", "점퍼"};
+    private static final String[] BRANDS = {"basic", "urban", "daily", "nordic", "studio", "classic", "essential", "vintage"};
+    private static final String[] COLORS = {"BLACK", "WHITE", "GRAY", "NAVY", "BLUE", "RED", "BEIGE", "GREEN"};
+    private static final String[] SIZES = {"XS", "S", "M", "L", "XL", "XXL"};
+    private static final int ITERATIONS = 2_000;
+
+    public static void main(String[] args) {
+        int productCount = args.length > 0 ? Integer.parseInt(args[0]) : 250_000;
+        int optionsPerProduct = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+        ProductSearchIndex index = new ProductSearchIndex();
+        Random random = new Random(42);
+        long optionId = 1;
+        List<ProductDetailResponseDto> changed = new ArrayList<>();
+        long start = System.nanoTime();
+        for (long productId = 1; productId <= productCount; productId++) {
+            String name = BRANDS[random.nextInt(BRANDS.length)] + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + ITEMS[random.nextInt(ITEMS.length)] + " " + productId;
+            List<ProductDetailResponseDto.ProductOptionDto> options = new ArrayList<>(optionsPerProduct);
+            for (int i = 0; i < optionsPerProduct; i++) {
+                options.add(new ProductDetailResponseDto.ProductOptionDto(optionId++,
+                        COLORS[random.nextInt(COLORS.length)], SIZES[random.nextInt(SIZES.length)], 10));
+            }
+            String status = random.nextInt(10) == 0 ? "SOLD_OUT" : "ACTIVE";
+            ProductDetailResponseDto product = new ProductDetailResponseDto(productId, name, 10_000, status, options);
+            index.put(product);
+            if (productId <= 10_000) {
+                changed.add(new ProductDetailResponseDto(productId, name, 10_000, "SOLD_OUT", options));
+            }
+        }
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        System.out.printf("indexed %,d products / %,d SKUs in %,d ms (heap used ~%,d MB)%n",
+                productCount, optionId - 1, (System.nanoTime() - start) / 1_000_000,
+                (runtime.totalMemory() - runtime.freeMemory()) / 1024 / 1024);
+
+        // 상태 변경(품절)은 비트만 옮김
+        start = System.nanoTime();
+        changed.forEach(index::put);
+        System.out.printf("re-indexed %,d sold-out products in %,d ms%n", changed.size(), (System.nanoTime() - start) / 1_000_000);
+
+        measure(index, "q=티셔츠", "티셔츠", null, null, null);
+        measure(index, "q=오버핏 후드티", "오버핏 후드티", null, null, null);
+        measure(index, "q=basic 청바지 + BLACK/M", "basic 청바지", "BLACK", "M", null);
+        measure(index, "q=패딩 + SOLD_OUT", "패딩", null, null, "SOLD_OUT");
+        measure(index, "q=슬림 + BLACK/XS/SOLD_OUT", "슬림", "BLACK", "XS", "SOLD_OUT");
+        measure(index, "color=NAVY size=XXL", null, "NAVY", "XXL", null);
+        measure(index, "q=124999 (exact product)", "124999", null, null, null);
+    }
+
+    private static void measure(ProductSearchIndex index, String name, String q, String color, String size, String status) {
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            index.search(q, color, size, status, 20);
+        }
+        long[] nanos = new long[ITERATIONS];
+        int results = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            results = index.search(q, color, size, status, 20).size();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-34s p50 %,8.1f us  p99 %,8.1f us  (%d results)%n",
+                name, nanos[ITERATIONS / 2] / 1_000.0, nanos[ITERATIONS * 99 / 100] / 1_000.0, results);
+    }
+}
@@ -0,0 +1,108 @@
+package com.hhplus.ecommerce.benchmark;
+
+import com.hhplus.ecommerce.cart.dto.CartItemResponseDto;
+import com.hhplus.ecommerce.cart.store.CartStore;
+import com.hhplus.ecommerce.common.persistence.DurabilityManager;
+import com.hhplus.ecommerce.common.persistence.Journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * 장바구니 N개를 가진 상태에서 재시작할 때 복구(스냅샷 읽기 + 이후 로그 재생)에 걸리는 시간.
+ * 스냅샷을 뜬 뒤 여러 스레드로 로그 꼬리를 쌓고, 스냅샷 없이 죽은 것처럼 새 저장소로 복구한다.
+ * 실행: java -Xmx4g -cp ... com.hhplus.ecommerce.benchmark.RecoveryBenchmark [장바구니 수] [스냅샷 이후 기록 수] [스레드 수]
+ */
+public class RecoveryBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int carts = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int tail = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        Path dir = Files.createTempDirectory("recovery-benchmark");
+        try {
+            write(dir, carts, tail, threads);
+            System.gc();
+
+            Journal journal = new Journal();
+            CartStore recovered = new CartStore(journal);
+            long start = System.nanoTime();
+            new DurabilityManager(List.of(recovered), journal, true, dir.toString()).recover();
+            long elapsed = System.nanoTime() - start;
+
+            Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            System.out.printf("recover: %,d ms (heap used after recovery: %,d MB, user 1 items: %d)%n",
+                    elapsed / 1_000_000, (runtime.totalMemory() - runtime.freeMemory()) >> 20, recovered.find(1L).size());
+        } finally {
+            delete(dir);
+        }
+    }
+
+    private static void write(Path dir, int carts, int tail, int threads) throws Exception {
+        Journal journal = new Journal();
+        CartStore store = new CartStore(journal);
+        List<CartItemResponseDto.ProductOption> options = List.of(
+                new CartItemResponseDto.ProductOption(1L, "RED", "M"),
+                new CartItemResponseDto.ProductOption(2L, "BLUE", "L"),
+                new CartItemResponseDto.ProductOption(3L, "BLACK", "S"));
+
+        // WAL을 붙이기 전에 채워서 fsync 없이 빠르게 만든다
+        long start = System.nanoTime();
+        for (int i = 0; i < carts; i++) {
+            store.add(100L + i, options.get(i % options.size()), 1 + i % 3);
+        }
+        System.out.printf("carts=%,d filled in %,d ms%n", carts, (System.nanoTime() - start) / 1_000_000);
+
+        DurabilityManager manager = new DurabilityManager(List.of(store), journal, true, dir.toString());
+        manager.recover();
+        start = System.nanoTime();
+        manager.snapshot();
+        System.out.printf("snapshot: %,d ms, %,d MB%n", (System.nanoTime() - start) / 1_000_000, size(dir, "snapshot-") >> 20);
+
+        start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = thread; i < tail; i += threads) {
+                    store.add(100L + i, options.get(i % options.size()), 1);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        // close()는 종료 스냅샷을 남기므로 호출하지 않는다 (완료 응답을 받은 레코드는 이미 fsync됨)
+        System.out.printf("wal tail: %,d records from %d threads in %,d ms, %,d KB%n",
+                tail, threads, (System.nanoTime() - start) / 1_000_000, size(dir, "wal-") >> 10);
+    }
+
+    private static long size(Path dir, String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            long total = 0;
+            for (Path path : files.filter(path -> path.getFileName().toString().startsWith(prefix)).toList()) {
+                total += Files.size(path);
+            }
+            return total;
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
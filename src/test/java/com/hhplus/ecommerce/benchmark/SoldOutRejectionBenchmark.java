@@ -0,0 +1,139 @@
+package com.hhplus.ecommerce.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hhplus.ecommerce.cart.dto.CartAddRequestDto;
+import com.hhplus.ecommerce.cart.store.CartStore;
+import com.hhplus.ecommerce.common.dto.ErrorResponse;
+import com.hhplus.ecommerce.common.persistence.Journal;
+import com.hhplus.ecommerce.common.quota.ClusterQuota;
+import com.hhplus.ecommerce.common.soldout.SoldOutRegistry;
+import com.hhplus.ecommerce.controller.CartController;
+import com.hhplus.ecommerce.controller.CouponController;
+import com.hhplus.ecommerce.coupon.dto.CouponIssueRequestDto;
+import com.hhplus.ecommerce.coupon.store.CouponInfo;
+import com.hhplus.ecommerce.coupon.store.CouponStore;
+import com.hhplus.ecommerce.coupon.view.MyCouponView;
+import com.hhplus.ecommerce.product.store.ProductStore;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 소진된 쿠폰 발급 / 품절 옵션 장바구니 담기의 거절 처리량 측정.
+ * 기존 방식(매번 저장소 확인 + ErrorResponse 생성 + Jackson 직렬화)과
+ * SoldOutRegistry의 미리 직렬화된 응답을 반환하는 현재 컨트롤러를 비교한다.
+ * 실행: java -cp ... com.hhplus.ecommerce.benchmark.SoldOutRejectionBenchmark [스레드 수] [측정 초]
+ */
+public class SoldOutRejectionBenchmark {
+
+    private static final long SOLD_OUT_COUPON = 4L;
+    private static final long SOLD_OUT_OPTION = 3L;
+    private static final int USERS = 1024;
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Journal journal = new Journal();
+        ClusterQuota clusterQuota = new ClusterQuota(null, false, 20, 10_000);
+        SoldOutRegistry soldOutRegistry = new SoldOutRegistry(objectMapper);
+        CouponStore couponStore = new CouponStore(journal, new MyCouponView(), clusterQuota, soldOutRegistry);
+        ProductStore productStore = new ProductStore(journal, event -> { }, clusterQuota, soldOutRegistry);
+        CouponController couponController = new CouponController(couponStore, new MyCouponView(), soldOutRegistry);
+        CartController cartController = new CartController(new CartStore(journal), productStore, soldOutRegistry);
+
+        CouponIssueRequestDto[] couponRequests = new CouponIssueRequestDto[USERS];
+        CartAddRequestDto[] cartRequests = new CartAddRequestDto[USERS];
+        for (int i = 0; i < USERS; i++) {
+            couponRequests[i] = new CouponIssueRequestDto((long) i + 1);
+            cartRequests[i] = new CartAddRequestDto((long) i + 1, SOLD_OUT_OPTION, 1 + i % 3);
+        }
+
+        System.out.printf("threads=%d, %d s per case%n", threads, seconds);
+
+        // 기존 방식: 저장소 확인 후 매번 에러 응답을 만들고 직렬화 (메시지 컨버터가 하던 일)
+        measure("coupon sold-out (before)", threads, seconds, i -> {
+            CouponIssueRequestDto request = couponRequests[i & (USERS - 1)];
+            CouponInfo coupon = couponStore.find(SOLD_OUT_COUPON);
+            if (couponStore.isIssued(request.getUserId(), SOLD_OUT_COUPON) || couponStore.issue(request.getUserId(), coupon)) {
+                throw new IllegalStateException("쿠폰이 소진되지 않았습니다.");
+            }
+            ErrorResponse error = new ErrorResponse("COUPON_SOLD_OUT",
+                    "쿠폰이 모두 소진되었습니다. (쿠폰 ID: " + SOLD_OUT_COUPON + ", 총 수량: " + coupon.getTotalQuantity() + ")");
+            return ResponseEntity.status(409).body(objectMapper.writeValueAsBytes(error)).getBody().length;
+        });
+        measure("coupon sold-out (after)", threads, seconds, i ->
+                ((byte[]) couponController.issueCoupon(SOLD_OUT_COUPON, couponRequests[i & (USERS - 1)]).getBody()).length);
+
+        measure("cart out-of-stock (before)", threads, seconds, i -> {
+            CartAddRequestDto request = cartRequests[i & (USERS - 1)];
+            if (request.getQuantity() <= 0 || request.getQuantity() > 100) {
+                throw new IllegalStateException("잘못된 수량입니다.");
+            }
+            int stock = productStore.getStock(request.getProductOptionId());
+            ErrorResponse error = new ErrorResponse("OUT_OF_STOCK",
+                    "재고가 부족합니다. (요청 수량: " + request.getQuantity() + ", 재고: " + stock + ")");
+            return ResponseEntity.badRequest().body(objectMapper.writeValueAsBytes(error)).getBody().length;
+        });
+        measure("cart out-of-stock (after)", threads, seconds, i ->
+                ((byte[]) cartController.addCart(cartRequests[i & (USERS - 1)]).getBody()).length);
+    }
+
+    private static void measure(String name, int threads, int seconds, Rejection rejection) throws Exception {
+        // 워밍업
+        run(threads, 1, rejection);
+        Result result = run(threads, seconds, rejection);
+        System.out.printf("%-30s %,14.0f rejections/s %,10.1f bytes allocated/rejection%n",
+                name, result.count / (double) seconds, result.allocatedBytes / (double) result.count);
+    }
+
+    private static Result run(int threads, int seconds, Rejection rejection) throws Exception {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        LongAdder count = new LongAdder();
+        LongAdder allocated = new LongAdder();
+        LongAdder checksum = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                long before = threadBean.getCurrentThreadAllocatedBytes();
+                long n = 0;
+                long sum = 0;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        for (int i = 0; i < 1024; i++) {
+                            sum += rejection.reject((int) n++);
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    allocated.add(threadBean.getCurrentThreadAllocatedBytes() - before);
+                    count.add(n);
+                    checksum.add(sum);
+                    done.countDown();
+                }
+            });
+            worker.start();
+        }
+        done.await();
+        if (checksum.sum() == 0) {
+            throw new IllegalStateException("응답 본문이 비어 있습니다.");
+        }
+        return new Result(count.sum(), allocated.sum());
+    }
+
+    @FunctionalInterface
+    private interface Rejection {
+        // 응답 본문 길이를 반환 (측정 중 결과가 버려지지 않도록)
+        int reject(int i) throws Exception;
+    }
+
+    private record Result(long count, long allocatedBytes) {
+    }
+}
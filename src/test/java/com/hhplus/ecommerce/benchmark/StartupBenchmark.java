@@ -0,0 +1,124 @@
+package com.hhplus.ecommerce.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실행 방식별 기동 시간 측정.
+ * 애플리케이션을 새 JVM으로 띄워 첫 API 요청(GET /api/products)이 성공할 때까지의 시간과 그 시점의 RSS를 잰다.
+ * 실행: ./gradlew startupBenchmark (AOT jar 추출과 CDS 아카이브 생성을 먼저 수행)
+ *      또는 java -cp ... com.hhplus.ecommerce.benchmark.StartupBenchmark [추출된 jar] [CDS 아카이브] [반복 횟수]
+ */
+public class StartupBenchmark {
+
+    private static final String MAIN_CLASS = "com.hhplus.ecommerce.EcommerceApplication";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(args[0]).toAbsolutePath();
+        Path cds = Path.of(args[1]).toAbsolutePath();
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        String aot = "-Dspring.aot.enabled=true";
+        String sharedArchive = "-XX:SharedArchiveFile=" + cds;
+        String fastStartup = "--spring.profiles.active=fast-startup";
+
+        System.out.printf("jar=%s, cds=%s (%s), runs=%d%n", jar, cds, Files.exists(cds) ? "found" : "missing", runs);
+        measure("default", jar, runs, List.of(), List.of());
+        measure("aot", jar, runs, List.of(aot), List.of());
+        measure("aot + cds", jar, runs, List.of(aot, sharedArchive), List.of());
+        measure("aot + cds + fast-startup", jar, runs, List.of(aot, sharedArchive), List.of(fastStartup));
+    }
+
+    private static void measure(String name, Path jar, int runs, List<String> jvmArgs, List<String> appArgs) throws Exception {
+        long[] millis = new long[runs];
+        long[] rssKb = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long[] result = startOnce(jar, jvmArgs, appArgs);
+            millis[i] = result[0];
+            rssKb[i] = result[1];
+        }
+        Arrays.sort(millis);
+        Arrays.sort(rssKb);
+        System.out.printf("%-28s first request %,6d ms (min %,d / max %,d)   RSS %,7.1f MB%n",
+                name, millis[runs / 2], millis[0], millis[runs - 1], rssKb[runs / 2] / 1024.0);
+    }
+
+    // 첫 요청까지 걸린 시간(ms)과 그 시점의 RSS(KB)
+    private static long[] startOnce(Path jar, List<String> jvmArgs, List<String> appArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmArgs);
+        // CDS 아카이브를 만들 때와 같은 클래스패스여야 아카이브가 사용됨
+        command.addAll(List.of("-cp", jar.toString(), MAIN_CLASS, "--server.port=" + port));
+        command.addAll(appArgs);
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products")).build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("애플리케이션이 종료되었습니다. (exit: " + process.exitValue() + ")");
+                }
+                if (System.nanoTime() - start > STARTUP_TIMEOUT.toNanos()) {
+                    throw new IllegalStateException("기동 시간이 초과되었습니다.");
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException e) {
+                    // 아직 포트가 열리지 않음
+                }
+                Thread.sleep(5);
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new long[]{elapsedMillis, rssKb(process.pid())};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    // Linux는 /proc, 그 외에는 ps로 RSS를 읽음
+    private static long rssKb(long pid) throws IOException, InterruptedException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (Files.exists(status)) {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        }
+        Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", Long.toString(pid)).start();
+        String output = new String(ps.getInputStream().readAllBytes()).trim();
+        ps.waitFor();
+        return output.isEmpty() ? 0 : Long.parseLong(output);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.hhplus.ecommerce.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 동시 미스가 한 번의 계산으로 합쳐지는지, 계산이 실패하면 기다리던 요청도 함께 실패하는지 확인한다.
+ */
+class SingleFlightCacheTest {
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>(key -> {
+            loads.incrementAndGet();
+            await(release);
+            return 42;
+        }, 60_000, 1.0);
+
+        List<CompletableFuture<Integer>> results = startGets(cache, 8);
+        Thread.sleep(100);
+        release.countDown();
+
+        for (CompletableFuture<Integer> result : results) {
+            assertEquals(42, result.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(42, cache.get("key"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void errorInLoaderReachesWaiters() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>(key -> {
+            await(release);
+            throw new StackOverflowError();
+        }, 60_000, 1.0);
+
+        List<CompletableFuture<Integer>> results = startGets(cache, 4);
+        Thread.sleep(100);
+        release.countDown();
+
+        // 기다리던 요청이 영원히 멈추지 않고 같은 Error로 끝나야 함
+        for (CompletableFuture<Integer> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, e.getCause());
+        }
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>(key -> {
+            if (loads.incrementAndGet() == 1) {
+                throw new IllegalStateException("DB down");
+            }
+            return 7;
+        }, 60_000, 1.0);
+
+        assertThrows(IllegalStateException.class, () -> cache.get("key"));
+        assertEquals(7, cache.get("key"));
+        assertEquals(2, loads.get());
+    }
+
+    private static List<CompletableFuture<Integer>> startGets(SingleFlightCache<String, Integer> cache, int count) {
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CompletableFuture<Integer> result = new CompletableFuture<>();
+            Thread thread = new Thread(() -> {
+                try {
+                    result.complete(cache.get("key"));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+            results.add(result);
+        }
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.hhplus.ecommerce.common.collection;
+
+/**
+ * 시드가 seed인 맵에서 같은 세그먼트의 같은 슬롯부터 탐사를 시작하는 키를 찾는다. (기본 용량 세그먼트 기준)
+ */
+final class CollidingKeys {
+
+    private CollidingKeys() {
+    }
+
+    static long[] find(long seed, int count) {
+        int mask = Hashing.segmentCapacity(16) - 1;
+        long first = 1;
+        long firstHash = Hashing.mix(first, seed);
+        long[] keys = new long[count];
+        keys[0] = first;
+        int found = 1;
+        for (long key = 2; found < count; key++) {
+            long hash = Hashing.mix(key, seed);
+            if (Hashing.segmentIndex(hash) == Hashing.segmentIndex(firstHash)
+                    && ((int) hash & mask) == ((int) firstHash & mask)) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+}
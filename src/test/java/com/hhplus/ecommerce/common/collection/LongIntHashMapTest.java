@@ -0,0 +1,187 @@
+package com.hhplus.ecommerce.common.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 키별 조회, 키 0 처리, 삭제 후 탐사 경로 유지, 동시 확장과 낙관적 읽기를 확인한다.
+ */
+class LongIntHashMapTest {
+
+    @Test
+    void findsEachKey() {
+        LongIntHashMap map = new LongIntHashMap();
+        for (long key = 1; key <= 10_000; key++) {
+            map.put(key, (int) key * 3);
+        }
+        map.put(500, -1);
+
+        assertEquals(10_000, map.size());
+        for (long key = 1; key <= 10_000; key++) {
+            assertEquals(key == 500 ? -1 : (int) key * 3, map.get(key, Integer.MIN_VALUE));
+        }
+        assertEquals(Integer.MIN_VALUE, map.get(10_001, Integer.MIN_VALUE));
+        assertFalse(map.containsKey(10_001));
+    }
+
+    @Test
+    void keyZeroIsStoredSeparately() {
+        LongIntHashMap map = new LongIntHashMap();
+        assertFalse(map.containsKey(0));
+        assertEquals(-1, map.get(0, -1));
+
+        map.put(0, 0);
+        assertTrue(map.containsKey(0));
+        assertEquals(0, map.get(0, -1));
+        assertEquals(1, map.size());
+        assertTrue(map.replace(0, 0, 5));
+        assertEquals(8, map.addAndGet(0, 3));
+
+        List<Long> keys = new ArrayList<>();
+        map.forEach((key, value) -> keys.add(key));
+        assertEquals(List.of(0L), keys);
+
+        assertTrue(map.remove(0));
+        assertFalse(map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void removeKeepsCollidingKeysReachable() {
+        LongIntHashMap map = new LongIntHashMap();
+        long[] keys = CollidingKeys.find(map.seed, 4);
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+
+        // 탐사 경로 맨 앞을 지워도 뒤의 키들이 당겨져서 찾을 수 있어야 함
+        assertTrue(map.remove(keys[0]));
+        assertFalse(map.containsKey(keys[0]));
+        for (int i = 1; i < keys.length; i++) {
+            assertEquals(i, map.get(keys[i], -1));
+        }
+        assertTrue(map.remove(keys[2]));
+        assertEquals(1, map.get(keys[1], -1));
+        assertEquals(3, map.get(keys[3], -1));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        Random random = new Random(42);
+        LongIntHashMap map = new LongIntHashMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(2_000);
+            int value = random.nextInt();
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    map.put(key, value);
+                    expected.put(key, value);
+                }
+                case 1 -> assertEquals(expected.remove(key) != null, map.remove(key));
+                case 2 -> assertEquals(expected.merge(key, 7, Integer::sum), map.addAndGet(key, 7));
+                default -> assertEquals(expected.getOrDefault(key, -1), map.get(key, -1));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        Map<Long, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+
+        map.clear();
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void concurrentPutsSurviveResize() throws InterruptedException {
+        LongIntHashMap map = new LongIntHashMap();
+        int threads = 8;
+        int perThread = 20_000;
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long base = (long) t * perThread;
+            Thread writer = new Thread(() -> {
+                for (long key = base; key < base + perThread; key++) {
+                    map.put(key, (int) key);
+                    map.addAndGet(-1, 1);
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(threads * perThread + 1, map.size());
+        for (long key = 0; key < (long) threads * perThread; key++) {
+            assertEquals((int) key, map.get(key, -1));
+        }
+        assertEquals(threads * perThread, map.get(-1, 0));
+    }
+
+    @Test
+    void optimisticReadsRetryWhileWritersResizeAndShift() throws InterruptedException {
+        LongIntHashMap map = new LongIntHashMap();
+        for (long key = 1; key <= 1_000; key++) {
+            map.put(key, (int) key);
+        }
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicInteger wrongReads = new AtomicInteger();
+
+        // 고정된 키를 읽는 동안 다른 키들을 넣고 지워서 배열 교체와 항목 이동을 일으킴
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread reader = new Thread(() -> {
+                while (!stop.get()) {
+                    for (long key = 1; key <= 1_000; key++) {
+                        if (map.get(key, -1) != (int) key || !map.containsKey(key)) {
+                            wrongReads.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long base = 1_000_000L * (t + 1);
+            Thread writer = new Thread(() -> {
+                while (!stop.get()) {
+                    for (long key = base; key < base + 2_000; key++) {
+                        map.put(key, 0);
+                    }
+                    for (long key = base; key < base + 2_000; key++) {
+                        map.remove(key);
+                    }
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        Thread.sleep(1_000);
+        stop.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(0, wrongReads.get());
+    }
+}
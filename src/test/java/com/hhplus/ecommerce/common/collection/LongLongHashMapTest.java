@@ -0,0 +1,174 @@
+package com.hhplus.ecommerce.common.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 키별 조회, 키 0 처리, 삭제 후 탐사 경로 유지, 동시 확장과 낙관적 읽기를 확인한다.
+ */
+class LongLongHashMapTest {
+
+    @Test
+    void findsEachKey() {
+        LongLongHashMap map = new LongLongHashMap();
+        for (long key = 1; key <= 10_000; key++) {
+            map.put(key, key << 32);
+        }
+
+        assertEquals(10_000, map.size());
+        for (long key = 1; key <= 10_000; key++) {
+            assertEquals(key << 32, map.get(key, -1));
+        }
+        assertEquals(-1, map.get(10_001, -1));
+        assertFalse(map.containsKey(10_001));
+    }
+
+    @Test
+    void keyZeroIsStoredSeparately() {
+        LongLongHashMap map = new LongLongHashMap();
+        assertFalse(map.containsKey(0));
+
+        map.put(0, 0);
+        assertTrue(map.containsKey(0));
+        assertEquals(0, map.get(0, -1));
+        assertTrue(map.replace(0, 0, Long.MAX_VALUE));
+        assertFalse(map.replace(0, 0, 1));
+        assertEquals(Long.MAX_VALUE, map.get(0, -1));
+        assertEquals(1, map.size());
+
+        assertTrue(map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void removeKeepsCollidingKeysReachable() {
+        LongLongHashMap map = new LongLongHashMap();
+        long[] keys = CollidingKeys.find(map.seed, 4);
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+
+        assertTrue(map.remove(keys[0]));
+        assertFalse(map.containsKey(keys[0]));
+        for (int i = 1; i < keys.length; i++) {
+            assertEquals(i, map.get(keys[i], -1));
+        }
+        assertTrue(map.remove(keys[2]));
+        assertEquals(1, map.get(keys[1], -1));
+        assertEquals(3, map.get(keys[3], -1));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        Random random = new Random(7);
+        LongLongHashMap map = new LongLongHashMap();
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(2_000) - 1_000;
+            long value = random.nextLong();
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    map.put(key, value);
+                    expected.put(key, value);
+                }
+                case 1 -> assertEquals(expected.remove(key) != null, map.remove(key));
+                case 2 -> assertEquals((long) expected.merge(key, 5L, Long::sum), map.addAndGet(key, 5));
+                default -> assertEquals((long) expected.getOrDefault(key, -1L), map.get(key, -1));
+            }
+        }
+        Map<Long, Long> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void concurrentReplaceLosesNoUpdates() throws InterruptedException {
+        LongLongHashMap map = new LongLongHashMap();
+        map.put(1, 0);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            long base = 1_000_000L * (t + 1);
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    // 잔액 차감처럼 CAS로 1씩 올림 (다른 키를 넣어 확장도 함께 일어나게 함)
+                    long current;
+                    do {
+                        current = map.get(1, 0);
+                    } while (!map.replace(1, current, current + 1));
+                    map.put(base + i, i);
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(80_000, map.get(1, 0));
+        assertEquals(80_001, map.size());
+    }
+
+    @Test
+    void optimisticReadsRetryWhileWritersResizeAndShift() throws InterruptedException {
+        LongLongHashMap map = new LongLongHashMap();
+        for (long key = 1; key <= 1_000; key++) {
+            map.put(key, -key);
+        }
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicInteger wrongReads = new AtomicInteger();
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread reader = new Thread(() -> {
+                while (!stop.get()) {
+                    for (long key = 1; key <= 1_000; key++) {
+                        if (map.get(key, 0) != -key || !map.containsKey(key)) {
+                            wrongReads.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long base = 1_000_000L * (t + 1);
+            Thread writer = new Thread(() -> {
+                while (!stop.get()) {
+                    for (long key = base; key < base + 2_000; key++) {
+                        map.put(key, 0);
+                    }
+                    for (long key = base; key < base + 2_000; key++) {
+                        map.remove(key);
+                    }
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        Thread.sleep(1_000);
+        stop.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(0, wrongReads.get());
+    }
+}
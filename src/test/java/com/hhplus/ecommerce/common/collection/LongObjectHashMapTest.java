@@ -0,0 +1,196 @@
+package com.hhplus.ecommerce.common.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 키별 조회, 키 0 처리, 삭제 후 탐사 경로 유지, 동시 확장과 낙관적 읽기를 확인한다.
+ */
+class LongObjectHashMapTest {
+
+    @Test
+    void findsEachKeyAndReturnsPreviousValues() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        for (long key = 1; key <= 10_000; key++) {
+            assertNull(map.put(key, "v" + key));
+        }
+
+        assertEquals("v7", map.put(7, "seven"));
+        assertEquals("seven", map.putIfAbsent(7, "other"));
+        assertNull(map.putIfAbsent(10_001, "new"));
+        assertEquals(10_001, map.size());
+        for (long key = 1; key <= 10_000; key++) {
+            assertEquals(key == 7 ? "seven" : "v" + key, map.get(key));
+        }
+        assertNull(map.get(10_002));
+        assertTrue(map.anyMatch("new"::equals));
+        assertFalse(map.anyMatch("missing"::equals));
+    }
+
+    @Test
+    void keyZeroIsStoredSeparately() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        assertNull(map.get(0));
+
+        assertNull(map.put(0, "zero"));
+        assertTrue(map.containsKey(0));
+        assertEquals("zero", map.computeIfAbsent(0, key -> "other"));
+        assertEquals(1, map.size());
+
+        List<Long> keys = new ArrayList<>();
+        map.forEach((key, value) -> keys.add(key));
+        assertEquals(List.of(0L), keys);
+
+        assertEquals("zero", map.remove(0));
+        assertNull(map.remove(0));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void removeKeepsCollidingKeysReachable() {
+        LongObjectHashMap<Integer> map = new LongObjectHashMap<>();
+        long[] keys = CollidingKeys.find(map.seed, 4);
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+
+        assertEquals(0, map.remove(keys[0]));
+        assertNull(map.get(keys[0]));
+        for (int i = 1; i < keys.length; i++) {
+            assertEquals(i, map.get(keys[i]));
+        }
+        assertEquals(2, map.remove(keys[2]));
+        assertEquals(1, map.get(keys[1]));
+        assertEquals(3, map.get(keys[3]));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        Random random = new Random(11);
+        LongObjectHashMap<Integer> map = new LongObjectHashMap<>();
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(2_000);
+            int value = random.nextInt();
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(expected.put(key, value), map.put(key, value));
+                case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                case 2 -> assertEquals(expected.putIfAbsent(key, value), map.putIfAbsent(key, value));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+        }
+        Map<Long, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+
+        map.clear();
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void concurrentComputeIfAbsentCreatesOneValuePerKey() throws InterruptedException {
+        LongObjectHashMap<Set<Long>> map = new LongObjectHashMap<>();
+        AtomicInteger created = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            long thread = t;
+            Thread writer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (long key = 0; key < 20_000; key++) {
+                    map.computeIfAbsent(key, k -> {
+                        created.incrementAndGet();
+                        return ConcurrentHashMap.newKeySet();
+                    }).add(thread);
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(20_000, created.get());
+        assertEquals(20_000, map.size());
+        for (long key = 0; key < 20_000; key++) {
+            assertEquals(8, map.get(key).size());
+        }
+    }
+
+    @Test
+    void optimisticReadsRetryWhileWritersResizeAndShift() throws InterruptedException {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+        Long[] values = new Long[1_001];
+        for (long key = 1; key <= 1_000; key++) {
+            values[(int) key] = key;
+            map.put(key, values[(int) key]);
+        }
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicInteger wrongReads = new AtomicInteger();
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread reader = new Thread(() -> {
+                while (!stop.get()) {
+                    for (int key = 1; key <= 1_000; key++) {
+                        if (map.get(key) != values[key]) {
+                            wrongReads.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long base = 1_000_000L * (t + 1);
+            Thread writer = new Thread(() -> {
+                while (!stop.get()) {
+                    for (long key = base; key < base + 2_000; key++) {
+                        map.put(key, key);
+                    }
+                    for (long key = base; key < base + 2_000; key++) {
+                        map.remove(key);
+                    }
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        Thread.sleep(1_000);
+        stop.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertEquals(0, wrongReads.get());
+        assertSame(values[500], map.get(500));
+    }
+}
@@ -0,0 +1,116 @@
+package com.hhplus.ecommerce.common.diagnostics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hhplus.ecommerce.cart.dto.CartItemResponseDto;
+import com.hhplus.ecommerce.cart.store.CartStore;
+import com.hhplus.ecommerce.common.persistence.Journal;
+import com.hhplus.ecommerce.common.quota.ClusterQuota;
+import com.hhplus.ecommerce.common.soldout.SoldOutRegistry;
+import com.hhplus.ecommerce.coupon.store.CouponStore;
+import com.hhplus.ecommerce.coupon.view.MyCouponView;
+import com.hhplus.ecommerce.product.store.ProductStore;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 쿠폰 발급, 재고 차감, 장바구니 변경이 녹화 중에 결과와 함께 JFR 이벤트로 남는지 확인한다.
+ */
+class DiagnosticEventsTest {
+
+    private Journal journal;
+    private ClusterQuota clusterQuota;
+    private SoldOutRegistry soldOutRegistry;
+    private Recording recording;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        journal = new Journal();
+        clusterQuota = new ClusterQuota(null, false, 20, 10000);
+        soldOutRegistry = new SoldOutRegistry(new ObjectMapper());
+        file = Files.createTempFile("diagnostics", ".jfr");
+        recording = new Recording();
+        recording.enable("ecommerce.CouponIssue").withoutThreshold();
+        recording.enable("ecommerce.StockReservation").withoutThreshold();
+        recording.enable("ecommerce.CartMutation").withoutThreshold();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        recording.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void couponIssueRecordsOutcome() throws IOException {
+        CouponStore couponStore = new CouponStore(journal, new MyCouponView(), clusterQuota, soldOutRegistry);
+
+        recording.start();
+        couponStore.issue(10L, couponStore.find(3L)); // 2장 남음
+        couponStore.issue(11L, couponStore.find(3L));
+        couponStore.issue(12L, couponStore.find(3L));
+        List<RecordedEvent> events = stop("ecommerce.CouponIssue");
+
+        assertEquals(List.of("ISSUED", "ISSUED", "COUPON_SOLD_OUT"),
+                events.stream().map(event -> event.getString("outcome")).toList());
+        assertEquals(List.of(1L, 0L, 0L), events.stream().map(event -> event.getLong("remaining")).toList());
+        assertTrue(events.stream().allMatch(event -> event.getLong("couponId") == 3L));
+    }
+
+    @Test
+    void stockReservationRecordsOutcome() throws IOException {
+        ProductStore productStore = new ProductStore(journal, event -> { }, clusterQuota, soldOutRegistry);
+
+        recording.start();
+        productStore.sell(Map.of(10L, 3)); // 초기 재고 8개
+        productStore.sell(Map.of(10L, 6));
+        List<RecordedEvent> events = stop("ecommerce.StockReservation");
+
+        assertEquals(2, events.size());
+        assertEquals("RESERVED", events.get(0).getString("outcome"));
+        assertEquals(3, events.get(0).getInt("totalQuantity"));
+        assertEquals("OUT_OF_STOCK", events.get(1).getString("outcome"));
+        assertEquals(10L, events.get(1).getLong("failedOptionId"));
+    }
+
+    @Test
+    void cartMutationRecordsScannedItems() throws IOException {
+        CartStore cartStore = new CartStore(journal);
+
+        recording.start();
+        cartStore.add(7L, new CartItemResponseDto.ProductOption(1L, "RED", "M"), 1);
+        Long cartItemId = cartStore.add(7L, new CartItemResponseDto.ProductOption(2L, "BLUE", "L"), 1);
+        cartStore.remove(cartItemId);
+        List<RecordedEvent> events = stop("ecommerce.CartMutation");
+
+        RecordedEvent removed = events.stream()
+                .filter(event -> "REMOVE".equals(event.getString("operation")))
+                .findFirst().orElseThrow();
+        assertEquals(2, removed.getInt("itemsScanned"));
+        assertEquals("OK", removed.getString("outcome"));
+        assertEquals(7L, removed.getLong("userId"));
+        assertEquals(2, events.stream().filter(event -> "ADD".equals(event.getString("operation"))).count());
+    }
+
+    private List<RecordedEvent> stop(String name) throws IOException {
+        recording.stop();
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .toList();
+    }
+}
@@ -0,0 +1,136 @@
+package com.hhplus.ecommerce.common.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 스냅샷 + 이후 세그먼트 재생으로 비정상 종료 직전 상태가 복구되는지 확인한다.
+ */
+class DurabilityManagerTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("durability-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    void recoversSnapshotAndLaterSegments() throws Exception {
+        KeyValueStore before = start();
+        DurabilityManager manager = managerOf(before);
+        manager.recover();
+        before.put(1, 10);
+        before.put(2, 20);
+        manager.snapshot();
+        // 스냅샷 이후 변경은 다음 세그먼트에만 있음
+        before.put(2, 21);
+        before.put(3, 30);
+        crash(before);
+
+        assertEquals(1, SnapshotFile.list(dir).size());
+        assertEquals(Map.of(1L, 10L, 2L, 21L, 3L, 30L), recover());
+    }
+
+    @Test
+    void tornTailAfterSnapshotIsDropped() throws Exception {
+        KeyValueStore before = start();
+        DurabilityManager manager = managerOf(before);
+        manager.recover();
+        before.put(1, 10);
+        manager.snapshot();
+        before.put(2, 20);
+        crash(before);
+
+        // 마지막 레코드를 쓰는 도중에 죽은 것처럼 꼬리를 남김
+        List<Long> segments = WriteAheadLog.segments(dir);
+        Path last = WriteAheadLog.segmentPath(dir, segments.get(segments.size() - 1));
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 16, 9, 1, 2}));
+        }
+        long tornSize = Files.size(last);
+
+        Map<Long, Long> recovered = recover();
+
+        assertEquals(Map.of(1L, 10L, 2L, 20L), recovered);
+        assertTrue(Files.size(last) < tornSize);
+        // 잘라낸 뒤에는 다시 복구해도 같은 상태
+        assertEquals(recovered, recover());
+    }
+
+    @Test
+    void unfinishedSnapshotIsIgnored() throws Exception {
+        KeyValueStore before = start();
+        DurabilityManager manager = managerOf(before);
+        manager.recover();
+        before.put(1, 10);
+        manager.snapshot();
+        before.put(2, 20);
+        crash(before);
+
+        // 스냅샷을 쓰다 죽으면 임시 파일만 남음
+        Files.write(dir.resolve(SnapshotFile.path(dir, 99).getFileName() + ".tmp"), new byte[]{1, 2, 3});
+
+        assertEquals(Map.of(1L, 10L, 2L, 20L), recover());
+    }
+
+    @Test
+    void closeKeepsOnlyTheLatestSnapshot() throws Exception {
+        KeyValueStore before = start();
+        DurabilityManager manager = managerOf(before);
+        manager.recover();
+        before.put(1, 10);
+        manager.snapshot();
+        before.put(2, 20);
+        manager.close();
+
+        long snapshot = SnapshotFile.latest(dir).orElseThrow();
+        assertEquals(List.of(snapshot), SnapshotFile.list(dir));
+        assertTrue(WriteAheadLog.segments(dir).stream().allMatch(segment -> segment >= snapshot));
+        assertEquals(Map.of(1L, 10L, 2L, 20L), recover());
+    }
+
+    private static KeyValueStore start() {
+        return new KeyValueStore(new Journal());
+    }
+
+    private DurabilityManager managerOf(KeyValueStore store) {
+        return new DurabilityManager(List.of(store), store.journal, true, dir.toString());
+    }
+
+    // 스냅샷 없이 WAL만 닫음 (fsync까지 끝난 레코드만 남은 비정상 종료)
+    private static void crash(KeyValueStore store) throws IOException {
+        store.journal.detach().close();
+    }
+
+    private Map<Long, Long> recover() throws IOException {
+        KeyValueStore after = start();
+        managerOf(after).recover();
+        crash(after);
+        return Map.copyOf(after.values);
+    }
+}
@@ -0,0 +1,56 @@
+package com.hhplus.ecommerce.common.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 키마다 마지막 값을 남기는 테스트용 저장소.
+ */
+class KeyValueStore implements DurableStore {
+
+    final Journal journal;
+    final Map<Long, Long> values = new ConcurrentHashMap<>();
+
+    KeyValueStore(Journal journal) {
+        this.journal = journal;
+    }
+
+    void put(long key, long value) {
+        values.put(key, value);
+        journal.append(this, out -> {
+            out.writeLong(key);
+            out.writeLong(value);
+        });
+    }
+
+    @Override
+    public byte storeId() {
+        return 9;
+    }
+
+    @Override
+    public void writeSnapshot(DataOutput out) throws IOException {
+        out.writeInt(values.size());
+        for (Map.Entry<Long, Long> entry : values.entrySet()) {
+            out.writeLong(entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+    }
+
+    @Override
+    public void readSnapshot(DataInput in) throws IOException {
+        values.clear();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            values.put(in.readLong(), in.readLong());
+        }
+    }
+
+    @Override
+    public void replay(DataInput in) throws IOException {
+        values.put(in.readLong(), in.readLong());
+    }
+}
@@ -0,0 +1,356 @@
+package com.hhplus.ecommerce.common.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 닫는 중에 들어온 기록이 멈추지 않는지, 기록 후 비정상 종료하거나 쓰기/fsync가 실패해도
+ * 완료 응답을 받은 레코드가 모두 복구되는지 확인한다.
+ */
+class WriteAheadLogTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("wal-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    void appendAfterCloseFails() throws Exception {
+        WriteAheadLog wal = new WriteAheadLog(dir, 1);
+        wal.close();
+
+        CompletableFuture<Void> future = wal.append((byte) 1, new byte[]{1});
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, e.getCause());
+    }
+
+    @Test
+    void appendsRacingCloseAllComplete() throws Exception {
+        WriteAheadLog wal = new WriteAheadLog(dir, 1);
+        AtomicBoolean stop = new AtomicBoolean();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        List<Thread> appenders = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread appender = new Thread(() -> {
+                List<CompletableFuture<Void>> own = new ArrayList<>();
+                while (!stop.get()) {
+                    own.add(wal.append((byte) 1, new byte[]{1}));
+                }
+                synchronized (futures) {
+                    futures.addAll(own);
+                }
+            });
+            appenders.add(appender);
+            appender.start();
+        }
+        Thread.sleep(20);
+        wal.close();
+        // 닫힌 뒤에도 잠시 계속 기록을 시도
+        Thread.sleep(20);
+        stop.set(true);
+        for (Thread appender : appenders) {
+            appender.join();
+        }
+
+        // 성공이든 실패든 모든 기록이 응답을 받아야 함 (닫는 사이 큐에 들어간 기록이 영원히 대기하면 안 됨)
+        int written = 0;
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.get(1, TimeUnit.SECONDS);
+                written++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(IOException.class, e.getCause());
+            }
+        }
+        // 완료된 기록은 모두 파일에 남아 있음
+        assertEquals(written, WriteAheadLog.replay(WriteAheadLog.segmentPath(dir, 1), (storeId, payload) -> { }));
+    }
+
+    @Test
+    void recoversSameStateAfterCrash() throws Exception {
+        Journal journal = new Journal();
+        WriteAheadLog wal = new WriteAheadLog(dir, 1);
+        journal.attach(wal);
+        KeyValueStore before = new KeyValueStore(journal);
+        for (long key = 0; key < 100; key++) {
+            before.put(key, key * key);
+        }
+        before.put(7, -1);
+        // 스냅샷 없이 멈춤: 완료된 기록은 모두 fsync 되었으므로 프로세스가 죽은 것과 같음
+        journal.detach();
+        wal.close();
+        // 마지막 레코드를 쓰다가 죽어 일부만 남은 상태
+        Files.write(WriteAheadLog.segmentPath(dir, 1), new byte[]{0, 0, 0, 20, 9, 1, 2},
+                StandardOpenOption.APPEND);
+
+        KeyValueStore after = new KeyValueStore(new Journal());
+        DurabilityManager manager = new DurabilityManager(List.of(after), after.journal, true, dir.toString());
+        manager.recover();
+        try {
+            assertEquals(before.values, after.values);
+            assertEquals(-1, (long) after.values.get(7L));
+        } finally {
+            manager.close();
+        }
+
+        // 잘린 레코드는 잘라냈으므로 다시 복구해도 같은 상태
+        KeyValueStore again = new KeyValueStore(new Journal());
+        DurabilityManager second = new DurabilityManager(List.of(again), again.journal, true, dir.toString());
+        second.recover();
+        try {
+            assertEquals(before.values, again.values);
+        } finally {
+            second.close();
+        }
+    }
+
+    @Test
+    void closeWaitsForQueuedRecords() throws Exception {
+        WriteAheadLog wal = new WriteAheadLog(dir, 1);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            futures.add(wal.append((byte) 1, new byte[]{(byte) i}));
+        }
+        wal.close();
+
+        for (CompletableFuture<Void> future : futures) {
+            assertTrue(future.isDone());
+            assertFalse(future.isCompletedExceptionally());
+        }
+        assertEquals(1000, WriteAheadLog.replay(WriteAheadLog.segmentPath(dir, 1), (storeId, payload) -> { }));
+    }
+
+    @Test
+    void failedWriteIsRolledBackSoLaterRecordsSurvive() throws Exception {
+        Faults faults = new Faults();
+        WriteAheadLog wal = new WriteAheadLog(dir, 1, faults::open);
+        wal.append((byte) 1, new byte[]{1}).get(1, TimeUnit.SECONDS);
+
+        // 레코드 일부만 쓰고 실패
+        faults.failWrite = true;
+        assertFailsWithIOException(wal.append((byte) 1, new byte[]{2, 2, 2, 2, 2, 2, 2, 2}));
+        faults.failWrite = false;
+        wal.append((byte) 1, new byte[]{3}).get(1, TimeUnit.SECONDS);
+        wal.close();
+
+        assertEquals(List.of(1, 3), replayFirstBytes(1));
+    }
+
+    @Test
+    void failedFsyncIsRolledBack() throws Exception {
+        Faults faults = new Faults();
+        WriteAheadLog wal = new WriteAheadLog(dir, 1, faults::open);
+        wal.append((byte) 1, new byte[]{1}).get(1, TimeUnit.SECONDS);
+
+        faults.failForce = 1;
+        assertFailsWithIOException(wal.append((byte) 1, new byte[]{2}));
+        wal.append((byte) 1, new byte[]{3}).get(1, TimeUnit.SECONDS);
+        wal.close();
+
+        assertEquals(List.of(1, 3), replayFirstBytes(1));
+    }
+
+    @Test
+    void segmentIsAbandonedWhenRollbackFails() throws Exception {
+        Faults faults = new Faults();
+        Journal journal = new Journal();
+        WriteAheadLog wal = new WriteAheadLog(dir, 1, faults::open);
+        journal.attach(wal);
+        KeyValueStore before = new KeyValueStore(journal);
+        before.put(1, 10);
+
+        faults.failWrite = true;
+        faults.failTruncate = true;
+        assertThrows(RuntimeException.class, () -> before.put(2, 20));
+        faults.failWrite = false;
+        faults.failTruncate = false;
+        before.values.remove(2L);
+        before.put(3, 30);
+        journal.detach();
+        wal.close();
+
+        // 깨진 레코드가 남은 1번 세그먼트에는 더 쓰지 않고 2번 세그먼트로 넘어감
+        assertEquals(List.of(1L, 2L), WriteAheadLog.segments(dir));
+        KeyValueStore after = new KeyValueStore(new Journal());
+        DurabilityManager manager = new DurabilityManager(List.of(after), after.journal, true, dir.toString());
+        manager.recover();
+        try {
+            assertEquals(before.values, after.values);
+        } finally {
+            manager.close();
+        }
+    }
+
+    private static void assertFailsWithIOException(CompletableFuture<Void> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, e.getCause());
+    }
+
+    private List<Integer> replayFirstBytes(long segment) throws IOException {
+        List<Integer> firstBytes = new ArrayList<>();
+        WriteAheadLog.replay(WriteAheadLog.segmentPath(dir, segment), (storeId, payload) -> firstBytes.add((int) payload.readByte()));
+        return firstBytes;
+    }
+
+    // 켜 둔 오류를 일으키는 채널을 여는 opener
+    private static final class Faults {
+        private volatile boolean failWrite;
+        private volatile int failForce;
+        private volatile boolean failTruncate;
+
+        FileChannel open(Path path) throws IOException {
+            return new FaultyChannel(FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND), this);
+        }
+    }
+
+    // 디스크 오류를 흉내 내는 채널: 쓰기는 절반만 쓰고 실패, fsync/truncate는 바로 실패
+    private static final class FaultyChannel extends FileChannel {
+        private final FileChannel delegate;
+        private final Faults faults;
+
+        FaultyChannel(FileChannel delegate, Faults faults) {
+            this.delegate = delegate;
+            this.faults = faults;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (faults.failWrite) {
+                ByteBuffer half = src.duplicate();
+                half.limit(src.position() + Math.max(1, src.remaining() / 2));
+                int written = delegate.write(half);
+                src.position(src.position() + written);
+                throw new IOException("disk error");
+            }
+            return delegate.write(src);
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            if (faults.failForce > 0) {
+                faults.failForce--;
+                throw new IOException("fsync failed");
+            }
+            delegate.force(metaData);
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            if (faults.failTruncate) {
+                throw new IOException("truncate failed");
+            }
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
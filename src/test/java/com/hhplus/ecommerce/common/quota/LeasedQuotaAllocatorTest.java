@@ -0,0 +1,120 @@
+package com.hhplus.ecommerce.common.quota;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 하나의 공유 DB에 여러 서버(LeasedQuotaAllocator 인스턴스)를 붙여 수량이 정확히 지켜지는지 확인한다.
+ */
+class LeasedQuotaAllocatorTest {
+
+    private static final String KEY = "coupon:1";
+    private static final int TOTAL = 1_000;
+
+    private DriverManagerDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        // H2는 runtimeOnly 의존성이라 드라이버 클래스 대신 JDBC URL로 연결
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:quota-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new QuotaLedger(dataSource).register(KEY, TOTAL);
+    }
+
+    @Test
+    void concurrentNodesNeverIssueMoreThanTotal() throws Exception {
+        int nodes = 4;
+        int threadsPerNode = 8;
+        List<LeasedQuotaAllocator> allocators = new ArrayList<>();
+        for (int i = 0; i < nodes; i++) {
+            allocators.add(new LeasedQuotaAllocator(new QuotaLedger(dataSource), 16, 60_000));
+        }
+
+        AtomicInteger issued = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(nodes * threadsPerNode);
+        CountDownLatch start = new CountDownLatch(1);
+        for (LeasedQuotaAllocator allocator : allocators) {
+            for (int t = 0; t < threadsPerNode; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    // 요청 수(1,500)가 총 수량보다 많음
+                    for (int i = 0; i < 1_500 / (nodes * threadsPerNode) + 1; i++) {
+                        if (allocator.tryAcquire(KEY, 1)) {
+                            issued.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // 서버들이 종료되며 남은 묶음을 돌려줌
+        allocators.forEach(LeasedQuotaAllocator::close);
+        QuotaLedger ledger = new QuotaLedger(dataSource);
+        assertTrue(issued.get() <= TOTAL);
+        assertEquals(0, ledger.getLeased(KEY));
+        assertEquals(TOTAL - issued.get(), ledger.getAvailable(KEY));
+
+        // 돌려받은 수량은 다른 서버가 마저 발급할 수 있음
+        LeasedQuotaAllocator last = new LeasedQuotaAllocator(ledger, 16, 60_000);
+        while (last.tryAcquire(KEY, 1)) {
+            issued.incrementAndGet();
+        }
+        last.close();
+        assertEquals(TOTAL, issued.get());
+        assertEquals(0, ledger.getAvailable(KEY));
+    }
+
+    @Test
+    void expiredLeaseReturnsUnusedQuota() throws Exception {
+        QuotaLedger ledger = new QuotaLedger(dataSource);
+        LeasedQuotaAllocator allocator = new LeasedQuotaAllocator(ledger, 100, 50);
+
+        assertTrue(allocator.tryAcquire(KEY, 3));
+        assertEquals(TOTAL - 100, ledger.getAvailable(KEY));
+
+        Thread.sleep(100);
+        allocator.returnExpired();
+        assertEquals(TOTAL - 3, ledger.getAvailable(KEY));
+        assertEquals(0, ledger.getLeased(KEY));
+    }
+
+    @Test
+    void releaseAfterCloseReturnsToPool() {
+        QuotaLedger ledger = new QuotaLedger(dataSource);
+        LeasedQuotaAllocator allocator = new LeasedQuotaAllocator(ledger, 10, 60_000);
+
+        assertTrue(allocator.tryAcquire(KEY, 2));
+        allocator.close();
+        allocator.release(KEY, 2);
+
+        assertEquals(TOTAL, ledger.getAvailable(KEY));
+        assertEquals(0, ledger.getLeased(KEY));
+    }
+
+    @Test
+    void requestLargerThanRemainingTakesNothing() {
+        QuotaLedger ledger = new QuotaLedger(dataSource);
+        LeasedQuotaAllocator allocator = new LeasedQuotaAllocator(ledger, 10, 60_000);
+
+        assertFalse(allocator.tryAcquire(KEY, TOTAL + 1));
+        assertEquals(TOTAL, ledger.getAvailable(KEY));
+        assertEquals(0, ledger.getLeased(KEY));
+    }
+}
@@ -0,0 +1,115 @@
+package com.hhplus.ecommerce.common.soldout;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hhplus.ecommerce.common.dto.ErrorResponse;
+import com.hhplus.ecommerce.common.persistence.Journal;
+import com.hhplus.ecommerce.common.quota.ClusterQuota;
+import com.hhplus.ecommerce.coupon.store.CouponStore;
+import com.hhplus.ecommerce.coupon.view.MyCouponView;
+import com.hhplus.ecommerce.product.store.ProductStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * 소진 시점에 거절 응답이 한 번만 만들어지는지, 스냅샷 복구 시 복구된 상태 기준으로 다시 표시되는지 확인한다.
+ */
+class SoldOutRegistryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void rejectionIsBuiltOnceAsErrorResponseJson() throws Exception {
+        SoldOutRegistry registry = new SoldOutRegistry(objectMapper);
+        assertNull(registry.couponRejection(7));
+
+        registry.couponSoldOut(7, 100);
+        ResponseEntity<byte[]> rejection = registry.couponRejection(7);
+        registry.couponSoldOut(7, 100);
+
+        assertSame(rejection, registry.couponRejection(7));
+        assertEquals(409, rejection.getStatusCode().value());
+        assertEquals("application/json", String.valueOf(rejection.getHeaders().getContentType()));
+        assertArrayEquals(objectMapper.writeValueAsBytes(new ErrorResponse("COUPON_SOLD_OUT",
+                "쿠폰이 모두 소진되었습니다. (쿠폰 ID: 7, 총 수량: 100)")), rejection.getBody());
+        assertNull(registry.optionRejection(7));
+    }
+
+    @Test
+    void optionFlipsWhenStockRunsOut() throws Exception {
+        SoldOutRegistry registry = new SoldOutRegistry(objectMapper);
+        ProductStore productStore = newProductStore(registry);
+        assertNull(registry.optionRejection(10L)); // 초기 재고 8개
+
+        assertNull(productStore.sell(Map.of(10L, 7)));
+        assertNull(registry.optionRejection(10L));
+        assertNull(productStore.sell(Map.of(10L, 1)));
+
+        ResponseEntity<byte[]> rejection = registry.optionRejection(10L);
+        assertNotNull(rejection);
+        assertEquals(400, rejection.getStatusCode().value());
+        assertArrayEquals(objectMapper.writeValueAsBytes(new ErrorResponse("OUT_OF_STOCK",
+                "재고가 부족합니다. (상품 옵션 ID: 10, 재고: 0)")), rejection.getBody());
+    }
+
+    @Test
+    void productSnapshotResetsOptions() throws Exception {
+        SoldOutRegistry registry = new SoldOutRegistry(objectMapper);
+        ProductStore productStore = newProductStore(registry);
+        byte[] snapshot = snapshotOf(newProductStore(new SoldOutRegistry(objectMapper)));
+        assertNull(productStore.sell(Map.of(10L, 8)));
+        assertNotNull(registry.optionRejection(10L));
+
+        productStore.readSnapshot(new DataInputStream(new ByteArrayInputStream(snapshot)));
+
+        assertNull(registry.optionRejection(10L));
+        assertNotNull(registry.optionRejection(3L)); // 스냅샷에서도 품절
+    }
+
+    @Test
+    void couponSnapshotResetsCoupons() throws Exception {
+        SoldOutRegistry registry = new SoldOutRegistry(objectMapper);
+        CouponStore couponStore = newCouponStore(registry);
+        byte[] snapshot = snapshotOf(newCouponStore(new SoldOutRegistry(objectMapper)));
+        // 3번 쿠폰은 2장 남음
+        couponStore.issue(10L, couponStore.find(3L));
+        couponStore.issue(11L, couponStore.find(3L));
+        assertNotNull(registry.couponRejection(3L));
+
+        couponStore.readSnapshot(new DataInputStream(new ByteArrayInputStream(snapshot)));
+
+        assertNull(registry.couponRejection(3L));
+        assertNotNull(registry.couponRejection(4L)); // 스냅샷에서도 소진
+    }
+
+    private static ProductStore newProductStore(SoldOutRegistry registry) {
+        return new ProductStore(new Journal(), event -> { }, new ClusterQuota(null, false, 20, 10000), registry);
+    }
+
+    private static CouponStore newCouponStore(SoldOutRegistry registry) {
+        return new CouponStore(new Journal(), new MyCouponView(), new ClusterQuota(null, false, 20, 10000), registry);
+    }
+
+    private static byte[] snapshotOf(ProductStore store) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        store.writeSnapshot(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static byte[] snapshotOf(CouponStore store) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        store.writeSnapshot(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+}
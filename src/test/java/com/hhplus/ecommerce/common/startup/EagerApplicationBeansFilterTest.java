@@ -0,0 +1,32 @@
+package com.hhplus.ecommerce.common.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hhplus.ecommerce.EcommerceApplication;
+import com.hhplus.ecommerce.coupon.view.MyCouponView;
+import com.hhplus.ecommerce.product.store.ProductStore;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * fast-startup 프로필에서 애플리케이션 빈만 지연 초기화에서 제외되는지 확인한다.
+ */
+class EagerApplicationBeansFilterTest {
+
+    private final EagerApplicationBeansFilter filter = new EagerApplicationBeansFilter();
+
+    @Test
+    void applicationBeansStayEager() {
+        assertTrue(filter.isExcluded("ecommerceApplication", null, EcommerceApplication.class));
+        assertTrue(filter.isExcluded("productStore", null, ProductStore.class));
+        assertTrue(filter.isExcluded("myCouponView", null, MyCouponView.class));
+    }
+
+    @Test
+    void libraryBeansAreLazy() {
+        assertFalse(filter.isExcluded("objectMapper", null, ObjectMapper.class));
+        assertFalse(filter.isExcluded("swaggerUiHome", null, String.class));
+        assertFalse(filter.isExcluded("unknownType", null, null));
+    }
+}
@@ -0,0 +1,55 @@
+package com.hhplus.ecommerce.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hhplus.ecommerce.cart.dto.CartAddRequestDto;
+import com.hhplus.ecommerce.cart.store.CartStore;
+import com.hhplus.ecommerce.common.dto.ErrorResponse;
+import com.hhplus.ecommerce.common.persistence.Journal;
+import com.hhplus.ecommerce.common.quota.ClusterQuota;
+import com.hhplus.ecommerce.common.soldout.SoldOutRegistry;
+import com.hhplus.ecommerce.product.store.ProductStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 품절 옵션 담기가 미리 만든 응답으로 거절되되, 수량 검증 결과는 그대로 유지되는지 확인한다.
+ */
+class CartControllerTest {
+
+    private static final long SOLD_OUT_OPTION = 3L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CartController controller;
+
+    @BeforeEach
+    void setUp() {
+        Journal journal = new Journal();
+        SoldOutRegistry soldOutRegistry = new SoldOutRegistry(objectMapper);
+        ProductStore productStore = new ProductStore(journal, event -> { },
+                new ClusterQuota(null, false, 20, 10000), soldOutRegistry);
+        controller = new CartController(new CartStore(journal), productStore, soldOutRegistry);
+    }
+
+    @Test
+    void soldOutOptionIsRejectedWithErrorResponseJson() throws Exception {
+        ResponseEntity<?> response = controller.addCart(new CartAddRequestDto(1L, SOLD_OUT_OPTION, 1));
+
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals("application/json", String.valueOf(response.getHeaders().getContentType()));
+        assertArrayEquals(objectMapper.writeValueAsBytes(new ErrorResponse("OUT_OF_STOCK",
+                "재고가 부족합니다. (상품 옵션 ID: 3, 재고: 0)")), (byte[]) response.getBody());
+    }
+
+    @Test
+    void invalidQuantityIsCheckedBeforeSoldOut() {
+        ResponseEntity<?> zero = controller.addCart(new CartAddRequestDto(1L, SOLD_OUT_OPTION, 0));
+        ResponseEntity<?> tooMany = controller.addCart(new CartAddRequestDto(1L, SOLD_OUT_OPTION, 101));
+
+        assertEquals("INVALID_QUANTITY", ((ErrorResponse) zero.getBody()).getCode());
+        assertEquals("QUANTITY_EXCEEDED", ((ErrorResponse) tooMany.getBody()).getCode());
+    }
+}
@@ -0,0 +1,64 @@
+package com.hhplus.ecommerce.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hhplus.ecommerce.common.dto.ErrorResponse;
+import com.hhplus.ecommerce.common.persistence.Journal;
+import com.hhplus.ecommerce.common.quota.ClusterQuota;
+import com.hhplus.ecommerce.common.soldout.SoldOutRegistry;
+import com.hhplus.ecommerce.coupon.dto.CouponIssueRequestDto;
+import com.hhplus.ecommerce.coupon.store.CouponStore;
+import com.hhplus.ecommerce.coupon.view.MyCouponView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 소진된 쿠폰의 미리 만든 거절 응답이 기존 에러 응답과 같은지, 다른 검증보다 먼저 적용되지 않는지 확인한다.
+ */
+class CouponControllerTest {
+
+    private static final long NEARLY_SOLD_OUT = 3L; // 총 10장 중 2장 남음 (1번 사용자는 이미 보유)
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CouponController controller;
+
+    @BeforeEach
+    void setUp() {
+        SoldOutRegistry soldOutRegistry = new SoldOutRegistry(objectMapper);
+        MyCouponView myCouponView = new MyCouponView();
+        CouponStore couponStore = new CouponStore(new Journal(), myCouponView,
+                new ClusterQuota(null, false, 20, 10000), soldOutRegistry);
+        controller = new CouponController(couponStore, myCouponView, soldOutRegistry);
+    }
+
+    @Test
+    void soldOutResponseMatchesErrorResponseJson() throws Exception {
+        assertEquals(201, issue(10L).getStatusCode().value());
+        assertEquals(201, issue(11L).getStatusCode().value());
+
+        ResponseEntity<?> response = issue(12L);
+
+        assertEquals(409, response.getStatusCode().value());
+        assertEquals("application/json", String.valueOf(response.getHeaders().getContentType()));
+        assertArrayEquals(objectMapper.writeValueAsBytes(new ErrorResponse("COUPON_SOLD_OUT",
+                "쿠폰이 모두 소진되었습니다. (쿠폰 ID: 3, 총 수량: 10)")), (byte[]) response.getBody());
+    }
+
+    @Test
+    void alreadyIssuedIsReportedEvenAfterSoldOut() {
+        issue(10L);
+        issue(11L);
+
+        ResponseEntity<?> response = issue(10L);
+
+        assertEquals(409, response.getStatusCode().value());
+        assertEquals("COUPON_ALREADY_ISSUED", ((ErrorResponse) response.getBody()).getCode());
+    }
+
+    private ResponseEntity<?> issue(long userId) {
+        return controller.issueCoupon(NEARLY_SOLD_OUT, new CouponIssueRequestDto(userId));
+    }
+}
@@ -0,0 +1,292 @@
+package com.hhplus.ecommerce.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hhplus.ecommerce.cart.dto.CartItemResponseDto;
+import com.hhplus.ecommerce.cart.store.CartStore;
+import com.hhplus.ecommerce.common.dto.ErrorResponse;
+import com.hhplus.ecommerce.common.id.IdBlockAllocator;
+import com.hhplus.ecommerce.common.persistence.Journal;
+import com.hhplus.ecommerce.common.quota.ClusterQuota;
+import com.hhplus.ecommerce.common.soldout.SoldOutRegistry;
+import com.hhplus.ecommerce.coupon.store.CouponStore;
+import com.hhplus.ecommerce.coupon.view.MyCouponView;
+import com.hhplus.ecommerce.order.dto.OrderCreateRequestDto;
+import com.hhplus.ecommerce.order.dto.OrderPayRequestDto;
+import com.hhplus.ecommerce.order.dto.OrderResponseDto;
+import com.hhplus.ecommerce.order.entity.OrderItem;
+import com.hhplus.ecommerce.order.store.MockOrder;
+import com.hhplus.ecommerce.order.store.OrderHistoryStore;
+import com.hhplus.ecommerce.order.store.OrderStore;
+import com.hhplus.ecommerce.payment.PaymentGateway;
+import com.hhplus.ecommerce.payment.PaymentResult;
+import com.hhplus.ecommerce.payment.PaymentSettlementExecutor;
+import com.hhplus.ecommerce.product.store.ProductStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 주문 생성 중 주문 내역 저장이나 재고 차감이 실패했을 때 재고와 쿠폰이 소모되지 않는지,
+ * 같은 쿠폰으로 동시에 들어온 주문 중 하나만 할인을 받는지,
+ * 결제 반영 대기열이 가득 차면 승인된 주문이 다시 결제할 수 있는 상태로 돌아가는지 확인한다.
+ */
+class OrderControllerTest {
+
+    private static final long USER_ID = 1L;
+    private static final long OPTION_ID = 10L; // 초기 재고 8개
+    private static final long COUPON_ID = 1L;
+
+    private Journal journal;
+    private OrderStore orderStore;
+    private CouponStore couponStore;
+    private MyCouponView myCouponView;
+    private CartStore cartStore;
+    private ProductStore productStore;
+    private StubHistoryStore historyStore;
+    private StubGateway gateway;
+    private PaymentSettlementExecutor settlementExecutor;
+    private OrderController controller;
+
+    @BeforeEach
+    void setUp() {
+        journal = new Journal();
+        ClusterQuota clusterQuota = new ClusterQuota(null, false, 20, 10000);
+        SoldOutRegistry soldOutRegistry = new SoldOutRegistry(new ObjectMapper());
+        // H2는 runtimeOnly 의존성이라 드라이버 클래스 대신 JDBC URL로 연결
+        orderStore = new OrderStore(journal, new IdBlockAllocator(
+                new DriverManagerDataSource("jdbc:h2:mem:orders-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"), 1000));
+        myCouponView = new MyCouponView();
+        couponStore = new CouponStore(journal, myCouponView, clusterQuota, soldOutRegistry);
+        cartStore = new CartStore(journal);
+        productStore = new ProductStore(journal, event -> { }, clusterQuota, soldOutRegistry);
+        historyStore = new StubHistoryStore();
+        gateway = new StubGateway();
+        // 반영 스레드 1개, 대기열 1칸
+        settlementExecutor = new PaymentSettlementExecutor(1, 1);
+        controller = new OrderController(orderStore, couponStore, cartStore, productStore, historyStore,
+                gateway, settlementExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        settlementExecutor.close();
+    }
+
+    @Test
+    void createsOrderAfterRecordingHistory() {
+        ResponseEntity<?> response = controller.createOrder(request(3));
+
+        assertEquals(201, response.getStatusCode().value());
+        Long orderId = ((OrderResponseDto) response.getBody()).getOrderId();
+        assertNotNull(orderStore.find(orderId));
+        assertEquals(List.of(orderId), historyStore.recorded);
+        assertEquals(5, productStore.getStock(OPTION_ID));
+        assertTrue(orderStore.isCouponUsed(USER_ID, COUPON_ID));
+        assertEquals(1, myCouponView.find(USER_ID, MyCouponView.USED).stream()
+                .filter(coupon -> coupon.getCouponId() == COUPON_ID).count());
+    }
+
+    @Test
+    void historyFailureConsumesNothing() {
+        historyStore.onRecord = order -> CompletableFuture.failedFuture(new IllegalStateException("DB down"));
+
+        ResponseEntity<?> response = controller.createOrder(request(3));
+
+        assertEquals(500, response.getStatusCode().value());
+        assertEquals("ORDER_SAVE_FAILED", ((ErrorResponse) response.getBody()).getCode());
+        assertEquals(8, productStore.getStock(OPTION_ID));
+        assertFalse(orderStore.isCouponUsed(USER_ID, COUPON_ID));
+        assertTrue(myCouponView.find(USER_ID, MyCouponView.AVAILABLE).stream()
+                .anyMatch(coupon -> coupon.getCouponId() == COUPON_ID));
+        assertTrue(historyStore.discarded.isEmpty());
+    }
+
+    @Test
+    void stockTakenWhileRecordingDiscardsHistory() {
+        // 내역을 저장하는 사이 다른 주문이 재고를 먼저 가져감
+        historyStore.onRecord = order -> {
+            assertNull(productStore.sell(Map.of(OPTION_ID, 6)));
+            return CompletableFuture.completedFuture(order.getOrderId());
+        };
+
+        ResponseEntity<?> response = controller.createOrder(request(3));
+
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals("OUT_OF_STOCK", ((ErrorResponse) response.getBody()).getCode());
+        Long orderId = historyStore.recorded.get(0);
+        assertEquals(List.of(orderId), historyStore.discarded);
+        assertNull(orderStore.find(orderId));
+        assertEquals(2, productStore.getStock(OPTION_ID));
+        assertFalse(orderStore.isCouponUsed(USER_ID, COUPON_ID));
+    }
+
+    @Test
+    void soldOutOptionIsRejectedBeforeRecordingHistory() {
+        ResponseEntity<?> response = controller.createOrder(request(9));
+
+        assertEquals(400, response.getStatusCode().value());
+        assertEquals("OUT_OF_STOCK", ((ErrorResponse) response.getBody()).getCode());
+        assertTrue(historyStore.recorded.isEmpty());
+        assertEquals(8, productStore.getStock(OPTION_ID));
+    }
+
+    @Test
+    void concurrentOrdersWithTheSameCouponUseItOnce() throws Exception {
+        int threads = 8;
+        List<OrderCreateRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            requests.add(request(1));
+        }
+        // 내역을 저장하는 주문은 나머지 주문이 모두 끝날 때까지 기다림 (쿠폰 확인만 하면 모두 여기까지 들어와 할인을 받음)
+        CountDownLatch othersDone = new CountDownLatch(threads - 1);
+        historyStore.onRecord = order -> {
+            try {
+                othersDone.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CompletableFuture.completedFuture(order.getOrderId());
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<ResponseEntity<?>>> futures = new ArrayList<>();
+        for (OrderCreateRequestDto request : requests) {
+            futures.add(executor.submit(() -> {
+                ResponseEntity<?> response = controller.createOrder(request);
+                if (response.getStatusCode().value() != 201) {
+                    othersDone.countDown();
+                }
+                return response;
+            }));
+        }
+        List<Integer> statuses = new ArrayList<>();
+        for (Future<ResponseEntity<?>> future : futures) {
+            statuses.add(future.get(10, TimeUnit.SECONDS).getStatusCode().value());
+        }
+        executor.shutdown();
+
+        assertEquals(1, statuses.stream().filter(status -> status == 201).count());
+        assertEquals(threads - 1, statuses.stream().filter(status -> status == 409).count());
+        assertEquals(1, historyStore.recorded.size());
+        assertEquals(7, productStore.getStock(OPTION_ID));
+        assertTrue(orderStore.isCouponUsed(USER_ID, COUPON_ID));
+    }
+
+    @Test
+    void couponIsReleasedWhenOrderFails() {
+        historyStore.onRecord = order -> CompletableFuture.failedFuture(new IllegalStateException("DB down"));
+        assertEquals(500, controller.createOrder(request(3)).getStatusCode().value());
+        assertEquals(400, controller.createOrder(request(9)).getStatusCode().value());
+
+        historyStore.onRecord = order -> CompletableFuture.completedFuture(order.getOrderId());
+        assertEquals(201, controller.createOrder(request(3)).getStatusCode().value());
+        assertEquals(409, controller.createOrder(request(3)).getStatusCode().value());
+    }
+
+    @Test
+    void approvedPaymentIsRevertedWhenSettlementQueueIsFull() throws Exception {
+        MockOrder order = orderStore.create(USER_ID, 15000, null);
+        gateway.onApprove = orderId -> CompletableFuture.completedFuture(PaymentResult.approved("tx-" + orderId));
+        // 반영 스레드와 대기열을 모두 채움
+        CountDownLatch release = new CountDownLatch(1);
+        settlementExecutor.execute(() -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CountDownLatch drained = new CountDownLatch(1);
+        settlementExecutor.execute(drained::countDown);
+
+        ResponseEntity<?> response = controller.payOrder(order.getOrderId(), new OrderPayRequestDto(null, "CREDIT_CARD"))
+                .get(1, TimeUnit.SECONDS);
+
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals("PAYMENT_BUSY", ((ErrorResponse) response.getBody()).getCode());
+        assertEquals("CREATED", order.getStatus());
+
+        // 대기열이 비면 다시 결제할 수 있음
+        release.countDown();
+        assertTrue(drained.await(5, TimeUnit.SECONDS));
+        response = controller.payOrder(order.getOrderId(), new OrderPayRequestDto(null, "CREDIT_CARD"))
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("PAID", order.getStatus());
+    }
+
+    private OrderCreateRequestDto request(int quantity) {
+        Long cartItemId = cartStore.add(USER_ID, new CartItemResponseDto.ProductOption(OPTION_ID, "블랙", "M"), quantity);
+        return new OrderCreateRequestDto(USER_ID,
+                List.of(new OrderCreateRequestDto.CartItemInfo(cartItemId, quantity)), COUPON_ID);
+    }
+
+    // DB 대신 호출 기록만 남기는 주문 내역 저장소
+    private static class StubHistoryStore extends OrderHistoryStore {
+        private final List<Long> recorded = Collections.synchronizedList(new ArrayList<>());
+        private final List<Long> discarded = Collections.synchronizedList(new ArrayList<>());
+        private Function<MockOrder, CompletableFuture<Long>> onRecord =
+                order -> CompletableFuture.completedFuture(order.getOrderId());
+
+        StubHistoryStore() {
+            super(null, null, null);
+        }
+
+        @Override
+        public CompletableFuture<Long> record(MockOrder order, List<OrderItem> items) {
+            recorded.add(order.getOrderId());
+            return onRecord.apply(order);
+        }
+
+        @Override
+        public void discard(Long orderId) {
+            discarded.add(orderId);
+        }
+
+        @Override
+        public void markPaid(Long orderId, String paymentMethod) {
+        }
+
+        @Override
+        public void markUnpaid(Long orderId) {
+        }
+    }
+
+    // 결제 테스트에서만 승인 결과를 정함 (주문 생성에서는 결제 시스템을 호출하지 않음)
+    private static class StubGateway implements PaymentGateway {
+        private Function<Long, CompletableFuture<PaymentResult>> onApprove = orderId -> {
+            throw new AssertionError("주문 생성 중 결제를 요청했습니다.");
+        };
+
+        @Override
+        public CompletableFuture<PaymentResult> approve(long orderId, long amount, String paymentMethod) {
+            return onApprove.apply(orderId);
+        }
+
+        @Override
+        public boolean supports(String paymentMethod) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.hhplus.ecommerce.coupon.view;
+
+import com.hhplus.ecommerce.coupon.dto.MyCouponResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 발급/사용/만료 이벤트에 따라 상태별 목록이 갱신되는지, 이미 조회한 목록은 바뀌지 않는지 확인한다.
+ */
+class MyCouponViewTest {
+
+    private final MyCouponView view = new MyCouponView();
+
+    @Test
+    void groupsIssuedCouponsByStatusInIssueOrder() {
+        view.issued(1L, coupon(11L, 1L, MyCouponView.AVAILABLE));
+        view.issued(1L, coupon(12L, 2L, MyCouponView.EXPIRED));
+        view.issued(1L, coupon(13L, 3L, MyCouponView.AVAILABLE));
+
+        assertEquals(List.of(11L, 13L), userCouponIds(1L, MyCouponView.AVAILABLE));
+        assertEquals(List.of(12L), userCouponIds(1L, MyCouponView.EXPIRED));
+        assertEquals(List.of(), userCouponIds(1L, MyCouponView.USED));
+        assertEquals(List.of(11L, 12L, 13L), userCouponIds(1L, MyCouponView.ALL));
+        assertEquals(List.of(), userCouponIds(2L, MyCouponView.ALL));
+        assertTrue(view.has(1L, 2L));
+        assertFalse(view.has(2L, 2L));
+    }
+
+    @Test
+    void useMovesOnlyThatUsersCoupon() {
+        view.issued(1L, coupon(11L, 1L, MyCouponView.AVAILABLE));
+        view.issued(2L, coupon(21L, 1L, MyCouponView.AVAILABLE));
+
+        view.used(1L, 1L);
+
+        assertEquals(List.of(11L), userCouponIds(1L, MyCouponView.USED));
+        assertEquals(List.of(), userCouponIds(1L, MyCouponView.AVAILABLE));
+        assertEquals(List.of(21L), userCouponIds(2L, MyCouponView.AVAILABLE));
+        assertEquals(MyCouponView.USED, view.find(1L, MyCouponView.ALL).get(0).getStatus());
+    }
+
+    @Test
+    void expiryMovesAvailableCouponsOfEveryHolder() {
+        view.issued(1L, coupon(11L, 1L, MyCouponView.AVAILABLE));
+        view.issued(2L, coupon(21L, 1L, MyCouponView.AVAILABLE));
+        view.issued(2L, coupon(22L, 2L, MyCouponView.AVAILABLE));
+        view.used(1L, 1L);
+
+        view.expired(1L);
+
+        // 이미 사용한 쿠폰은 만료되지 않음
+        assertEquals(List.of(11L), userCouponIds(1L, MyCouponView.USED));
+        assertEquals(List.of(), userCouponIds(1L, MyCouponView.EXPIRED));
+        assertEquals(List.of(21L), userCouponIds(2L, MyCouponView.EXPIRED));
+        assertEquals(List.of(22L), userCouponIds(2L, MyCouponView.AVAILABLE));
+    }
+
+    @Test
+    void returnedListIsNotChangedByLaterEvents() {
+        view.issued(1L, coupon(11L, 1L, MyCouponView.AVAILABLE));
+        List<MyCouponResponseDto> before = view.find(1L, MyCouponView.AVAILABLE);
+
+        view.issued(1L, coupon(12L, 2L, MyCouponView.AVAILABLE));
+        view.used(1L, 1L);
+
+        assertEquals(1, before.size());
+        assertEquals(MyCouponView.AVAILABLE, before.get(0).getStatus());
+        assertEquals(List.of(12L), userCouponIds(1L, MyCouponView.AVAILABLE));
+    }
+
+    private List<Long> userCouponIds(long userId, String state) {
+        return view.find(userId, state).stream().map(MyCouponResponseDto::getUserCouponId).toList();
+    }
+
+    private static MyCouponResponseDto coupon(long userCouponId, long couponId, String status) {
+        return new MyCouponResponseDto(userCouponId, couponId, 5000, "2025-12-31", status);
+    }
+}
@@ -0,0 +1,123 @@
+package com.hhplus.ecommerce.order.store;
+
+import com.hhplus.ecommerce.common.id.IdBlockAllocator;
+import com.hhplus.ecommerce.order.entity.OrderItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 모아서 저장한 주문이 모두 남는지, 종료와 겹쳐 들어온 저장 요청도 기다리지 않고 응답을 받는지 확인한다.
+ */
+class OrderBatchWriterTest {
+
+    private final AtomicLong orderIds = new AtomicLong(1001);
+    private JdbcTemplate jdbcTemplate;
+    private OrderBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        // H2는 runtimeOnly 의존성이라 드라이버 클래스 대신 JDBC URL로 연결
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:order-writer-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, status VARCHAR(20) NOT NULL, " +
+                "total_amount INT NOT NULL, applied_coupon_id BIGINT, payment_method VARCHAR(20), created_at TIMESTAMP(6) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE order_items (id BIGINT PRIMARY KEY, order_id BIGINT NOT NULL, " +
+                "product_option_id BIGINT, quantity INT NOT NULL, price INT NOT NULL)");
+        writer = new OrderBatchWriter(dataSource, new DataSourceTransactionManager(dataSource),
+                new IdBlockAllocator(dataSource, 100), 64, 1);
+        writer.start();
+    }
+
+    @Test
+    void concurrentOrdersAreAllSaved() throws Exception {
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            futures.add(submit());
+        }
+        for (CompletableFuture<Long> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        writer.stop();
+
+        assertEquals(500, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class));
+        assertEquals(1000, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM order_items", Integer.class));
+    }
+
+    @Test
+    void submitAfterStopFails() throws Exception {
+        writer.stop();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> submit().get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    void submitsRacingStopAllComplete() throws Exception {
+        AtomicBoolean stop = new AtomicBoolean();
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread submitter = new Thread(() -> {
+                List<CompletableFuture<Long>> own = new ArrayList<>();
+                while (!stop.get()) {
+                    CompletableFuture<Long> future = submit();
+                    own.add(future);
+                    // 요청 스레드처럼 응답을 기다린 뒤 다음 요청 (종료와 겹친 요청이 멈추면 여기서 제한 시간까지 대기)
+                    try {
+                        future.get(1, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        // 아래에서 확인
+                    }
+                }
+                synchronized (futures) {
+                    futures.addAll(own);
+                }
+            });
+            submitters.add(submitter);
+            submitter.start();
+        }
+        Thread.sleep(200);
+        writer.stop();
+        // 종료 뒤에도 잠시 계속 요청
+        Thread.sleep(20);
+        stop.set(true);
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        // 성공이든 실패든 모든 요청이 응답을 받아야 함 (종료 사이 큐에 들어간 요청이 영원히 대기하면 안 됨)
+        int saved = 0;
+        for (CompletableFuture<Long> future : futures) {
+            try {
+                future.get(1, TimeUnit.SECONDS);
+                saved++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        }
+        assertEquals(saved, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class));
+    }
+
+    private CompletableFuture<Long> submit() {
+        long orderId = orderIds.getAndIncrement();
+        MockOrder order = new MockOrder(orderId, 1L, "CREATED", 30000, null, null);
+        return writer.submit(order, List.of(new OrderItem(orderId, 1L, 1, 15000), new OrderItem(orderId, 2L, 1, 15000)));
+    }
+}
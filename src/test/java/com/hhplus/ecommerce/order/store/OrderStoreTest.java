@@ -0,0 +1,154 @@
+package com.hhplus.ecommerce.order.store;
+
+import com.hhplus.ecommerce.common.id.IdBlockAllocator;
+import com.hhplus.ecommerce.common.persistence.DurableStore;
+import com.hhplus.ecommerce.common.persistence.Journal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 결제 상태 전이와, 로그 기록에 실패했을 때 결제 전 상태로 되돌아가는지,
+ * 여러 서버나 재시작 후에도 주문 ID가 겹치지 않는지 확인한다.
+ */
+class OrderStoreTest {
+
+    private DataSource dataSource;
+    private FailingJournal journal;
+    private OrderStore orderStore;
+
+    @BeforeEach
+    void setUp() {
+        // H2는 runtimeOnly 의존성이라 드라이버 클래스 대신 JDBC URL로 연결
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:orders-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        journal = new FailingJournal();
+        orderStore = new OrderStore(journal, new IdBlockAllocator(dataSource, 10));
+    }
+
+    @Test
+    void nodesSharingTheDatabaseNeverReuseOrderIds() {
+        OrderStore otherNode = new OrderStore(new Journal(), new IdBlockAllocator(dataSource, 10));
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            assertTrue(ids.add(orderStore.create(1L, 1000, null).getOrderId()));
+            assertTrue(ids.add(otherNode.create(2L, 1000, null).getOrderId()));
+        }
+    }
+
+    @Test
+    void restartWithoutSnapshotContinuesAfterIssuedBlocks() {
+        long last = 0;
+        for (int i = 0; i < 15; i++) {
+            last = orderStore.create(1L, 1000, null).getOrderId();
+        }
+
+        // 로그 없이 같은 DB로 재시작
+        OrderStore restarted = new OrderStore(new Journal(), new IdBlockAllocator(dataSource, 10));
+
+        assertTrue(restarted.create(1L, 1000, null).getOrderId() > last);
+    }
+
+    @Test
+    void recoveredOrdersAreNotReusedOnAFreshDatabase() throws IOException {
+        long last = 0;
+        for (int i = 0; i < 15; i++) {
+            last = orderStore.create(1L, 1000, null).getOrderId();
+        }
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        orderStore.writeSnapshot(new DataOutputStream(snapshot));
+
+        // 공유 DB 없이(비어 있는 DB) 스냅샷만으로 복구
+        DataSource freshDatabase = new DriverManagerDataSource("jdbc:h2:mem:orders-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        OrderStore recovered = new OrderStore(new Journal(), new IdBlockAllocator(freshDatabase, 10));
+        recovered.readSnapshot(new DataInputStream(new ByteArrayInputStream(snapshot.toByteArray())));
+
+        assertEquals(last + 1, recovered.create(1L, 1000, null).getOrderId());
+    }
+
+    @Test
+    void onlyOnePaymentStartsForTheSameOrder() {
+        MockOrder order = orderStore.create(1L, 30000, null);
+
+        assertTrue(orderStore.startPayment(order));
+        assertFalse(orderStore.startPayment(order));
+
+        orderStore.cancelPayment(order);
+        assertEquals("CREATED", order.getStatus());
+        assertTrue(orderStore.startPayment(order));
+    }
+
+    @Test
+    void payWithBalanceDebitsAndMarksPaid() {
+        MockOrder order = orderStore.create(1L, 30000, null);
+        orderStore.startPayment(order);
+
+        assertTrue(orderStore.payWithBalance(order, "BANK_TRANSFER"));
+        assertEquals("PAID", order.getStatus());
+        assertEquals(70000, orderStore.getBalance(1L));
+    }
+
+    @Test
+    void payWithBalanceRejectsInsufficientBalance() {
+        MockOrder order = orderStore.create(3L, 30000, null);
+        orderStore.startPayment(order);
+
+        assertFalse(orderStore.payWithBalance(order, "BANK_TRANSFER"));
+        assertEquals("PAYING", order.getStatus());
+        assertEquals(10000, orderStore.getBalance(3L));
+    }
+
+    @Test
+    void payWithBalanceRestoresBalanceWhenJournalFails() {
+        MockOrder order = orderStore.create(1L, 30000, null);
+        orderStore.startPayment(order);
+        journal.failing = true;
+
+        assertThrows(UncheckedIOException.class, () -> orderStore.payWithBalance(order, "BANK_TRANSFER"));
+        assertEquals("PAYING", order.getStatus());
+        assertNull(order.getPaymentMethod());
+        assertEquals(100000, orderStore.getBalance(1L));
+
+        orderStore.cancelPayment(order);
+        assertEquals("CREATED", order.getStatus());
+    }
+
+    @Test
+    void markPaidRevertsWhenJournalFails() {
+        MockOrder order = orderStore.create(1L, 30000, null);
+        orderStore.startPayment(order);
+        journal.failing = true;
+
+        assertThrows(UncheckedIOException.class, () -> orderStore.markPaid(order, "CREDIT_CARD"));
+        assertEquals("PAYING", order.getStatus());
+        assertNull(order.getPaymentMethod());
+    }
+
+    // 로그 기록 실패(디스크 오류 등)를 흉내 내는 Journal
+    private static final class FailingJournal extends Journal {
+        private volatile boolean failing;
+
+        @Override
+        public void append(DurableStore store, RecordWriter writer) {
+            if (failing) {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.hhplus.ecommerce.payment.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hhplus.ecommerce.common.resilience.CircuitBreaker;
+import com.hhplus.ecommerce.payment.PaymentResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 로컬 결제 스텁에 지연/실패를 주입해 격벽, 서킷 브레이커, 시간 초과가 동작하는지 확인한다.
+ */
+class HttpPaymentGatewayTest {
+
+    private static final int MAX_CONCURRENT = 4;
+    private static final long TIMEOUT_MILLIS = 500;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private PaymentGatewayStub stub;
+    private HttpPaymentGateway gateway;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new PaymentGatewayStub(objectMapper, 0, 10);
+        // 최근 10번 중 절반 이상 실패하면 1분 동안 열림
+        gateway = new HttpPaymentGateway(objectMapper, stub.getBaseUri().toString(),
+                TIMEOUT_MILLIS, MAX_CONCURRENT, 10, 0.5, 60_000, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gateway.close();
+        stub.close();
+    }
+
+    @Test
+    void slowMobilePayDoesNotStarveCreditCard() {
+        // 첫 호출의 연결/클래스 로딩 시간이 측정에 섞이지 않도록 미리 한 번 호출
+        gateway.approve(0, 10_000, "CREDIT_CARD").join();
+        stub.setLatency("MOBILE_PAY", 300);
+
+        List<CompletableFuture<PaymentResult>> mobilePay = new ArrayList<>();
+        for (int i = 0; i < MAX_CONCURRENT; i++) {
+            mobilePay.add(gateway.approve(i, 10_000, "MOBILE_PAY"));
+        }
+        // MOBILE_PAY 한도가 찼으므로 바로 거절
+        assertEquals(PaymentResult.Status.BUSY, gateway.approve(100, 10_000, "MOBILE_PAY").join().getStatus());
+
+        // CREDIT_CARD는 별도 한도라 느린 MOBILE_PAY를 기다리지 않음
+        long start = System.nanoTime();
+        PaymentResult creditCard = gateway.approve(200, 10_000, "CREDIT_CARD").join();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(PaymentResult.Status.APPROVED, creditCard.getStatus());
+        assertTrue(elapsedMillis < 300, "CREDIT_CARD 승인이 MOBILE_PAY 지연만큼 늦어짐: " + elapsedMillis + "ms");
+
+        mobilePay.forEach(future -> assertEquals(PaymentResult.Status.APPROVED, future.join().getStatus()));
+    }
+
+    @Test
+    void repeatedFailuresOpenCircuitAndStopCallingGateway() {
+        stub.setFailureRate("DEBIT_CARD", 1.0);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(PaymentResult.Status.UNAVAILABLE, gateway.approve(i, 10_000, "DEBIT_CARD").join().getStatus());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, gateway.getCircuitState("DEBIT_CARD"));
+
+        // 열린 동안에는 결제 시스템에 요청을 보내지 않음
+        int received = stub.getReceivedCount();
+        for (int i = 0; i < 20; i++) {
+            assertEquals(PaymentResult.Status.UNAVAILABLE, gateway.approve(100 + i, 10_000, "DEBIT_CARD").join().getStatus());
+        }
+        assertEquals(received, stub.getReceivedCount());
+
+        // 다른 결제 수단은 영향 없음
+        assertEquals(PaymentResult.Status.APPROVED, gateway.approve(200, 10_000, "CREDIT_CARD").join().getStatus());
+    }
+
+    @Test
+    void declinesDoNotOpenCircuit() {
+        stub.setDeclineRate("CREDIT_CARD", 1.0);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(PaymentResult.Status.DECLINED, gateway.approve(i, 10_000, "CREDIT_CARD").join().getStatus());
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, gateway.getCircuitState("CREDIT_CARD"));
+    }
+
+    @Test
+    void slowGatewayTimesOut() {
+        stub.setLatency("CREDIT_CARD", TIMEOUT_MILLIS * 4);
+
+        long start = System.nanoTime();
+        PaymentResult result = gateway.approve(1, 10_000, "CREDIT_CARD").join();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(PaymentResult.Status.TIMEOUT, result.getStatus());
+        assertTrue(elapsedMillis < TIMEOUT_MILLIS * 4, "시간 초과 전에 응답을 기다림: " + elapsedMillis + "ms");
+    }
+}
@@ -0,0 +1,128 @@
+package com.hhplus.ecommerce.product.query;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hhplus.ecommerce.common.persistence.Journal;
+import com.hhplus.ecommerce.common.quota.ClusterQuota;
+import com.hhplus.ecommerce.common.soldout.SoldOutRegistry;
+import com.hhplus.ecommerce.controller.ProductController;
+import com.hhplus.ecommerce.product.dto.ProductDetailResponseDto;
+import com.hhplus.ecommerce.product.dto.ProductListResponseDto;
+import com.hhplus.ecommerce.product.event.ProductSoldEvent;
+import com.hhplus.ecommerce.product.store.ProductStore;
+import com.hhplus.ecommerce.product.stream.StockStreamHub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 쓰기 측 판매 이벤트가 읽기 모델의 목록/상세에 반영되는지, 반영 지연이 응답 헤더로 나가는지 확인한다.
+ * 목록의 재고는 옵션 재고의 합계다.
+ */
+class ProductReadModelTest {
+
+    private static final long PRODUCT_ID = 4L; // 맨투맨: 옵션 10 (재고 8), 옵션 11 (재고 7)
+
+    private ProductStore productStore;
+    private ProductReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        ClusterQuota clusterQuota = new ClusterQuota(null, false, 20, 10000);
+        productStore = new ProductStore(new Journal(), event -> readModel.on((ProductSoldEvent) event), clusterQuota,
+                new SoldOutRegistry(new ObjectMapper()));
+        readModel = new ProductReadModel(productStore, 1000, 5000);
+        readModel.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        readModel.stop();
+    }
+
+    @Test
+    void projectsSalesIntoListAndDetail() throws InterruptedException {
+        assertEquals(15, listed(PRODUCT_ID).getStock());
+
+        productStore.sell(Map.of(10L, 3));
+        awaitTrue(() -> readModel.getLagEvents() == 0 && listed(PRODUCT_ID).getStock() == 12);
+
+        ProductDetailResponseDto detail = readModel.getProduct(PRODUCT_ID);
+        assertEquals(5, optionStock(detail, 10L));
+        assertEquals(7, optionStock(detail, 11L));
+        assertEquals("ACTIVE", detail.getStatus());
+        assertEquals(0, readModel.getLagMillis());
+    }
+
+    @Test
+    void listStockIsTheSumOfOptionStocks() {
+        for (ProductListResponseDto product : readModel.getProducts()) {
+            ProductDetailResponseDto detail = readModel.getProduct(product.getId());
+            int optionTotal = detail.getOptions().stream().mapToInt(ProductDetailResponseDto.ProductOptionDto::getStock).sum();
+            assertEquals(optionTotal, product.getStock());
+        }
+        // 기본 티셔츠: 50 + 30 + 0
+        assertEquals(80, listed(1L).getStock());
+    }
+
+    @Test
+    void productIsSoldOutWhenEveryOptionRunsOut() throws InterruptedException {
+        productStore.sell(Map.of(10L, 8, 11L, 7));
+        awaitTrue(() -> "SOLD_OUT".equals(readModel.getProduct(PRODUCT_ID).getStatus()));
+
+        assertEquals("SOLD_OUT", listed(PRODUCT_ID).getStatus());
+        assertEquals(0, listed(PRODUCT_ID).getStock());
+        // 검색 색인도 같은 배치에서 갱신됨
+        assertTrue(readModel.search(null, null, null, "SOLD_OUT", 20).stream()
+                .anyMatch(product -> product.getId() == PRODUCT_ID));
+    }
+
+    @Test
+    void lagHeaderReportsUnappliedEvents() throws InterruptedException {
+        ProductController controller = new ProductController(readModel,
+                new StockStreamHub(productStore, 200, 60_000, 1, 5_000));
+        ResponseEntity<List<ProductListResponseDto>> response = controller.getProducts();
+        assertEquals("0", response.getHeaders().getFirst("X-Read-Model-Lag-Ms"));
+
+        // projector를 멈추고 500ms 전에 발생한 변경을 넣으면 그만큼 뒤처진 것으로 보고됨
+        readModel.stop();
+        Thread.sleep(200);
+        readModel.on(new ProductSoldEvent(productStore.getSequence() + 1, PRODUCT_ID, 10L, 1, 7,
+                LocalDate.now().toEpochDay(), System.currentTimeMillis() - 500));
+
+        long lag = Long.parseLong(controller.getProducts().getHeaders().getFirst("X-Read-Model-Lag-Ms"));
+        assertTrue(lag >= 500, "lag: " + lag);
+        assertEquals(15, listed(PRODUCT_ID).getStock());
+    }
+
+    private ProductListResponseDto listed(long productId) {
+        return readModel.getProducts().stream()
+                .filter(product -> product.getId() == productId)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static int optionStock(ProductDetailResponseDto detail, long optionId) {
+        return detail.getOptions().stream()
+                .filter(option -> option.getId() == optionId)
+                .findFirst()
+                .orElseThrow()
+                .getStock();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 2_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "읽기 모델에 반영되지 않았습니다.");
+            Thread.sleep(10);
+        }
+    }
+}
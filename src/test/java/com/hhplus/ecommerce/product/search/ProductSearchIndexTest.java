@@ -0,0 +1,122 @@
+package com.hhplus.ecommerce.product.search;
+
+import com.hhplus.ecommerce.product.dto.ProductDetailResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 토큰 분리, posting 교집합, 색상/사이즈/상태 조건과 변경, 삭제 표시 정리를 확인한다.
+ */
+class ProductSearchIndexTest {
+
+    @Test
+    void tokenizesHangulIntoBigramsAndWordsWhole() {
+        assertEquals(List.of("기본", "티셔", "셔츠", "v", "넥", "oversize"),
+                ProductSearchIndex.tokenize("기본 티셔츠 V넥 OverSize"));
+        assertEquals(List.of("티"), ProductSearchIndex.tokenize("티"));
+        assertEquals(List.of("abc", "123"), ProductSearchIndex.tokenize("ABC-123!"));
+        assertEquals(List.of(), ProductSearchIndex.tokenize("  -!  "));
+        // 상품명은 한 글자 검색어로도 찾도록 1글자 토큰을 함께 색인
+        assertEquals(List.of("티", "셔", "츠", "티셔", "셔츠"), ProductSearchIndex.indexTerms("티셔츠"));
+    }
+
+    @Test
+    void multiTermQueryIntersectsPostings() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        // varint가 여러 바이트가 되도록 문서 간격을 벌림
+        for (long id = 1; id <= 400; id++) {
+            String name = (id % 3 == 0 ? "오버핏 " : "") + (id % 5 == 0 ? "후드티 " : "맨투맨 ") + "cotton";
+            index.put(product(id, name, "ACTIVE", option("BLACK", "M")));
+        }
+
+        List<Long> expected = new ArrayList<>();
+        for (long id = 15; id <= 400; id += 15) {
+            expected.add(id);
+        }
+        assertEquals(expected, index.search("오버핏 후드티", null, null, null, 100));
+        assertEquals(expected.subList(0, 3), index.search("후드티 cotton 오버핏", null, null, null, 3));
+        assertEquals(List.of(), index.search("오버핏 청바지", null, null, null, 100));
+    }
+
+    @Test
+    void singleHangulSyllableFindsProducts() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.put(product(1, "기본 티셔츠", "ACTIVE", option("RED", "M")));
+        index.put(product(2, "청바지", "ACTIVE", option("BLUE", "30")));
+
+        assertEquals(List.of(1L), index.search("티", null, null, null, 10));
+        assertEquals(List.of(2L), index.search("바", null, null, null, 10));
+        assertEquals(List.of(), index.search("후", null, null, null, 10));
+    }
+
+    @Test
+    void colorAndSizeMustMatchTheSameOption() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.put(product(1, "후드티", "ACTIVE", option("GRAY", "M"), option("NAVY", "L")));
+
+        assertEquals(List.of(1L), index.search(null, "navy", "l", null, 10));
+        assertEquals(List.of(), index.search(null, "NAVY", "M", null, 10));
+        assertEquals(List.of(), index.search(null, "PINK", null, null, 10));
+    }
+
+    @Test
+    void statusChangeMovesFacetWithoutNewDocuments() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.put(product(1, "맨투맨", "ACTIVE", option("WHITE", "M"), option("BEIGE", "L")));
+        int documents = index.documentCount();
+
+        index.put(product(1, "맨투맨", "SOLD_OUT", option("WHITE", "M"), option("BEIGE", "L")));
+
+        assertEquals(documents, index.documentCount());
+        assertEquals(List.of(), index.search("맨투맨", null, null, "ACTIVE", 10));
+        assertEquals(List.of(1L), index.search("맨투맨", null, null, "SOLD_OUT", 10));
+    }
+
+    @Test
+    void renamedAndRemovedProductsDropOutOfResults() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.put(product(1, "기본 티셔츠", "ACTIVE", option("RED", "M")));
+        index.put(product(2, "청바지", "ACTIVE", option("BLUE", "30")));
+
+        index.put(product(1, "반팔 셔츠", "ACTIVE", option("RED", "M")));
+        assertEquals(List.of(), index.search("티셔츠", null, null, null, 10));
+        assertEquals(List.of(1L), index.search("셔츠", null, null, null, 10));
+
+        index.remove(2);
+        assertEquals(List.of(), index.search("청바지", null, null, null, 10));
+        assertEquals(List.of(1L), index.search(null, null, null, "ACTIVE", 10));
+    }
+
+    @Test
+    void tombstonesAreCompactedAndOrderIsKept() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        for (long id = 1; id <= 10; id++) {
+            index.put(product(id, "상품 " + id, "ACTIVE", option("BLACK", "M")));
+        }
+        // 이름이 바뀔 때마다 문서가 새로 추가되고 이전 문서는 삭제 표시됨
+        for (int round = 0; round < 5_000; round++) {
+            index.put(product(5, "이름 " + round, "ACTIVE", option("BLACK", "M")));
+        }
+
+        assertTrue(index.documentCount() < 2_100, "documents: " + index.documentCount());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 6L, 7L, 8L, 9L, 10L, 5L),
+                index.search(null, "BLACK", null, null, 20));
+        assertEquals(List.of(5L), index.search("이름 4999", null, null, null, 20));
+        assertEquals(List.of(), index.search("이름 4998", null, null, null, 20));
+        assertEquals(List.of(), index.search("상품 5", null, null, null, 20));
+    }
+
+    private static ProductDetailResponseDto product(long id, String name, String status,
+                                                    ProductDetailResponseDto.ProductOptionDto... options) {
+        return new ProductDetailResponseDto(id, name, 10000, status, List.of(options));
+    }
+
+    private static ProductDetailResponseDto.ProductOptionDto option(String color, String size) {
+        return new ProductDetailResponseDto.ProductOptionDto(1L, color, size, 10);
+    }
+}
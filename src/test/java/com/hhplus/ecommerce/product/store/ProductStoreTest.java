@@ -0,0 +1,180 @@
+package com.hhplus.ecommerce.product.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hhplus.ecommerce.common.collection.LongIntHashMap;
+import com.hhplus.ecommerce.common.collection.LongObjectHashMap;
+import com.hhplus.ecommerce.common.persistence.DurableStore;
+import com.hhplus.ecommerce.common.persistence.Journal;
+import com.hhplus.ecommerce.common.quota.ClusterQuota;
+import com.hhplus.ecommerce.common.soldout.SoldOutRegistry;
+import com.hhplus.ecommerce.product.event.ProductSoldEvent;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 여러 옵션의 재고를 함께 차감하고, 공유 재고(DB)를 확보하는 동안 저장소 잠금을 잡지 않는지,
+ * 로그 기록에 실패하면 차감이 되돌려지는지 확인한다.
+ */
+class ProductStoreTest {
+
+    private final List<ProductSoldEvent> events = new ArrayList<>();
+
+    @Test
+    void sellsAllOptionsAndPublishesEventsInOrder() {
+        ProductStore store = store(new RecordingQuota());
+
+        assertNull(store.sell(quantities(1L, 2, 4L, 3)));
+
+        assertEquals(48, store.getStock(1L));
+        assertEquals(12, store.getStock(4L));
+        assertEquals(2, events.size());
+        assertEquals(1, events.get(0).getSequence());
+        assertEquals(2, events.get(1).getSequence());
+        assertEquals(48, events.get(0).getRemainingStock());
+        assertEquals(2, store.getSequence());
+    }
+
+    @Test
+    void outOfStockSellsNothingAndSkipsQuota() {
+        RecordingQuota quota = new RecordingQuota();
+        ProductStore store = store(quota);
+
+        assertEquals(5L, store.sell(quantities(1L, 2, 5L, 11)));
+
+        assertEquals(50, store.getStock(1L));
+        assertEquals(10, store.getStock(5L));
+        assertTrue(events.isEmpty());
+        assertEquals(0, quota.acquired);
+    }
+
+    @Test
+    void quotaShortageReleasesAcquiredOptions() {
+        RecordingQuota quota = new RecordingQuota();
+        quota.exhausted = "stock:4";
+        ProductStore store = store(quota);
+
+        assertEquals(4L, store.sell(quantities(1L, 2, 4L, 3)));
+
+        assertEquals(50, store.getStock(1L));
+        assertEquals(List.of("stock:1"), quota.released);
+    }
+
+    @Test
+    void quotaIsAcquiredOutsideTheStoreLock() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingQuota quota = new RecordingQuota() {
+            @Override
+            public boolean tryAcquire(String key, int amount) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.tryAcquire(key, amount);
+            }
+        };
+        ProductStore store = store(quota);
+
+        CompletableFuture<Long> sale = CompletableFuture.supplyAsync(() -> store.sell(quantities(1L, 1)));
+        assertTrue(entered.await(1, TimeUnit.SECONDS));
+
+        // DB 응답을 기다리는 동안에도 잠금이 필요한 다른 작업이 막히지 않아야 함
+        CompletableFuture<Long> copy = CompletableFuture.supplyAsync(
+                () -> store.copyTo(new LongIntHashMap(), new LongObjectHashMap<>()));
+        assertEquals(0, copy.get(1, TimeUnit.SECONDS));
+
+        release.countDown();
+        assertNull(sale.get(1, TimeUnit.SECONDS));
+        assertEquals(49, store.getStock(1L));
+    }
+
+    @Test
+    void failedJournalRestoresStockAndSales() {
+        RecordingQuota quota = new RecordingQuota();
+        SoldOutRegistry soldOutRegistry = new SoldOutRegistry(new ObjectMapper());
+        Journal failingJournal = new Journal() {
+            @Override
+            public void append(DurableStore store, RecordWriter writer) {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+        };
+        ProductStore store = new ProductStore(failingJournal, event -> events.add((ProductSoldEvent) event), quota,
+                soldOutRegistry);
+
+        // 옵션 6은 재고 5개: 모두 팔렸다가 되돌려지면 품절로 표시되지 않아야 함
+        assertThrows(UncheckedIOException.class, () -> store.sell(quantities(1L, 2, 6L, 5)));
+
+        assertEquals(50, store.getStock(1L));
+        assertEquals(5, store.getStock(6L));
+        assertNull(soldOutRegistry.optionRejection(6L));
+        assertEquals(List.of("stock:1", "stock:6"), quota.released);
+        LongObjectHashMap<LongIntHashMap> dailySales = new LongObjectHashMap<>();
+        store.copyTo(new LongIntHashMap(), dailySales);
+        LongIntHashMap todaySales = dailySales.get(LocalDate.now().toEpochDay());
+        assertEquals(0, todaySales.get(1L, 0));
+        assertEquals(0, todaySales.get(2L, 0));
+
+        // 읽기 모델은 차감 이벤트 뒤에 되돌리는 이벤트를 순번대로 받음
+        assertEquals(4, events.size());
+        assertEquals(List.of(1L, 2L, 3L, 4L), events.stream().map(ProductSoldEvent::getSequence).toList());
+        assertEquals(-2, events.get(2).getQuantity());
+        assertEquals(50, events.get(2).getRemainingStock());
+        assertEquals(-5, events.get(3).getQuantity());
+        assertEquals(5, events.get(3).getRemainingStock());
+    }
+
+    private ProductStore store(ClusterQuota quota) {
+        return new ProductStore(new Journal(), event -> events.add((ProductSoldEvent) event), quota,
+                new SoldOutRegistry(new ObjectMapper()));
+    }
+
+    private static Map<Long, Integer> quantities(Object... pairs) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            quantities.put((Long) pairs[i], (Integer) pairs[i + 1]);
+        }
+        return quantities;
+    }
+
+    // 공유 재고 확보/반환을 기록하고, 지정한 키는 소진된 것으로 처리
+    private static class RecordingQuota extends ClusterQuota {
+        private int acquired;
+        private final List<String> released = new ArrayList<>();
+        private String exhausted;
+
+        RecordingQuota() {
+            super(null, false, 20, 10000);
+        }
+
+        @Override
+        public boolean tryAcquire(String key, int amount) {
+            if (key.equals(exhausted)) {
+                return false;
+            }
+            acquired++;
+            return true;
+        }
+
+        @Override
+        public void release(String key, int amount) {
+            released.add(key);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.hhplus.ecommerce.product.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hhplus.ecommerce.common.persistence.Journal;
+import com.hhplus.ecommerce.common.quota.ClusterQuota;
+import com.hhplus.ecommerce.common.soldout.SoldOutRegistry;
+import com.hhplus.ecommerce.product.event.ProductSoldEvent;
+import com.hhplus.ecommerce.product.store.ProductStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 응답을 받지 않는 구독자가 있어도 다른 구독자에게 재고 변경이 바로 전달되는지 확인한다.
+ */
+class StockStreamHubTest {
+
+    private static final long OPTION_ID = 1L; // 초기 재고 50개
+
+    private ProductStore productStore;
+    private StockStreamHub hub;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ClusterQuota clusterQuota = new ClusterQuota(null, false, 20, 10000);
+        productStore = new ProductStore(new Journal(), event -> { }, clusterQuota,
+                new SoldOutRegistry(new ObjectMapper()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hub.stop();
+    }
+
+    @Test
+    void stalledSubscriberDoesNotDelayOthersAndIsEvicted() throws Exception {
+        hub = new StockStreamHub(productStore, 20, 60_000, 2, 300);
+        hub.start();
+        StalledEmitter stalled = new StalledEmitter(release, false);
+        RecordingEmitter healthy = new RecordingEmitter();
+        hub.subscribe(stalled, new long[]{OPTION_ID});
+        hub.subscribe(healthy, new long[]{OPTION_ID});
+
+        assertTrue(stalled.entered.await(1, TimeUnit.SECONDS));
+        assertTrue(healthy.next().contains("\"stock\":50"));
+
+        hub.on(new ProductSoldEvent(1, 1, OPTION_ID, 1, 49, 0, 0));
+        String frame = healthy.next();
+        assertNotNull(frame, "막힌 구독자 때문에 다른 구독자의 전송이 늦어졌습니다.");
+        assertTrue(frame.contains("\"stock\":49"));
+
+        // 쓰기가 send-timeout을 넘기면 구독이 끊기고, 인터럽트로 막힌 쓰기가 끝나 연결이 오류로 닫힘
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (hub.getSubscriberCount() > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, hub.getSubscriberCount());
+        assertTrue(stalled.completed.await(1, TimeUnit.SECONDS));
+        assertTrue(stalled.failed);
+
+        hub.on(new ProductSoldEvent(2, 1, OPTION_ID, 1, 48, 0, 0));
+        assertTrue(healthy.next().contains("\"stock\":48"));
+        assertEquals(1, stalled.sends);
+    }
+
+    @Test
+    void stalledSubscribersOutnumberingSendThreadsDoNotStarveOthers() throws Exception {
+        hub = new StockStreamHub(productStore, 20, 60_000, 2, 300);
+        hub.start();
+        // Tomcat처럼 인터럽트에도 쓰기가 끝나지 않는 구독자를 전송 스레드(2개)보다 많이 붙임
+        List<StalledEmitter> stalled = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            StalledEmitter emitter = new StalledEmitter(release, true);
+            stalled.add(emitter);
+            hub.subscribe(emitter, new long[]{OPTION_ID});
+        }
+        RecordingEmitter healthy = new RecordingEmitter();
+        hub.subscribe(healthy, new long[]{OPTION_ID});
+
+        // 끊긴 구독자의 쓰기가 붙잡은 스레드 대신 새 스레드가 남은 전송을 이어 감
+        String initial = healthy.next(5);
+        assertNotNull(initial, "막힌 구독자들이 전송 스레드를 모두 붙잡았습니다.");
+        assertTrue(initial.contains("\"stock\":50"));
+        for (StalledEmitter emitter : stalled) {
+            assertTrue(emitter.entered.await(1, TimeUnit.SECONDS));
+        }
+        hub.on(new ProductSoldEvent(1, 1, OPTION_ID, 1, 49, 0, 0));
+        assertTrue(healthy.next().contains("\"stock\":49"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (hub.getSubscriberCount() > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, hub.getSubscriberCount());
+
+        // 막힌 쓰기가 끝나면 그 스레드가 연결을 오류로 닫음
+        release.countDown();
+        for (StalledEmitter emitter : stalled) {
+            assertTrue(emitter.completed.await(1, TimeUnit.SECONDS));
+            assertTrue(emitter.failed);
+            assertEquals(1, emitter.sends);
+        }
+        hub.on(new ProductSoldEvent(2, 1, OPTION_ID, 1, 48, 0, 0));
+        assertTrue(healthy.next().contains("\"stock\":48"));
+    }
+
+    @Test
+    void busySubscriberReceivesOnlyLatestStock() throws Exception {
+        hub = new StockStreamHub(productStore, 20, 60_000, 2, 60_000);
+        hub.start();
+        StalledEmitter slow = new StalledEmitter(release, false);
+        hub.subscribe(slow, new long[]{OPTION_ID});
+        assertTrue(slow.entered.await(1, TimeUnit.SECONDS));
+
+        // 쓰기가 막힌 동안 들어온 변경은 옵션별 최신 값 하나로 합쳐짐
+        for (int stock = 49; stock >= 30; stock--) {
+            hub.on(new ProductSoldEvent(50 - stock, 1, OPTION_ID, 1, stock, 0, 0));
+            Thread.sleep(5);
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (slow.frames.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        assertEquals(2, slow.frames.size());
+        assertTrue(slow.frames.get(0).contains("\"stock\":50"));
+        assertTrue(slow.frames.get(1).contains("\"stock\":30"));
+    }
+
+    // 첫 쓰기에서 release될 때까지(ignoreInterrupt가 아니면 인터럽트될 때까지) 멈추는 구독자
+    private static class StalledEmitter extends ResponseBodyEmitter {
+        private final CountDownLatch release;
+        private final boolean ignoreInterrupt;
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private volatile int sends;
+        private volatile boolean failed;
+
+        StalledEmitter(CountDownLatch release, boolean ignoreInterrupt) {
+            this.release = release;
+            this.ignoreInterrupt = ignoreInterrupt;
+        }
+
+        @Override
+        public void send(Object object, MediaType mediaType) {
+            sends++;
+            entered.countDown();
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException e) {
+                    if (!ignoreInterrupt) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+            frames.add(new String((byte[]) object, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failed = true;
+            completed.countDown();
+        }
+    }
+
+    private static class RecordingEmitter extends ResponseBodyEmitter {
+        private final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(Object object, MediaType mediaType) {
+            frames.add(new String((byte[]) object, StandardCharsets.UTF_8));
+        }
+
+        String next() throws InterruptedException {
+            return next(1);
+        }
+
+        String next(long seconds) throws InterruptedException {
+            return frames.poll(seconds, TimeUnit.SECONDS);
+        }
+    }
+}